@@ -1,5 +1,7 @@
 package com.carrent;
 
+import com.carrent.metrics.MetricsReporter;
+import com.carrent.view.MainViewController;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -19,16 +21,24 @@ public class CarRentApp extends Application {
       private static final String APP_TITLE = "Car Rental System";
     private static final int WINDOW_WIDTH = 1000;
     private static final int WINDOW_HEIGHT = 700;
+    
+    // Periodic metrics dump, only when -Dcarrent.metrics.reportSeconds is set
+    private MetricsReporter metricsReporter;
+    
+    // Owns the event bus and other background workers that must stop with the window
+    private MainViewController controller;
 
     @Override
     public void start(Stage primaryStage) throws Exception {
         try {
             System.out.println("Starting Car Rental Application...");
+            metricsReporter = MetricsReporter.fromSystemProperties();
             System.out.println("Loading FXML from: " + getClass().getResource("/fxml/MainView.fxml"));
             
             // Load the main FXML file
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainView.fxml"));
             Parent root = loader.load();
+            controller = loader.getController();
             
             System.out.println("FXML loaded successfully");
             
@@ -55,6 +65,16 @@ public class CarRentApp extends Application {
             throw e;
         }
     }
+    
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+        if (metricsReporter != null) {
+            metricsReporter.close();
+        }
+    }
 
     /**
      * Main method - entry point of the application
@@ -0,0 +1,251 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the rental history for scan-heavy reports
+ *
+ * Each rental field lives in its own primitive array: start and end dates as
+ * epoch days, vehicle ID and customer ID as codes into a string dictionary,
+ * cost in cents and the active flags in a bit set. Reports walk these arrays
+ * in tight loops without touching any Rental objects.
+ *
+ * The store is an append-only snapshot; build a new one to pick up changes
+ * to existing rentals. Not thread-safe while appending.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class ColumnarRentalStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private int[] startDays;
+    private int[] endDays;
+    private int[] vehicleCodes;
+    private int[] customerCodes;
+    private long[] cents;
+    private final BitSet active = new BitSet();
+
+    private final Dictionary vehicles = new Dictionary();
+    private final Dictionary customers = new Dictionary();
+
+    /**
+     * Create an empty store
+     */
+    public ColumnarRentalStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create an empty store sized for a number of rentals
+     *
+     * @param capacity expected number of rentals
+     */
+    public ColumnarRentalStore(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        int initial = Math.max(capacity, 16);
+        startDays = new int[initial];
+        endDays = new int[initial];
+        vehicleCodes = new int[initial];
+        customerCodes = new int[initial];
+        cents = new long[initial];
+    }
+
+    /**
+     * Build a store from a list of rentals
+     *
+     * @param rentals rentals to copy
+     * @return store holding the rentals in list order
+     */
+    public static ColumnarRentalStore of(List<Rental> rentals) {
+        ColumnarRentalStore store = new ColumnarRentalStore(rentals.size());
+        for (Rental rental : rentals) {
+            store.append(rental);
+        }
+        return store;
+    }
+
+    /**
+     * Append one rental
+     *
+     * @param rental rental to copy
+     */
+    public void append(Rental rental) {
+        if (size == startDays.length) {
+            int capacity = size * 2;
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            vehicleCodes = Arrays.copyOf(vehicleCodes, capacity);
+            customerCodes = Arrays.copyOf(customerCodes, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+        }
+        int start = rental.getStartEpochDay();
+        int end = rental.getEndEpochDay();
+        startDays[size] = start;
+        endDays[size] = Math.max(end, start + 1); // Same-day rentals occupy one day
+        vehicleCodes[size] = vehicles.code(rental.getVehicleId());
+        customerCodes[size] = customers.code(CustomerKeys.of(rental));
+        cents[size] = rental.getTotalCostCents();
+        active.set(size, rental.isActive());
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getVehicleCount() {
+        return vehicles.size();
+    }
+
+    /**
+     * Get the vehicle ID behind a vehicle code
+     *
+     * @param code code from a per-vehicle result array
+     * @return vehicle ID
+     */
+    public String vehicleId(int code) {
+        return vehicles.value(code);
+    }
+
+    /**
+     * Get the code of a vehicle ID
+     *
+     * @param vehicleId vehicle ID
+     * @return index into per-vehicle result arrays, or -1 if the vehicle has no rentals
+     */
+    public int vehicleCode(String vehicleId) {
+        return vehicles.find(vehicleId);
+    }
+
+    public int getActiveCount() {
+        return active.cardinality();
+    }
+
+    /**
+     * Sum the cost of completed or active rentals
+     *
+     * @param activeRentals true to sum active rentals, false for completed ones
+     * @return total in cents
+     */
+    public long sumCents(boolean activeRentals) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            if (active.get(i) == activeRentals) {
+                total += cents[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Sum the cost of rentals starting in a range of days
+     *
+     * @param fromDay first epoch day, inclusive
+     * @param toDay last epoch day, exclusive
+     * @return total in cents
+     */
+    public long revenueStartingBetween(long fromDay, long toDay) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            int start = startDays[i];
+            if (start >= fromDay && start < toDay) {
+                total += cents[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Count rented days per vehicle within a range of days
+     *
+     * @param fromDay first epoch day, inclusive
+     * @param toDay last epoch day, exclusive
+     * @return rented days indexed by vehicle code
+     */
+    public long[] rentedDaysByVehicle(long fromDay, long toDay) {
+        long[] days = new long[vehicles.size()];
+        for (int i = 0; i < size; i++) {
+            long overlap = Math.min(endDays[i], toDay) - Math.max(startDays[i], fromDay);
+            if (overlap > 0) {
+                days[vehicleCodes[i]] += overlap;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Sum rental cost per vehicle
+     *
+     * @return cents indexed by vehicle code
+     */
+    public long[] revenueByVehicle() {
+        long[] totals = new long[vehicles.size()];
+        for (int i = 0; i < size; i++) {
+            totals[vehicleCodes[i]] += cents[i];
+        }
+        return totals;
+    }
+
+    /**
+     * Count distinct customers with a rental starting in a range of days
+     *
+     * @param fromDay first epoch day, inclusive
+     * @param toDay last epoch day, exclusive
+     * @return number of distinct customers
+     */
+    public int distinctCustomersBetween(long fromDay, long toDay) {
+        BitSet seen = new BitSet(customers.size());
+        for (int i = 0; i < size; i++) {
+            int start = startDays[i];
+            if (start >= fromDay && start < toDay) {
+                seen.set(customerCodes[i]);
+            }
+        }
+        return seen.cardinality();
+    }
+
+    /**
+     * Dictionary encoding strings as dense int codes in insertion order
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[16];
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                if (code == values.length) {
+                    values = Arrays.copyOf(values, code * 2);
+                }
+                values[code] = value;
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+
+        String value(int code) {
+            return values[code];
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+}
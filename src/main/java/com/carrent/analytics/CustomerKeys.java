@@ -0,0 +1,28 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+import com.carrent.repository.CustomerRepository;
+
+/**
+ * Identity of the customer behind a rental, for the analytics that count or rank customers
+ *
+ * Rentals linked to a stored customer are keyed on the customer ID, so one
+ * phone number written in different ways is one customer. Rentals without a
+ * customer ID fall back to the name and the phone's digits.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+final class CustomerKeys {
+
+    private CustomerKeys() {
+    }
+
+    static String of(Rental rental) {
+        int customerId = rental.getCustomerId();
+        if (customerId != 0) {
+            return "#" + customerId;
+        }
+        return rental.getCustomerName() + "|" + CustomerRepository.normalizePhone(rental.getCustomerPhone());
+    }
+}
@@ -0,0 +1,310 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+import com.carrent.model.Vehicle;
+import com.carrent.repository.RepositoryListener;
+import com.carrent.service.RentalService;
+import com.carrent.service.VehicleService;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Fleet utilization analytics: rented days, idle days and revenue per vehicle and per make
+ *
+ * A period is computed in one pass over all rentals, split into partitions
+ * that are summed in parallel on a fork-join pool and then merged. Computed
+ * periods are cached, and rental changes are applied to the cached periods
+ * as deltas, so asking for the same week or month again does not rescan the
+ * rental history.
+ *
+ * The analytics keep their own compact copy of every rental in RentalCopies,
+ * updated from rental change events, which is also what the scans run over. That way a
+ * scan and the change events can never count the same change twice. A scan
+ * runs outside the lock on a copy of the records; changes that arrive while
+ * it runs are applied to its result before it is cached.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class FleetAnalytics {
+
+    private static final int MAX_CACHED_PERIODS = 16;
+
+    private final Supplier<List<Vehicle>> fleet;
+    private final ForkJoinPool pool;
+
+    // Latest known state of every rental
+    private final RentalCopies<RentalRecord> records = new RentalCopies<>(RentalRecord::of);
+    // Per-period totals by vehicle ID: {rented days, revenue cents}
+    private final Map<Period, Map<String, long[]>> cache = new LinkedHashMap<>(MAX_CACHED_PERIODS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Period, Map<String, long[]>> eldest) {
+            return size() > MAX_CACHED_PERIODS;
+        }
+    };
+    // Scans whose records were copied but whose result is not cached yet
+    private final List<RunningScan> runningScans = new ArrayList<>();
+
+    private final RepositoryListener<Rental> rentalChanges = new RepositoryListener<>() {
+        @Override
+        public void onAdded(Rental rental) {
+            apply(rental.getId(), records.copy(rental));
+        }
+
+        @Override
+        public void onUpdated(Rental rental) {
+            apply(rental.getId(), records.copy(rental));
+        }
+
+        @Override
+        public void onRemoved(Rental rental) {
+            apply(rental.getId(), null);
+        }
+    };
+
+    private FleetAnalytics(Supplier<List<Vehicle>> fleet, ForkJoinPool pool) {
+        this.fleet = fleet;
+        this.pool = pool;
+    }
+
+    /**
+     * Create analytics over the rentals of a service, scanning on the common fork-join pool
+     *
+     * @param rentalService source of rentals and rental change events
+     * @param vehicleService source of the fleet
+     * @return analytics that follow the service's rental changes
+     */
+    public static FleetAnalytics create(RentalService rentalService, VehicleService vehicleService) {
+        return create(rentalService, vehicleService, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create analytics over the rentals of a service
+     *
+     * @param rentalService source of rentals and rental change events
+     * @param vehicleService source of the fleet
+     * @param pool pool the partition scans run on
+     * @return analytics that follow the service's rental changes
+     */
+    public static FleetAnalytics create(RentalService rentalService, VehicleService vehicleService, ForkJoinPool pool) {
+        return create(rentalService::getAllRentals, rentalService::addRentalListener,
+            vehicleService::getAllVehicles, pool);
+    }
+
+    static FleetAnalytics create(Supplier<List<Rental>> rentals, Consumer<RepositoryListener<Rental>> subscribe,
+                                 Supplier<List<Vehicle>> fleet, ForkJoinPool pool) {
+        FleetAnalytics analytics = new FleetAnalytics(fleet, pool);
+        RentalCopies.attach(subscribe, analytics.rentalChanges, rentals, analytics::load);
+        return analytics;
+    }
+
+    /**
+     * Get utilization for the ISO week (Monday to Sunday) containing a date
+     *
+     * @param date any day of the week
+     * @return utilization report for that week
+     */
+    public UtilizationReport weeklyReport(LocalDate date) {
+        LocalDate monday = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return report(monday, monday.plusWeeks(1));
+    }
+
+    /**
+     * Get utilization for a calendar month
+     *
+     * @param month the month
+     * @return utilization report for that month
+     */
+    public UtilizationReport monthlyReport(YearMonth month) {
+        return report(month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * Get utilization for a period
+     *
+     * @param from first day of the period
+     * @param to day after the period
+     * @return utilization report for [from, to)
+     */
+    public UtilizationReport report(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Period end must be after its start");
+        }
+        Period period = new Period(from.toEpochDay(), to.toEpochDay());
+        List<Vehicle> vehicles = fleet.get();
+        List<RentalRecord> snapshot;
+        RunningScan scan = new RunningScan();
+        synchronized (this) {
+            Map<String, long[]> totals = cache.get(period);
+            if (totals != null) {
+                return buildReport(from, to, period.length(), vehicles, totals);
+            }
+            snapshot = records.snapshot();
+            runningScans.add(scan);
+        }
+
+        Map<String, long[]> scanned;
+        try {
+            scanned = RentalCopies.scan(pool, snapshot, HashMap::new,
+                (totals, record) -> add(totals, record, period, 1), FleetAnalytics::merge);
+        } finally {
+            synchronized (this) {
+                runningScans.remove(scan);
+            }
+        }
+
+        synchronized (this) {
+            // Catch up with the changes made while the scan ran
+            for (RentalRecord[] change : scan.missed) {
+                if (change[0] != null) {
+                    add(scanned, change[0], period, -1);
+                }
+                if (change[1] != null) {
+                    add(scanned, change[1], period, 1);
+                }
+            }
+            Map<String, long[]> totals = cache.get(period);
+            if (totals == null) { // Another scan of the same period may have finished first
+                totals = scanned;
+                cache.put(period, totals);
+            }
+            return buildReport(from, to, period.length(), vehicles, totals);
+        }
+    }
+
+    /**
+     * Drop all cached periods
+     */
+    public synchronized void clearCache() {
+        cache.clear();
+    }
+
+    private synchronized void load(List<Rental> rentals) {
+        records.load(rentals);
+    }
+
+    private synchronized void apply(String rentalId, RentalRecord current) {
+        RentalRecord previous = current == null ? records.remove(rentalId) : records.put(rentalId, current);
+        for (Map.Entry<Period, Map<String, long[]>> entry : cache.entrySet()) {
+            if (previous != null) {
+                add(entry.getValue(), previous, entry.getKey(), -1);
+            }
+            if (current != null) {
+                add(entry.getValue(), current, entry.getKey(), 1);
+            }
+        }
+        for (RunningScan scan : runningScans) {
+            scan.missed.add(new RentalRecord[] {previous, current});
+        }
+    }
+
+    private static void add(Map<String, long[]> totals, RentalRecord record, Period period, int sign) {
+        long days = record.overlap(period.fromDay, period.toDay);
+        if (days == 0) {
+            return;
+        }
+        long[] vehicleTotals = totals.computeIfAbsent(record.vehicleId, id -> new long[2]);
+        vehicleTotals[0] += sign * days;
+        vehicleTotals[1] += sign * record.centsIn(period.fromDay, period.toDay);
+    }
+
+    private static UtilizationReport buildReport(LocalDate from, LocalDate to, long periodDays,
+                                                 List<Vehicle> fleet, Map<String, long[]> totals) {
+        Map<String, UtilizationStats> byVehicle = new HashMap<>();
+        Map<String, long[]> makeTotals = new HashMap<>(); // {vehicles, rented days, cents}
+        long[] fleetTotals = new long[3];
+
+        for (Vehicle vehicle : fleet) {
+            long[] vehicleTotals = totals.getOrDefault(vehicle.getId(), new long[2]);
+            byVehicle.put(vehicle.getId(), new UtilizationStats(
+                vehicle.getId(), 1, vehicleTotals[0], periodDays, vehicleTotals[1]));
+
+            long[] make = makeTotals.computeIfAbsent(vehicle.getMake(), key -> new long[3]);
+            make[0]++;
+            make[1] += vehicleTotals[0];
+            make[2] += vehicleTotals[1];
+            fleetTotals[0]++;
+            fleetTotals[1] += vehicleTotals[0];
+            fleetTotals[2] += vehicleTotals[1];
+        }
+        // Vehicles removed from the fleet still show their rentals, with no available days
+        for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+            byVehicle.computeIfAbsent(entry.getKey(), id -> new UtilizationStats(
+                id, 0, entry.getValue()[0], 0, entry.getValue()[1]));
+        }
+
+        Map<String, UtilizationStats> byMake = new HashMap<>();
+        for (Map.Entry<String, long[]> entry : makeTotals.entrySet()) {
+            long[] make = entry.getValue();
+            byMake.put(entry.getKey(), new UtilizationStats(
+                entry.getKey(), (int) make[0], make[1], make[0] * periodDays, make[2]));
+        }
+        UtilizationStats fleetStats = new UtilizationStats(
+            "Fleet", (int) fleetTotals[0], fleetTotals[1], fleetTotals[0] * periodDays, fleetTotals[2]);
+        return new UtilizationReport(from, to, byVehicle, byMake, fleetStats);
+    }
+
+    /**
+     * Changes made after a scan copied the records, as {previous, current} pairs
+     */
+    private static final class RunningScan {
+        final List<RentalRecord[]> missed = new ArrayList<>();
+    }
+
+    /**
+     * Add the second per-vehicle totals into the first
+     */
+    private static Map<String, long[]> merge(Map<String, long[]> into, Map<String, long[]> from) {
+        for (Map.Entry<String, long[]> entry : from.entrySet()) {
+            long[] totals = into.computeIfAbsent(entry.getKey(), id -> new long[2]);
+            totals[0] += entry.getValue()[0];
+            totals[1] += entry.getValue()[1];
+        }
+        return into;
+    }
+
+    /**
+     * A half-open range of epoch days
+     */
+    private static final class Period {
+        final long fromDay;
+        final long toDay;
+
+        Period(long fromDay, long toDay) {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+        }
+
+        long length() {
+            return toDay - fromDay;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Period)) {
+                return false;
+            }
+            Period other = (Period) o;
+            return fromDay == other.fromDay && toDay == other.toDay;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fromDay) * 31 + Long.hashCode(toDay);
+        }
+    }
+}
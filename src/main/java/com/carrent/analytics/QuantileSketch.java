@@ -0,0 +1,170 @@
+package com.carrent.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with bounded relative error
+ *
+ * Positive values are counted in logarithmic buckets: bucket i holds the
+ * values in (gamma^(i-1), gamma^i], with gamma chosen so that any value in
+ * the bucket is within the relative accuracy of the bucket's midpoint.
+ * Zero is counted separately. Sketches with the same accuracy merge by adding
+ * bucket counts, and values can be removed again by decrementing them.
+ *
+ * Rental days and costs cover a few orders of magnitude, so a sketch stays
+ * at a few hundred buckets whatever the number of values. Not thread-safe.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_ACCURACY = 0.01;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int offset; // Bucket index of counts[0]
+    private long zeroCount;
+    private long count;
+
+    /**
+     * Create an empty sketch with 1% relative accuracy
+     */
+    public QuantileSketch() {
+        this(DEFAULT_ACCURACY);
+    }
+
+    /**
+     * Create an empty sketch
+     *
+     * @param accuracy relative accuracy of the returned quantiles, e.g. 0.01
+     */
+    public QuantileSketch(double accuracy) {
+        if (accuracy <= 0 || accuracy >= 1) {
+            throw new IllegalArgumentException("Accuracy must be between 0 and 1");
+        }
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Add a value
+     *
+     * @param value non-negative value
+     */
+    public void add(double value) {
+        update(value, 1);
+    }
+
+    /**
+     * Remove a value added earlier
+     *
+     * @param value value to remove
+     */
+    public void remove(double value) {
+        update(value, -1);
+    }
+
+    private void update(double value, long delta) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Value must be a non-negative number");
+        }
+        if (value == 0) {
+            zeroCount += delta;
+        } else {
+            int index = bucketOf(value);
+            ensureBucket(index);
+            counts[index - offset] += delta;
+        }
+        count += delta;
+    }
+
+    /**
+     * Merge another sketch into this one
+     *
+     * @param other sketch with the same accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (other.accuracy != accuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        if (other.counts.length > 0) {
+            ensureBucket(other.offset);
+            ensureBucket(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * Estimate a quantile
+     *
+     * @param q quantile between 0 and 1, e.g. 0.95
+     * @return value within the relative accuracy of the true quantile, or NaN if empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count <= 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, offset + counts.length - 1) / (gamma + 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Copy this sketch
+     *
+     * @return independent sketch with the same counts
+     */
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(accuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    private int bucketOf(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    private void ensureBucket(int index) {
+        if (counts.length == 0) {
+            counts = new long[64];
+            offset = index - 32;
+        } else if (index < offset) {
+            int grow = Math.max(offset - index, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index - offset + 1, counts.length + counts.length / 2));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+import com.carrent.repository.RepositoryListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An analytics view's own copy of every rental, by rental ID, plus the parallel scan over it
+ *
+ * The owner subscribes to rental changes before reading the rentals, so no
+ * change is lost in between. A change event can therefore arrive before the
+ * initial load: an added or updated rental is already newer than the copy
+ * being loaded, and a removed rental must not be loaded back in. Removals are
+ * remembered until the load has run for that reason.
+ *
+ * Not thread-safe; the owner guards it with its own lock.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+final class RentalCopies<R> {
+
+    private static final int PARTITION_SIZE = 4096;
+
+    private final Function<Rental, R> copier;
+    private final Map<String, R> copies = new HashMap<>();
+    // IDs removed before the initial load; null once it has run
+    private Set<String> removedBeforeLoad = new HashSet<>();
+
+    RentalCopies(Function<Rental, R> copier) {
+        this.copier = copier;
+    }
+
+    /**
+     * Subscribe a view to rental changes, then load the current rentals into it
+     *
+     * @param subscribe registers the view's listener
+     * @param listener the view's listener
+     * @param rentals reads the current rentals
+     * @param load loads them into the view, under its lock
+     */
+    static void attach(Consumer<RepositoryListener<Rental>> subscribe, RepositoryListener<Rental> listener,
+                       Supplier<List<Rental>> rentals, Consumer<List<Rental>> load) {
+        subscribe.accept(listener);
+        load.accept(rentals.get());
+    }
+
+    /**
+     * Copy the rentals read at start-up, keeping any change events that came first
+     *
+     * @param rentals rentals read after subscribing
+     */
+    void load(List<Rental> rentals) {
+        for (Rental rental : rentals) {
+            String id = rental.getId();
+            if (!copies.containsKey(id) && !removedBeforeLoad.contains(id)) {
+                copies.put(id, copier.apply(rental));
+            }
+        }
+        removedBeforeLoad = null;
+    }
+
+    /**
+     * Copy a rental, outside the owner's lock
+     */
+    R copy(Rental rental) {
+        return copier.apply(rental);
+    }
+
+    /**
+     * Store the copy of an added or updated rental
+     *
+     * @return the previous copy, or null
+     */
+    R put(String rentalId, R copy) {
+        if (removedBeforeLoad != null) {
+            removedBeforeLoad.remove(rentalId);
+        }
+        return copies.put(rentalId, copy);
+    }
+
+    /**
+     * Drop the copy of a removed rental
+     *
+     * @return the previous copy, or null
+     */
+    R remove(String rentalId) {
+        if (removedBeforeLoad != null) {
+            removedBeforeLoad.add(rentalId);
+        }
+        return copies.remove(rentalId);
+    }
+
+    Collection<R> values() {
+        return copies.values();
+    }
+
+    /**
+     * Copy the current records, for a scan that runs without the owner's lock
+     */
+    List<R> snapshot() {
+        return new ArrayList<>(copies.values());
+    }
+
+    /**
+     * Sum records in parallel: each partition is summed into fresh totals, then the totals are merged
+     *
+     * @param pool pool the partitions run on
+     * @param records records to sum
+     * @param totals creates empty totals
+     * @param add adds one record to totals
+     * @param merge merges the second totals into the first and returns the result
+     * @return totals over all records
+     */
+    static <R, T> T scan(ForkJoinPool pool, List<R> records, Supplier<T> totals, BiConsumer<T, R> add,
+                         BinaryOperator<T> merge) {
+        return pool.invoke(new ScanTask<>(records, 0, records.size(), totals, add, merge));
+    }
+
+    /**
+     * Sums one range of records, splitting it in half until it is small enough
+     */
+    @SuppressWarnings("serial") // Never serialized; RecursiveTask is Serializable only by inheritance
+    private static final class ScanTask<R, T> extends RecursiveTask<T> {
+        private final List<R> records;
+        private final int from;
+        private final int to;
+        private final Supplier<T> totals;
+        private final BiConsumer<T, R> add;
+        private final BinaryOperator<T> merge;
+
+        ScanTask(List<R> records, int from, int to, Supplier<T> totals, BiConsumer<T, R> add,
+                 BinaryOperator<T> merge) {
+            this.records = records;
+            this.from = from;
+            this.to = to;
+            this.totals = totals;
+            this.add = add;
+            this.merge = merge;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= PARTITION_SIZE) {
+                T result = totals.get();
+                for (int i = from; i < to; i++) {
+                    add.accept(result, records.get(i));
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask<R, T> left = new ScanTask<>(records, from, middle, totals, add, merge);
+            left.fork();
+            T right = new ScanTask<>(records, middle, to, totals, add, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+}
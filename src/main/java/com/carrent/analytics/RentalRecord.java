@@ -0,0 +1,49 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+
+/**
+ * Compact, immutable copy of the rental fields the analytics need
+ *
+ * Days are epoch days; the rental occupies [startDay, endDay).
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+final class RentalRecord {
+
+    final String vehicleId;
+    final long startDay;
+    final long endDay;
+    final long cents;
+
+    private RentalRecord(String vehicleId, long startDay, long endDay, long cents) {
+        this.vehicleId = vehicleId;
+        this.startDay = startDay;
+        this.endDay = endDay;
+        this.cents = cents;
+    }
+
+    static RentalRecord of(Rental rental) {
+        long start = rental.getStartEpochDay();
+        long end = rental.getEndEpochDay();
+        // Same-day rentals are charged as one day, so they occupy one day too
+        return new RentalRecord(rental.getVehicleId(), start, Math.max(end, start + 1),
+            rental.getTotalCostCents());
+    }
+
+    /**
+     * Number of days of this rental that fall in [fromDay, toDay)
+     */
+    long overlap(long fromDay, long toDay) {
+        return Math.max(0, Math.min(endDay, toDay) - Math.max(startDay, fromDay));
+    }
+
+    /**
+     * Revenue attributed to [fromDay, toDay), pro rata to the days that fall in it
+     */
+    long centsIn(long fromDay, long toDay) {
+        long days = overlap(fromDay, toDay);
+        return days == 0 ? 0 : cents * days / (endDay - startDay);
+    }
+}
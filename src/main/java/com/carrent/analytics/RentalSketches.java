@@ -0,0 +1,136 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+import com.carrent.repository.RentalFilter;
+import com.carrent.repository.RepositoryListener;
+import com.carrent.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Per-day sketches of distinct customers, rental durations and rental costs
+ *
+ * Every rental is counted on the day it starts. Each day keeps a HyperLogLog
+ * of customers (by customer ID) and quantile sketches of rental days and
+ * total cost; a window query merges the sketches of its days instead of
+ * scanning and de-duplicating the rental history.
+ *
+ * A HyperLogLog cannot forget a customer, so a rental change marks the day it
+ * starts on as stale and the day is rebuilt from that day's rentals, read
+ * through the start date index, the next time a window covers it.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalSketches {
+
+    private final RentalService rentalService;
+    private final NavigableMap<Long, DaySketch> days = new TreeMap<>();
+    private final Set<Long> staleDays = new HashSet<>();
+
+    private final RepositoryListener<Rental> rentalChanges = new RepositoryListener<>() {
+        @Override
+        public void onAdded(Rental rental) {
+            markStale(rental);
+        }
+
+        @Override
+        public void onUpdated(Rental rental) {
+            markStale(rental);
+        }
+
+        @Override
+        public void onRemoved(Rental rental) {
+            markStale(rental);
+        }
+    };
+
+    /**
+     * Constructor - builds the day sketches in one pass over the rentals
+     *
+     * @param rentalService source of rentals and rental change events
+     */
+    public RentalSketches(RentalService rentalService) {
+        this.rentalService = rentalService;
+        rentalService.addRentalListener(rentalChanges);
+        synchronized (this) {
+            rentalService.forEachRental(RentalFilter.all(), rental ->
+                days.computeIfAbsent((long) rental.getStartEpochDay(), day -> new DaySketch()).add(rental));
+        }
+    }
+
+    /**
+     * Get statistics for rentals starting in a window of days
+     *
+     * @param from first day of the window
+     * @param to day after the window
+     * @return merged statistics for [from, to)
+     */
+    public synchronized RentalWindowStats window(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Window end must be after its start");
+        }
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        for (Long day : staleDays.toArray(new Long[0])) {
+            if (day >= fromDay && day < toDay) {
+                rebuild(day);
+            }
+        }
+        DaySketch merged = new DaySketch();
+        for (DaySketch day : days.subMap(fromDay, true, toDay, false).values()) {
+            merged.merge(day);
+        }
+        return new RentalWindowStats(from, to, merged.customers, merged.rentalDays, merged.costs);
+    }
+
+    /**
+     * Get the number of days that have sketches
+     *
+     * @return days with at least one rental
+     */
+    public synchronized int getDayCount() {
+        return days.size();
+    }
+
+    private synchronized void markStale(Rental rental) {
+        staleDays.add((long) rental.getStartEpochDay());
+    }
+
+    private void rebuild(long day) {
+        LocalDate date = LocalDate.ofEpochDay(day);
+        DaySketch sketch = new DaySketch();
+        rentalService.forEachRental(RentalFilter.all().startingBetween(date, date), sketch::add);
+        if (sketch.rentalDays.getCount() == 0) {
+            days.remove(day);
+        } else {
+            days.put(day, sketch);
+        }
+        staleDays.remove(day);
+    }
+
+    /**
+     * Sketches of the rentals starting on one day
+     */
+    private static final class DaySketch {
+        final HyperLogLog customers = new HyperLogLog();
+        final QuantileSketch rentalDays = new QuantileSketch();
+        final QuantileSketch costs = new QuantileSketch();
+
+        void add(Rental rental) {
+            customers.add(CustomerKeys.of(rental));
+            rentalDays.add(rental.getRentalDays());
+            costs.add(Math.max(rental.getTotalCost(), 0));
+        }
+
+        void merge(DaySketch other) {
+            customers.merge(other.customers);
+            rentalDays.merge(other.rentalDays);
+            costs.merge(other.costs);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.carrent.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Approximate rental statistics for a window of days
+ *
+ * Distinct customers come from a merged HyperLogLog, rental duration and
+ * cost percentiles from merged quantile sketches, so all figures are
+ * estimates within the sketches' error bounds. The rental count is exact.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalWindowStats {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final HyperLogLog customers;
+    private final QuantileSketch rentalDays;
+    private final QuantileSketch costs;
+
+    RentalWindowStats(LocalDate from, LocalDate to, HyperLogLog customers,
+                      QuantileSketch rentalDays, QuantileSketch costs) {
+        this.from = from;
+        this.to = to;
+        this.customers = customers;
+        this.rentalDays = rentalDays;
+        this.costs = costs;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public long getRentalCount() {
+        return rentalDays.getCount();
+    }
+
+    public long getDistinctCustomers() {
+        return getRentalCount() == 0 ? 0 : customers.estimate();
+    }
+
+    /**
+     * Estimate a rental duration percentile
+     *
+     * @param q quantile between 0 and 1, e.g. 0.95 for p95
+     * @return rental days at that quantile, or NaN if the window has no rentals
+     */
+    public double getRentalDaysQuantile(double q) {
+        return rentalDays.quantile(q);
+    }
+
+    /**
+     * Estimate a rental cost percentile
+     *
+     * @param q quantile between 0 and 1, e.g. 0.95 for p95
+     * @return total cost at that quantile, or NaN if the window has no rentals
+     */
+    public double getCostQuantile(double q) {
+        return costs.quantile(q);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RentalWindowStats{%s..%s, rentals=%d, customers~%d, days p50/p95/p99=%.1f/%.1f/%.1f, "
+                + "cost p50/p95/p99=%.2f/%.2f/%.2f}", from, to, getRentalCount(), getDistinctCustomers(),
+            getRentalDaysQuantile(0.5), getRentalDaysQuantile(0.95), getRentalDaysQuantile(0.99),
+            getCostQuantile(0.5), getCostQuantile(0.95), getCostQuantile(0.99));
+    }
+}
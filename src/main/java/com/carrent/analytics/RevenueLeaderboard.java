@@ -0,0 +1,292 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Customer;
+import com.carrent.model.Rental;
+import com.carrent.repository.RepositoryListener;
+import com.carrent.service.RentalService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Live leaderboards of the top customers by spend and top vehicles by revenue
+ *
+ * Revenue is the total cost of every rental, active or completed. Exact
+ * totals are kept per customer ID and per vehicle, and for each a bounded
+ * min-heap holds the current top K. A rental change adjusts two totals and
+ * at most one heap entry each, so the leaderboards never sort the rental
+ * history. A total that drops while in the top K could let an outsider
+ * overtake it, so that case marks the heap for a rebuild from the totals on
+ * the next query.
+ *
+ * The leaderboard keeps its own copy of each rental's contribution in
+ * RentalCopies, updated from rental change events, so changes are applied
+ * as exact deltas. recompute() rebuilds all totals with a parallel scan over
+ * that copy, which is also how the leaderboard starts.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RevenueLeaderboard {
+
+    public static final int DEFAULT_SIZE = 10;
+
+    private final ForkJoinPool pool;
+    private final IntFunction<Customer> customerLookup;
+    private final RentalCopies<Contribution> contributions = new RentalCopies<>(Contribution::of);
+    // Display name per customer key, from the stored customer where there is one
+    private final Map<String, String> customerNames = new HashMap<>();
+    private final TopK customers;
+    private final TopK vehicles;
+
+    private final RepositoryListener<Rental> rentalChanges = new RepositoryListener<>() {
+        @Override
+        public void onAdded(Rental rental) {
+            apply(rental.getId(), contributions.copy(rental));
+        }
+
+        @Override
+        public void onUpdated(Rental rental) {
+            apply(rental.getId(), contributions.copy(rental));
+        }
+
+        @Override
+        public void onRemoved(Rental rental) {
+            apply(rental.getId(), null);
+        }
+    };
+
+    private RevenueLeaderboard(int size, ForkJoinPool pool, IntFunction<Customer> customerLookup) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Leaderboard size must be positive");
+        }
+        this.pool = pool;
+        this.customerLookup = customerLookup;
+        this.customers = new TopK(size);
+        this.vehicles = new TopK(size);
+    }
+
+    /**
+     * Create leaderboards of the top 10, computed on the common fork-join pool
+     *
+     * @param rentalService source of rentals and rental change events
+     * @return leaderboards that follow the service's rental changes
+     */
+    public static RevenueLeaderboard create(RentalService rentalService) {
+        return create(rentalService, DEFAULT_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create leaderboards over the rentals of a service
+     *
+     * @param rentalService source of rentals and rental change events
+     * @param size number of entries per leaderboard
+     * @param pool pool the recompute scans run on
+     * @return leaderboards that follow the service's rental changes
+     */
+    public static RevenueLeaderboard create(RentalService rentalService, int size, ForkJoinPool pool) {
+        return create(rentalService::getAllRentals, rentalService::addRentalListener,
+            rentalService::findCustomerById, size, pool);
+    }
+
+    static RevenueLeaderboard create(Supplier<List<Rental>> source, Consumer<RepositoryListener<Rental>> subscribe,
+                                     IntFunction<Customer> customerLookup, int size, ForkJoinPool pool) {
+        RevenueLeaderboard leaderboard = new RevenueLeaderboard(size, pool, customerLookup);
+        RentalCopies.attach(subscribe, leaderboard.rentalChanges, source, leaderboard::load);
+        return leaderboard;
+    }
+
+    /**
+     * Get the top customers by total spend
+     *
+     * @return up to K customers, highest spend first
+     */
+    public synchronized List<RevenueRank> topCustomers() {
+        List<RevenueRank> top = new ArrayList<>();
+        for (RevenueRank rank : customers.top()) {
+            top.add(new RevenueRank(customerNames.getOrDefault(rank.getKey(), rank.getKey()), rank.getCents()));
+        }
+        return top;
+    }
+
+    /**
+     * Get the top vehicles by total revenue
+     *
+     * @return up to K vehicles, highest revenue first
+     */
+    public synchronized List<RevenueRank> topVehicles() {
+        return vehicles.top();
+    }
+
+    /**
+     * Recompute every total from scratch with a parallel scan
+     */
+    public synchronized void recompute() {
+        Totals totals = RentalCopies.scan(pool, contributions.snapshot(), Totals::new, Totals::add, Totals::merge);
+        customers.reset(totals.byCustomer);
+        vehicles.reset(totals.byVehicle);
+    }
+
+    private synchronized void load(List<Rental> rentals) {
+        contributions.load(rentals);
+        contributions.values().forEach(this::name);
+        recompute();
+    }
+
+    private synchronized void apply(String rentalId, Contribution current) {
+        Contribution previous = current == null ? contributions.remove(rentalId) : contributions.put(rentalId, current);
+        if (previous != null) {
+            customers.add(previous.customer, -previous.cents);
+            vehicles.add(previous.vehicleId, -previous.cents);
+        }
+        if (current != null) {
+            customers.add(current.customer, current.cents);
+            vehicles.add(current.vehicleId, current.cents);
+            name(current);
+        }
+    }
+
+    /**
+     * Remember how to show a customer the first time their key is seen
+     */
+    private void name(Contribution contribution) {
+        customerNames.computeIfAbsent(contribution.customer, key -> {
+            Customer customer = contribution.customerId == 0 ? null : customerLookup.apply(contribution.customerId);
+            return customer != null ? customer.getDisplayName()
+                                    : contribution.customerName + " (" + contribution.customerPhone + ")";
+        });
+    }
+
+    /**
+     * Exact totals for one dimension plus a bounded min-heap of the top K
+     */
+    private static final class TopK {
+        private final int size;
+        private Map<String, long[]> totals = new HashMap<>();
+        private final PriorityQueue<RevenueRank> heap = new PriorityQueue<>(RevenueRank::compareTo);
+        private final Map<String, RevenueRank> ranked = new HashMap<>();
+        private boolean stale;
+
+        TopK(int size) {
+            this.size = size;
+        }
+
+        void reset(Map<String, long[]> newTotals) {
+            totals = newTotals;
+            rebuild();
+        }
+
+        void add(String key, long delta) {
+            if (delta == 0) {
+                return;
+            }
+            long[] total = totals.computeIfAbsent(key, k -> new long[1]);
+            total[0] += delta;
+            long cents = total[0];
+            if (cents == 0) {
+                totals.remove(key);
+            }
+            if (stale) {
+                return;
+            }
+            RevenueRank current = ranked.remove(key);
+            if (current != null) {
+                heap.remove(current);
+                if (delta < 0) {
+                    stale = true; // An outsider may now rank higher
+                    return;
+                }
+            }
+            offer(new RevenueRank(key, cents));
+        }
+
+        List<RevenueRank> top() {
+            if (stale) {
+                rebuild();
+            }
+            List<RevenueRank> result = new ArrayList<>(heap);
+            result.sort((a, b) -> b.compareTo(a));
+            return result;
+        }
+
+        private void rebuild() {
+            heap.clear();
+            ranked.clear();
+            for (Map.Entry<String, long[]> entry : totals.entrySet()) {
+                offer(new RevenueRank(entry.getKey(), entry.getValue()[0]));
+            }
+            stale = false;
+        }
+
+        private void offer(RevenueRank candidate) {
+            if (candidate.getCents() <= 0) {
+                return;
+            }
+            if (heap.size() == size) {
+                if (candidate.compareTo(heap.peek()) <= 0) {
+                    return;
+                }
+                ranked.remove(heap.poll().getKey());
+            }
+            heap.add(candidate);
+            ranked.put(candidate.getKey(), candidate);
+        }
+    }
+
+    /**
+     * One rental's share of the customer and vehicle totals
+     */
+    private static final class Contribution {
+        final String customer;
+        final int customerId;
+        final String customerName;
+        final String customerPhone;
+        final String vehicleId;
+        final long cents;
+
+        private Contribution(Rental rental) {
+            this.customer = CustomerKeys.of(rental);
+            this.customerId = rental.getCustomerId();
+            this.customerName = rental.getCustomerName();
+            this.customerPhone = rental.getCustomerPhone();
+            this.vehicleId = rental.getVehicleId();
+            this.cents = rental.getTotalCostCents();
+        }
+
+        static Contribution of(Rental rental) {
+            return new Contribution(rental);
+        }
+    }
+
+    /**
+     * Per-customer and per-vehicle cents, each as a one-element array
+     */
+    private static final class Totals {
+        final Map<String, long[]> byCustomer = new HashMap<>();
+        final Map<String, long[]> byVehicle = new HashMap<>();
+
+        void add(Contribution contribution) {
+            byCustomer.computeIfAbsent(contribution.customer, key -> new long[1])[0] += contribution.cents;
+            byVehicle.computeIfAbsent(contribution.vehicleId, key -> new long[1])[0] += contribution.cents;
+        }
+
+        Totals merge(Totals other) {
+            merge(byCustomer, other.byCustomer);
+            merge(byVehicle, other.byVehicle);
+            return this;
+        }
+
+        private static void merge(Map<String, long[]> into, Map<String, long[]> from) {
+            for (Map.Entry<String, long[]> entry : from.entrySet()) {
+                into.computeIfAbsent(entry.getKey(), key -> new long[1])[0] += entry.getValue()[0];
+            }
+        }
+    }
+}
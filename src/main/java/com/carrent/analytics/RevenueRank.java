@@ -0,0 +1,48 @@
+package com.carrent.analytics;
+
+/**
+ * One leaderboard position: a customer or vehicle and its total revenue
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class RevenueRank {
+
+    private final String key;
+    private final long cents;
+
+    RevenueRank(String key, long cents) {
+        this.key = key;
+        this.cents = cents;
+    }
+
+    /**
+     * Get what is ranked: a vehicle ID, or a customer as "name (phone)" of the stored customer
+     *
+     * @return ranked key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public double getRevenue() {
+        return cents / 100.0;
+    }
+
+    /**
+     * Order by revenue, ties broken by key so the order is stable
+     */
+    int compareTo(RevenueRank other) {
+        int byCents = Long.compare(cents, other.cents);
+        return byCents != 0 ? byCents : other.key.compareTo(key);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RevenueRank{key='%s', revenue=%.2f}", key, getRevenue());
+    }
+}
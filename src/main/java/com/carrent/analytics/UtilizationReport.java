@@ -0,0 +1,79 @@
+package com.carrent.analytics;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Fleet utilization over one period, per vehicle, per make and in total
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class UtilizationReport {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Map<String, UtilizationStats> byVehicle;
+    private final Map<String, UtilizationStats> byMake;
+    private final UtilizationStats fleet;
+
+    UtilizationReport(LocalDate from, LocalDate to, Map<String, UtilizationStats> byVehicle,
+                      Map<String, UtilizationStats> byMake, UtilizationStats fleet) {
+        this.from = from;
+        this.to = to;
+        this.byVehicle = Map.copyOf(byVehicle);
+        this.byMake = Map.copyOf(byMake);
+        this.fleet = fleet;
+    }
+
+    /**
+     * Get the first day of the period
+     *
+     * @return start date, inclusive
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Get the day after the period
+     *
+     * @return end date, exclusive
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Get the figures for one vehicle
+     *
+     * @param vehicleId vehicle ID
+     * @return the vehicle's figures, or null if it is not in the fleet and had no rentals
+     */
+    public UtilizationStats getVehicle(String vehicleId) {
+        return byVehicle.get(vehicleId);
+    }
+
+    public Collection<UtilizationStats> getVehicles() {
+        return byVehicle.values();
+    }
+
+    /**
+     * Get the figures for one make
+     *
+     * @param make vehicle make, as stored
+     * @return the make's figures, or null if no vehicle has that make
+     */
+    public UtilizationStats getMake(String make) {
+        return byMake.get(make);
+    }
+
+    public Collection<UtilizationStats> getMakes() {
+        return byMake.values();
+    }
+
+    public UtilizationStats getFleet() {
+        return fleet;
+    }
+}
@@ -0,0 +1,88 @@
+package com.carrent.analytics;
+
+/**
+ * Utilization and revenue of one vehicle, one make or the whole fleet over a period
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class UtilizationStats {
+
+    private final String key;
+    private final int vehicleCount;
+    private final long rentedDays;
+    private final long availableDays;
+    private final long revenueCents;
+
+    UtilizationStats(String key, int vehicleCount, long rentedDays, long availableDays, long revenueCents) {
+        this.key = key;
+        this.vehicleCount = vehicleCount;
+        this.rentedDays = rentedDays;
+        this.availableDays = availableDays;
+        this.revenueCents = revenueCents;
+    }
+
+    /**
+     * Get the vehicle ID or make the figures belong to
+     *
+     * @return grouping key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public int getVehicleCount() {
+        return vehicleCount;
+    }
+
+    /**
+     * Get the vehicle-days spent on rent in the period
+     *
+     * @return rented days
+     */
+    public long getRentedDays() {
+        return rentedDays;
+    }
+
+    /**
+     * Get the vehicle-days in the period
+     *
+     * @return available days
+     */
+    public long getAvailableDays() {
+        return availableDays;
+    }
+
+    /**
+     * Get the vehicle-days not spent on rent
+     *
+     * @return idle days
+     */
+    public long getIdleDays() {
+        return Math.max(0, availableDays - rentedDays);
+    }
+
+    /**
+     * Get the share of available days spent on rent
+     *
+     * @return utilization between 0 and 1 (higher if rentals overlap)
+     */
+    public double getUtilization() {
+        return availableDays == 0 ? 0.0 : (double) rentedDays / availableDays;
+    }
+
+    /**
+     * Get the revenue attributed to the period, pro rata to rental days
+     *
+     * @return revenue amount
+     */
+    public double getRevenue() {
+        return revenueCents / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d/%d days (%.1f%%), $%.2f",
+            key, rentedDays, availableDays, getUtilization() * 100, getRevenue());
+    }
+}
@@ -0,0 +1,69 @@
+package com.carrent.event;
+
+import com.carrent.model.Money;
+
+import java.io.PrintStream;
+import java.time.Instant;
+
+/**
+ * Event consumer writing an audit trail of rental lifecycle events
+ *
+ * Lines are collected in a buffer and written once per batch, so a burst of
+ * bookings costs one write instead of one per event.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class AuditLogHandler implements RentalEventHandler {
+
+    private final PrintStream out;
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    /**
+     * Create an audit handler writing to standard output
+     */
+    public AuditLogHandler() {
+        this(System.out);
+    }
+
+    /**
+     * Create an audit handler writing to the given stream
+     *
+     * @param out stream receiving the audit lines
+     */
+    public AuditLogHandler(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void onEvent(RentalEvent event, long sequence, boolean endOfBatch) {
+        buffer.append("AUDIT #").append(sequence)
+              .append(' ').append(Instant.ofEpochMilli(event.getTimestamp()))
+              .append(' ').append(event.getType());
+        if (event.getRentalId() != null) {
+            buffer.append(" rental=").append(event.getRentalId());
+        }
+        if (event.getVehicleId() != null) {
+            buffer.append(" vehicle=").append(event.getVehicleId());
+        }
+        switch (event.getType()) {
+            case RENTAL_CREATED:
+            case RENTAL_COMPLETED:
+            case VEHICLE_RATE_CHANGED:
+                Money.appendTo(buffer.append(" amount="), event.getCents());
+                break;
+            case VEHICLE_STATUS_CHANGED:
+                buffer.append(" available=").append(event.isAvailable());
+                break;
+            default:
+                break;
+        }
+        buffer.append(System.lineSeparator());
+
+        if (endOfBatch) {
+            out.print(buffer);
+            out.flush();
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.carrent.event;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event consumer counting lifecycle events by type
+ *
+ * Counters are updated on the consumer thread and can be read from any thread.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class EventMetricsHandler implements RentalEventHandler {
+
+    private final Map<RentalEventType, AtomicLong> counts = new EnumMap<>(RentalEventType.class);
+    private final AtomicLong batches = new AtomicLong();
+
+    public EventMetricsHandler() {
+        for (RentalEventType type : RentalEventType.values()) {
+            counts.put(type, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void onEvent(RentalEvent event, long sequence, boolean endOfBatch) {
+        counts.get(event.getType()).incrementAndGet();
+        if (endOfBatch) {
+            batches.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of events seen of a type
+     *
+     * @param type event type
+     * @return event count
+     */
+    public long getCount(RentalEventType type) {
+        return counts.get(type).get();
+    }
+
+    /**
+     * Get the number of batches delivered to this handler
+     *
+     * @return batch count
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+}
@@ -0,0 +1,75 @@
+package com.carrent.event;
+
+import com.carrent.model.Money;
+
+/**
+ * Rental lifecycle event stored in a slot of the event bus ring
+ *
+ * Instances are preallocated by RentalEventBus and overwritten as the ring
+ * wraps around, so publishing an event does not allocate. Fields that do not
+ * apply to an event type are left null, zero or false.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class RentalEvent {
+
+    private RentalEventType type;
+    private String rentalId;
+    private String vehicleId;
+    private long cents;
+    private boolean available;
+    private long timestamp;
+
+    RentalEvent() {
+    }
+
+    void set(RentalEventType type, String rentalId, String vehicleId, long cents, boolean available) {
+        this.type = type;
+        this.rentalId = rentalId;
+        this.vehicleId = vehicleId;
+        this.cents = cents;
+        this.available = available;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public RentalEventType getType() {
+        return type;
+    }
+
+    public String getRentalId() {
+        return rentalId;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    /**
+     * Get the money amount carried by the event
+     *
+     * @return rental cost for rental events, new daily rate for rate changes, in cents
+     */
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * Get the vehicle availability carried by the event
+     *
+     * @return true if the vehicle is available after the event
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RentalEvent{type=%s, rentalId='%s', vehicleId='%s', amount=%s, available=%s}",
+                type, rentalId, vehicleId, Money.format(cents), available);
+    }
+}
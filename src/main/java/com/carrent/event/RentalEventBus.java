@@ -0,0 +1,262 @@
+package com.carrent.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ring-buffer event bus for rental lifecycle events
+ *
+ * Events are written into a fixed, preallocated ring of RentalEvent slots.
+ * Every registered consumer runs on its own thread, follows the ring with its
+ * own sequence and receives events in batches of whatever has been published
+ * since it last looked. Memory use is bounded by the ring size. When the
+ * slowest consumer is a full ring behind, publish waits for it to catch up
+ * and tryPublish drops the event and counts it. The services use tryPublish,
+ * so a stuck consumer costs audit events rather than stalling bookings.
+ *
+ * A sequence is only claimed once its slot is free, so every claimed slot is
+ * written and consumers never wait on a gap left by a publisher that gave up.
+ *
+ * Any number of threads may publish. Consumers must be added before start().
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalEventBus implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long WAIT_NANOS = 50_000; // 50 microseconds between polls
+
+    private final RentalEvent[] ring;
+    private final int mask;
+    // published.get(i) holds the sequence last published into slot i
+    private final AtomicLongArray published;
+    // Highest sequence claimed by a publisher
+    private final AtomicLong claimed = new AtomicLong(-1);
+    // Events refused by tryPublish because the ring was full
+    private final AtomicLong dropped = new AtomicLong();
+    private final List<Consumer> consumers = new ArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean started;
+
+    /**
+     * Create a bus with the default ring size
+     */
+    public RentalEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a bus with the given ring size
+     *
+     * @param capacity number of ring slots, must be a power of two
+     */
+    public RentalEventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        this.ring = new RentalEvent[capacity];
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new RentalEvent();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Register a consumer; it gets its own thread once the bus is started
+     *
+     * @param name consumer name, used for the thread name
+     * @param handler handler receiving the events
+     */
+    public synchronized void addConsumer(String name, RentalEventHandler handler) {
+        if (started) {
+            throw new IllegalStateException("Consumers must be added before the bus is started");
+        }
+        consumers.add(new Consumer(name, handler));
+    }
+
+    /**
+     * Start the consumer threads
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        running = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    /**
+     * Publish an event, waiting while the ring is full
+     *
+     * @param type event type
+     * @param rentalId rental involved, or null
+     * @param vehicleId vehicle involved, or null
+     * @param cents rental cost or daily rate in cents, 0 if not applicable
+     * @param available vehicle availability after the event
+     */
+    public void publish(RentalEventType type, String rentalId, String vehicleId, long cents, boolean available) {
+        long sequence;
+        while ((sequence = tryClaim()) < 0) {
+            if (!running) {
+                return; // Not started or already closed: nobody to deliver to
+            }
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        write(sequence, type, rentalId, vehicleId, cents, available);
+    }
+
+    /**
+     * Publish an event only if the ring has room right now
+     * Events refused because the ring is full are counted in getDroppedCount.
+     *
+     * @return true if the event was published, false if the ring was full or the bus is stopped
+     */
+    public boolean tryPublish(RentalEventType type, String rentalId, String vehicleId, long cents, boolean available) {
+        long sequence = tryClaim();
+        if (sequence < 0) {
+            if (running) {
+                dropped.incrementAndGet();
+            }
+            return false;
+        }
+        write(sequence, type, rentalId, vehicleId, cents, available);
+        return true;
+    }
+
+    /**
+     * Claim the next sequence if its slot is free
+     *
+     * @return claimed sequence, or -1 if the ring is full or the bus is stopped
+     */
+    private long tryClaim() {
+        long current;
+        long next;
+        do {
+            if (!running) {
+                return -1;
+            }
+            current = claimed.get();
+            next = current + 1;
+            if (next - ring.length > minimumConsumerSequence()) {
+                return -1;
+            }
+        } while (!claimed.compareAndSet(current, next));
+        return next;
+    }
+
+    private void write(long sequence, RentalEventType type, String rentalId, String vehicleId,
+                       long cents, boolean available) {
+        int index = (int) (sequence & mask);
+        ring[index].set(type, rentalId, vehicleId, cents, available);
+        published.set(index, sequence); // Volatile write makes the slot contents visible
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return consumers.isEmpty() ? claimed.get() : minimum;
+    }
+
+    /**
+     * Get the number of events published but not yet handled by the slowest consumer
+     *
+     * @return current backlog
+     */
+    public long getBacklog() {
+        return Math.max(0, claimed.get() - minimumConsumerSequence());
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Stop the consumers after they drain the events already published
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * A registered handler with its own thread and position in the ring
+     */
+    private class Consumer implements Runnable {
+        private final String name;
+        private final RentalEventHandler handler;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        Consumer(String name, RentalEventHandler handler) {
+            this.name = name;
+            this.handler = handler;
+            this.thread = new Thread(this, "carrent-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                long available = highestPublished(next);
+                if (available < next) {
+                    if (!running && next > claimed.get()) {
+                        return; // Drained after close
+                    }
+                    LockSupport.parkNanos(WAIT_NANOS);
+                    continue;
+                }
+                for (long seq = next; seq <= available; seq++) {
+                    try {
+                        handler.onEvent(ring[(int) (seq & mask)], seq, seq == available);
+                    } catch (Exception e) {
+                        System.err.println("Event consumer " + name + " failed on sequence " + seq + ": " + e.getMessage());
+                    }
+                }
+                sequence.set(available); // Frees the slots for publishers
+                next = available + 1;
+            }
+        }
+
+        /**
+         * Find the end of the contiguous run of published events starting at next
+         */
+        private long highestPublished(long next) {
+            long limit = claimed.get();
+            long seq = next;
+            while (seq <= limit && published.get((int) (seq & mask)) == seq) {
+                seq++;
+            }
+            return seq - 1;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.carrent.event;
+
+/**
+ * Consumer of events from the rental event bus
+ *
+ * Each handler runs on its own thread and sees every event in publish order.
+ * The event object is a reused ring slot, so handlers must copy any values
+ * they want to keep after the call returns.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RentalEventHandler {
+
+    /**
+     * Handle one event
+     *
+     * @param event the event (valid only for the duration of the call)
+     * @param sequence position of the event on the bus
+     * @param endOfBatch true for the last event currently available, a good point to flush
+     */
+    void onEvent(RentalEvent event, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,17 @@
+package com.carrent.event;
+
+/**
+ * Types of lifecycle events published on the rental event bus
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public enum RentalEventType {
+    RENTAL_CREATED,
+    RENTAL_COMPLETED,
+    VEHICLE_STATUS_CHANGED,
+    VEHICLE_RATE_CHANGED,
+    VEHICLE_ADDED,
+    VEHICLE_UPDATED,
+    VEHICLE_REMOVED
+}
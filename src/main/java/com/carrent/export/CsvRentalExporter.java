@@ -0,0 +1,72 @@
+package com.carrent.export;
+
+import com.carrent.model.Money;
+import com.carrent.model.Rental;
+
+/**
+ * Streams rentals as CSV in the same column layout as rentals.csv
+ *
+ * Text fields containing a comma, quote or line break are quoted, with
+ * embedded quotes doubled.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class CsvRentalExporter extends StreamingRentalExporter {
+
+    /**
+     * Parameterized constructor
+     *
+     * @param source cursor over the rentals to export
+     */
+    public CsvRentalExporter(RentalSource source) {
+        super(source);
+    }
+
+    @Override
+    protected void writeHeader(StringBuilder out) {
+        out.append("ID,VehicleID,CustomerName,CustomerPhone,StartDate,EndDate,TotalCost,IsActive\n");
+    }
+
+    @Override
+    protected void writeRow(StringBuilder out, Rental rental) {
+        appendField(out, rental.getId());
+        out.append(',');
+        appendField(out, rental.getVehicleId());
+        out.append(',');
+        appendField(out, rental.getCustomerName());
+        out.append(',');
+        appendField(out, rental.getCustomerPhone());
+        out.append(',');
+        appendDate(out, rental.getStartDate());
+        out.append(',');
+        appendDate(out, rental.getEndDate());
+        out.append(',');
+        Money.appendTo(out, rental.getTotalCostCents());
+        out.append(',').append(rental.isActive()).append('\n');
+    }
+
+    private static void appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,74 @@
+package com.carrent.export;
+
+import com.carrent.model.Money;
+import com.carrent.model.Rental;
+
+/**
+ * Streams rentals as JSON lines: one JSON object per rental, no header
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class JsonLinesRentalExporter extends StreamingRentalExporter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Parameterized constructor
+     *
+     * @param source cursor over the rentals to export
+     */
+    public JsonLinesRentalExporter(RentalSource source) {
+        super(source);
+    }
+
+    @Override
+    protected void writeHeader(StringBuilder out) {
+        // JSON lines has no header
+    }
+
+    @Override
+    protected void writeRow(StringBuilder out, Rental rental) {
+        out.append("{\"id\":");
+        appendString(out, rental.getId());
+        out.append(",\"vehicleId\":");
+        appendString(out, rental.getVehicleId());
+        out.append(",\"customerName\":");
+        appendString(out, rental.getCustomerName());
+        out.append(",\"customerPhone\":");
+        appendString(out, rental.getCustomerPhone());
+        out.append(",\"startDate\":\"");
+        appendDate(out, rental.getStartDate());
+        out.append("\",\"endDate\":\"");
+        appendDate(out, rental.getEndDate());
+        out.append("\",\"totalCost\":");
+        Money.appendTo(out, rental.getTotalCostCents());
+        out.append(",\"active\":").append(rental.isActive()).append("}\n");
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,23 @@
+package com.carrent.export;
+
+import com.carrent.model.Rental;
+import com.carrent.repository.RentalFilter;
+import java.util.function.Consumer;
+
+/**
+ * Cursor over stored rentals, e.g. RentalService::forEachRental
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RentalSource {
+
+    /**
+     * Visit every rental matching a filter
+     *
+     * @param filter rentals to visit
+     * @param action action run for each matching rental
+     */
+    void forEach(RentalFilter filter, Consumer<Rental> action);
+}
@@ -0,0 +1,169 @@
+package com.carrent.export;
+
+import com.carrent.model.Rental;
+import com.carrent.repository.RentalFilter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Base class for exporters that stream rentals straight to a file
+ *
+ * Rows are pulled from a RentalSource one at a time, formatted into a reused
+ * StringBuilder and encoded into a reused byte buffer that is written to a
+ * FileChannel whenever it fills up. Memory use stays the same whatever the
+ * size of the export; no list of rentals or lines is ever built.
+ *
+ * An exporter instance reuses its buffers and is not thread-safe.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public abstract class StreamingRentalExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RentalSource source;
+    private final StringBuilder line = new StringBuilder(256);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private char[] chars = new char[256];
+
+    /**
+     * Parameterized constructor
+     *
+     * @param source cursor over the rentals to export
+     */
+    protected StreamingRentalExporter(RentalSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Rental source cannot be null");
+        }
+        this.source = source;
+    }
+
+    /**
+     * Export the rentals matching a filter, replacing the target file
+     *
+     * @param target file to write
+     * @param filter rentals to export
+     * @return number of rentals written
+     * @throws IOException if the file cannot be written
+     */
+    public long export(Path target, RentalFilter filter) throws IOException {
+        if (target == null || filter == null) {
+            throw new IllegalArgumentException("Target and filter cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            bytes.clear();
+            encoder.reset();
+            long[] rows = new long[1];
+
+            line.setLength(0);
+            writeHeader(line);
+            emit(channel);
+
+            try {
+                source.forEach(filter, rental -> {
+                    line.setLength(0);
+                    writeRow(line, rental);
+                    try {
+                        emit(channel);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            finish(channel);
+            return rows[0];
+        }
+    }
+
+    /**
+     * Append the header, if any, including its line break
+     *
+     * @param out line being built
+     */
+    protected abstract void writeHeader(StringBuilder out);
+
+    /**
+     * Append one rental, including its line break
+     *
+     * @param out line being built
+     * @param rental rental to format
+     */
+    protected abstract void writeRow(StringBuilder out, Rental rental);
+
+    /**
+     * Append a date as yyyy-MM-dd
+     *
+     * @param out line being built
+     * @param date date to append
+     */
+    protected static void appendDate(StringBuilder out, LocalDate date) {
+        out.append(date.getYear()).append('-');
+        appendTwoDigits(out, date.getMonthValue());
+        out.append('-');
+        appendTwoDigits(out, date.getDayOfMonth());
+    }
+
+    private static void appendTwoDigits(StringBuilder out, int value) {
+        if (value < 10) {
+            out.append('0');
+        }
+        out.append(value);
+    }
+
+    /**
+     * Encode the current line into the byte buffer, draining it as it fills
+     */
+    private void emit(FileChannel channel) throws IOException {
+        int length = line.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        CharBuffer input = CharBuffer.wrap(chars, 0, length);
+        while (true) {
+            CoderResult result = encoder.encode(input, bytes, false);
+            if (result.isOverflow()) {
+                drain(channel);
+            } else if (result.isUnderflow()) {
+                return;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    private void finish(FileChannel channel) throws IOException {
+        CharBuffer empty = CharBuffer.wrap(chars, 0, 0);
+        while (encoder.encode(empty, bytes, true).isOverflow()) {
+            drain(channel);
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            drain(channel);
+        }
+        drain(channel);
+    }
+
+    private void drain(FileChannel channel) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
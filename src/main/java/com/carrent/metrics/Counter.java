@@ -0,0 +1,40 @@
+package com.carrent.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter
+ *
+ * Backed by a LongAdder, so concurrent increments from many threads do not
+ * contend on one memory location.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Add to the counter
+     *
+     * @param amount amount to add, not negative
+     */
+    public void add(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counter amount cannot be negative");
+        }
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,92 @@
+package com.carrent.metrics;
+
+import java.util.Locale;
+
+/**
+ * Latency distribution copied from a LatencyHistogram
+ *
+ * Percentiles are the upper bound of the bucket they fall in, so they
+ * overstate the true value by at most about 6%.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class HistogramSnapshot {
+
+    private final long count;
+    private final long sumNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+
+    HistogramSnapshot(long count, long sumNanos, long maxNanos,
+                      long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos) {
+        this.count = count;
+        this.sumNanos = sumNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSumNanos() {
+        return sumNanos;
+    }
+
+    public long getMeanNanos() {
+        return count == 0 ? 0 : sumNanos / count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%s p50=%s p90=%s p99=%s p99.9=%s max=%s", count,
+            formatNanos(getMeanNanos()), formatNanos(p50Nanos), formatNanos(p90Nanos),
+            formatNanos(p99Nanos), formatNanos(p999Nanos), formatNanos(maxNanos));
+    }
+
+    /**
+     * Format a duration with a unit that keeps it short, e.g. 850ns, 12.4us, 3.1ms
+     *
+     * @param nanos duration in nanoseconds
+     * @return formatted duration
+     */
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+        }
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1e9);
+    }
+}
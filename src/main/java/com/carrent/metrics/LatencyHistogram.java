@@ -0,0 +1,112 @@
+package com.carrent.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-bucketed histogram of latencies in nanoseconds
+ *
+ * Every power of two is split into 16 linear sub-buckets, so a recorded value
+ * is reported to within 1/16 (about 6%) of its true value, and values up to
+ * about 18 minutes fit in 592 buckets. Values below 16 ns get exact buckets.
+ *
+ * Recording is one bucket increment, one LongAdder add and, only for a new
+ * maximum, a compare-and-set: no locks and no allocation. Readers take a
+ * snapshot that may miss records made while it is being copied.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 39;
+    static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    LatencyHistogram() {
+    }
+
+    /**
+     * Record one latency
+     *
+     * @param nanos latency in nanoseconds; negative values count as 0, huge ones are capped
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        buckets.getAndIncrement(bucketOf(value));
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Record the time elapsed since a System.nanoTime() reading
+     *
+     * @param startNanos value of System.nanoTime() when the operation started
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Copy the current distribution
+     *
+     * @return snapshot with count, mean, max and percentiles
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        long maxValue = max.get();
+        return new HistogramSnapshot(count, sum.sum(), maxValue,
+            percentile(counts, count, maxValue, 0.50), percentile(counts, count, maxValue, 0.90),
+            percentile(counts, count, maxValue, 0.99), percentile(counts, count, maxValue, 0.999));
+    }
+
+    /**
+     * Upper bound of the bucket holding the given rank, capped at the maximum seen
+     */
+    private static long percentile(long[] counts, long count, long maxValue, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.carrent.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process registry of counters, gauges and latency histograms
+ *
+ * Metrics are named "component.operation", e.g. "vehicleRepository.findById".
+ * Asking twice for the same name returns the same counter or histogram, so
+ * instrumented classes look their metrics up once, keep them in fields, and
+ * pay only for the recording itself on the hot path.
+ *
+ * Repositories and services record into the shared global registry; tests
+ * and tools can create their own.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Get the registry shared by the whole application
+     *
+     * @return global registry
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Get or create a counter
+     *
+     * @param name metric name
+     * @return counter registered under the name
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(requireName(name), key -> new Counter());
+    }
+
+    /**
+     * Get or create a latency histogram
+     *
+     * @param name metric name
+     * @return histogram registered under the name
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(requireName(name), key -> new LatencyHistogram());
+    }
+
+    /**
+     * Register a gauge, replacing any gauge with the same name
+     * The supplier is called when a snapshot is taken, so it should be cheap and thread-safe.
+     *
+     * @param name metric name
+     * @param value supplies the current value
+     */
+    public void gauge(String name, LongSupplier value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Gauge supplier cannot be null");
+        }
+        gauges.put(requireName(name), value);
+    }
+
+    /**
+     * Copy every metric's current value
+     *
+     * @return snapshot with metrics sorted by name
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, readGauge(gauge)));
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new MetricsSnapshot(counterValues, gaugeValues, histogramValues);
+    }
+
+    private static long readGauge(LongSupplier gauge) {
+        try {
+            return gauge.getAsLong();
+        } catch (RuntimeException e) {
+            return -1; // A failing gauge must not break the whole snapshot
+        }
+    }
+
+    private static String requireName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Metric name cannot be empty");
+        }
+        return name;
+    }
+}
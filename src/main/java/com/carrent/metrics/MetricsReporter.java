@@ -0,0 +1,73 @@
+package com.carrent.metrics;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodic text dump of a metrics registry
+ *
+ * Runs on one daemon thread, so a forgotten reporter never keeps the JVM
+ * alive. It can be switched on from the command line:
+ * -Dcarrent.metrics.reportSeconds=N
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class MetricsReporter implements AutoCloseable {
+
+    public static final String PERIOD_PROPERTY = "carrent.metrics.reportSeconds";
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Start reporting
+     *
+     * @param registry registry to dump
+     * @param periodSeconds seconds between dumps
+     * @param output receives each dump
+     */
+    public MetricsReporter(MetricsRegistry registry, long periodSeconds, Consumer<String> output) {
+        if (registry == null || output == null) {
+            throw new IllegalArgumentException("Registry and output cannot be null");
+        }
+        if (periodSeconds <= 0) {
+            throw new IllegalArgumentException("Report period must be positive");
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "carrent-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> output.accept(registry.snapshot().toText()),
+            periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Start a reporter for the global registry if the period property is set
+     *
+     * @return running reporter printing to standard output, or null if reporting is off
+     */
+    public static MetricsReporter fromSystemProperties() {
+        String value = System.getProperty(PERIOD_PROPERTY);
+        if (value == null) {
+            return null;
+        }
+        try {
+            long periodSeconds = Long.parseLong(value.trim());
+            return periodSeconds > 0 ? new MetricsReporter(MetricsRegistry.global(), periodSeconds, System.out::print) : null;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid metrics report period '" + value + "', reporting disabled");
+            return null;
+        }
+    }
+
+    /**
+     * Stop reporting
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
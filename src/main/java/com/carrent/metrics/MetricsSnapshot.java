@@ -0,0 +1,84 @@
+package com.carrent.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of every metric in a registry
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class MetricsSnapshot {
+
+    private final Map<String, Long> counters;
+    private final Map<String, Long> gauges;
+    private final Map<String, HistogramSnapshot> histograms;
+
+    MetricsSnapshot(Map<String, Long> counters, Map<String, Long> gauges, Map<String, HistogramSnapshot> histograms) {
+        this.counters = Collections.unmodifiableMap(counters);
+        this.gauges = Collections.unmodifiableMap(gauges);
+        this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Get counter values sorted by name
+     *
+     * @return unmodifiable map of counter values
+     */
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    /**
+     * Get gauge values sorted by name
+     *
+     * @return unmodifiable map of gauge values
+     */
+    public Map<String, Long> getGauges() {
+        return gauges;
+    }
+
+    /**
+     * Get histogram snapshots sorted by name
+     *
+     * @return unmodifiable map of histograms
+     */
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Get one histogram
+     *
+     * @param name metric name
+     * @return histogram snapshot, or null if nothing was registered under the name
+     */
+    public HistogramSnapshot getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * Render the snapshot as text, one metric per line
+     * Histograms that have not recorded anything are left out.
+     *
+     * @return text dump
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder(256 + histograms.size() * 96);
+        text.append("=== Metrics ===\n");
+        counters.forEach((name, value) -> text.append("counter ").append(name).append(' ').append(value).append('\n'));
+        gauges.forEach((name, value) -> text.append("gauge ").append(name).append(' ').append(value).append('\n'));
+        histograms.forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                text.append("latency ").append(name).append(' ').append(histogram).append('\n');
+            }
+        });
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+}
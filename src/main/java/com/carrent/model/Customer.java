@@ -13,6 +13,7 @@ import java.util.Objects;
  */
 public class Customer {
     
+    private int id; // 0 until stored by CustomerRepository
     private String name;
     private String phone;
     
@@ -33,8 +34,28 @@ public class Customer {
         this.phone = phone;
     }
     
+    /**
+     * Constructor for a stored customer
+     * 
+     * @param id customer ID assigned by the repository
+     * @param name customer's full name
+     * @param phone customer's phone number
+     */
+    public Customer(int id, String name, String phone) {
+        this(name, phone);
+        this.id = id;
+    }
+    
     // Getters and Setters with basic validation
     
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
     public String getName() {
         return name;
     }
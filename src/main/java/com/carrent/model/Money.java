@@ -0,0 +1,144 @@
+package com.carrent.model;
+
+/**
+ * Helpers for money held as a long number of cents
+ *
+ * Rates and totals are stored in cents so sums are exact however many
+ * rentals they cover. The double getters on the model classes convert at
+ * the edges. Formatting appends to a caller's StringBuilder and parsing reads
+ * the characters in place, so neither allocates.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Convert dollars to cents, rounding to the nearest cent
+     *
+     * @param amount amount in dollars
+     * @return amount in cents
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Convert cents to dollars
+     *
+     * @param cents amount in cents
+     * @return amount in dollars
+     */
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Append an amount with two decimals, e.g. 12345 as 123.45
+     *
+     * @param out builder to append to
+     * @param cents amount in cents
+     * @return the builder
+     */
+    public static StringBuilder appendTo(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+
+    /**
+     * Format an amount with two decimals
+     *
+     * @param cents amount in cents
+     * @return formatted amount, e.g. 123.45
+     */
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(16), cents).toString();
+    }
+
+    /**
+     * Parse a decimal amount such as 123, 123.5 or -0.45 into cents
+     * Surrounding whitespace is ignored; digits beyond the second decimal round half up.
+     *
+     * @param text amount in dollars
+     * @return amount in cents
+     * @throws NumberFormatException if the text is not a plain decimal number
+     */
+    public static long parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parse a decimal amount from part of a character sequence
+     *
+     * @param text characters to read
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return amount in cents
+     * @throws NumberFormatException if the range is not a plain decimal number
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long whole = 0;
+        int digits = 0;
+        while (i < end && text.charAt(i) != '.') {
+            whole = whole * 10 + digit(text, i, start, end);
+            if (whole > Long.MAX_VALUE / 100) {
+                throw new NumberFormatException("Amount too large: " + text.subSequence(start, end));
+            }
+            digits++;
+            i++;
+        }
+
+        long fraction = 0;
+        if (i < end) {
+            i++; // Decimal point
+            for (int place = 0; i < end; place++, i++) {
+                int d = digit(text, i, start, end);
+                if (place == 0) {
+                    fraction = d * 10;
+                } else if (place == 1) {
+                    fraction += d;
+                } else if (place == 2 && d >= 5) {
+                    fraction++;
+                }
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Not an amount: \"" + text.subSequence(start, end) + "\"");
+        }
+        long cents = whole * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    private static int digit(CharSequence text, int i, int start, int end) {
+        char c = text.charAt(i);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Not an amount: \"" + text.subSequence(start, end) + "\"");
+        }
+        return c - '0';
+    }
+}
@@ -1,7 +1,6 @@
 package com.carrent.model;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 /**
@@ -10,6 +9,12 @@ import java.util.Objects;
  * This class encapsulates all the properties and behavior of a rental
  * in the car rental system. It handles rental calculations and validation.
  * 
+ * Fields are packed to keep large rental histories small: dates are epoch
+ * days in ints, the cost is in cents and the status lives in a flag byte.
+ * Vehicle and customer fields reference the instances shared by the
+ * repositories. The getters build LocalDate and double values on demand,
+ * and the epoch day getters read the packed fields directly.
+ * 
  * @author Car Rental Team
  * @version 1.0
  */
@@ -19,16 +24,20 @@ public class Rental {
     private String vehicleId;
     private String customerName;
     private String customerPhone;
-    private LocalDate startDate;
-    private LocalDate endDate;
-    private double totalCost;
-    private boolean isActive;
+    private int customerId; // CustomerRepository ID, 0 if not linked yet
+    private int startDay = NO_DATE;
+    private int endDay = NO_DATE;
+    private long totalCostCents;
+    private byte flags;
+    
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte ACTIVE = 1;
     
     /**
      * Default constructor
      */
     public Rental() {
-        this.isActive = true; // New rentals are active by default
+        this.flags = ACTIVE; // New rentals are active by default
     }
       /**
      * Parameterized constructor
@@ -62,12 +71,12 @@ public class Rental {
         this.vehicleId = vehicleId;
         this.customerName = customerName;
         this.customerPhone = customerPhone;
-        this.startDate = startDate;
-        this.endDate = endDate;
-        this.isActive = true;
+        this.startDay = toDay(startDate);
+        this.endDay = toDay(endDate);
+        this.flags = ACTIVE;
         
         // Validate dates (with different rules for new vs existing rentals)
-        validateDates(validateForNewRental);
+        validateDates(startDay, endDay, validateForNewRental);
     }
     
     // Getters and Setters with proper validation
@@ -104,41 +113,91 @@ public class Rental {
         this.customerPhone = customerPhone;
     }
     
+    public int getCustomerId() {
+        return customerId;
+    }
+    
+    public void setCustomerId(int customerId) {
+        this.customerId = customerId;
+    }
+    
     public LocalDate getStartDate() {
-        return startDate;
+        return toDate(startDay);
     }
     
     public void setStartDate(LocalDate startDate) {
-        this.startDate = startDate;
-        validateDates();
+        int day = toDay(startDate);
+        validateDates(day, endDay, true);
+        this.startDay = day;
     }
     
     public LocalDate getEndDate() {
-        return endDate;
+        return toDate(endDay);
     }
     
     public void setEndDate(LocalDate endDate) {
-        this.endDate = endDate;
-        validateDates();
+        setEndDate(endDate, true);
+    }
+    
+    /**
+     * Set the end date with validation control
+     * The rental is left unchanged if the new date is rejected.
+     * 
+     * @param endDate new end date
+     * @param validateForNewRental whether to apply new rental validation rules;
+     *                             false for extending or shortening a rental that has started
+     */
+    public void setEndDate(LocalDate endDate, boolean validateForNewRental) {
+        int day = toDay(endDate);
+        validateDates(startDay, day, validateForNewRental);
+        this.endDay = day;
+    }
+    
+    /**
+     * Get the start date without creating a LocalDate
+     * 
+     * @return start date as an epoch day
+     * @throws IllegalStateException if the start date is not set
+     */
+    public int getStartEpochDay() {
+        return requireDay(startDay);
+    }
+    
+    /**
+     * Get the end date without creating a LocalDate
+     * 
+     * @return end date as an epoch day
+     * @throws IllegalStateException if the end date is not set
+     */
+    public int getEndEpochDay() {
+        return requireDay(endDay);
     }
     
     public double getTotalCost() {
-        return totalCost;
+        return Money.toDollars(totalCostCents);
     }
     
     public void setTotalCost(double totalCost) {
-        if (totalCost < 0) {
+        setTotalCostCents(Money.toCents(totalCost));
+    }
+    
+    public long getTotalCostCents() {
+        return totalCostCents;
+    }
+    
+    public void setTotalCostCents(long totalCostCents) {
+        if (totalCostCents < 0) {
             throw new IllegalArgumentException("Total cost cannot be negative");
         }
-        this.totalCost = totalCost;
+        this.totalCostCents = totalCostCents;
     }
     
     public boolean isActive() {
-        return isActive;
+        return (flags & ACTIVE) != 0;
     }
     
     public void setActive(boolean active) {
-        this.isActive = active;
+        this.flags = (byte) (active ? flags | ACTIVE : flags & ~ACTIVE);
     }
     
     /**
@@ -147,10 +206,10 @@ public class Rental {
      * @return number of days between start and end date (minimum 1)
      */
     public long getRentalDays() {
-        if (startDate == null || endDate == null) {
+        if (startDay == NO_DATE || endDay == NO_DATE) {
             return 0;
         }
-        long days = ChronoUnit.DAYS.between(startDate, endDate);
+        long days = (long) endDay - startDay;
         return Math.max(days, 1); // Minimum 1 day rental
     }
     
@@ -161,42 +220,51 @@ public class Rental {
      * @return calculated total cost
      */
     public double calculateTotalCost(double dailyRate) {
-        double cost = dailyRate * getRentalDays();
-        setTotalCost(cost);
-        return cost;
+        setTotalCostCents(Money.toCents(dailyRate) * getRentalDays());
+        return getTotalCost();
     }
     
     /**
      * Complete the rental (mark as inactive)
      */
     public void completeRental() {
-        if (!isActive) {
+        if (!isActive()) {
             throw new IllegalStateException("Rental is already completed");
         }
-        this.isActive = false;
+        setActive(false);
     }
       /**
      * Validate rental dates
      * 
+     * @param startDay start date as an epoch day
+     * @param endDay end date as an epoch day
      * @param validateForNewRental whether to apply validation rules for new rentals
      */
-    private void validateDates(boolean validateForNewRental) {
-        if (startDate != null && endDate != null) {
-            if (endDate.isBefore(startDate)) {
+    private static void validateDates(int startDay, int endDay, boolean validateForNewRental) {
+        if (startDay != NO_DATE && endDay != NO_DATE) {
+            if (endDay < startDay) {
                 throw new IllegalArgumentException("End date cannot be before start date");
             }
             // Only check for past start dates when creating new rentals
-            if (validateForNewRental && startDate.isBefore(LocalDate.now())) {
+            if (validateForNewRental && startDay < LocalDate.now().toEpochDay()) {
                 throw new IllegalArgumentException("Start date cannot be in the past");
             }
         }
     }
     
-    /**
-     * Validate rental dates (for backward compatibility)
-     */
-    private void validateDates() {
-        validateDates(true); // Default to new rental validation
+    private static int toDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+    
+    private static LocalDate toDate(int day) {
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+    
+    private static int requireDay(int day) {
+        if (day == NO_DATE) {
+            throw new IllegalStateException("Rental dates are not set");
+        }
+        return day;
     }
     
     /**
@@ -205,10 +273,10 @@ public class Rental {
      * @return formatted string showing rental period
      */
     public String getRentalPeriodString() {
-        if (startDate == null || endDate == null) {
+        if (startDay == NO_DATE || endDay == NO_DATE) {
             return "Dates not set";
         }
-        return startDate.toString() + " to " + endDate.toString() + " (" + getRentalDays() + " days)";
+        return getStartDate() + " to " + getEndDate() + " (" + getRentalDays() + " days)";
     }
     
     /**
@@ -217,7 +285,7 @@ public class Rental {
      * @return "Active" or "Completed"
      */
     public String getStatusString() {
-        return isActive ? "Active" : "Completed";
+        return isActive() ? "Active" : "Completed";
     }
     
     @Override
@@ -236,6 +304,6 @@ public class Rental {
     @Override
     public String toString() {
         return String.format("Rental{id='%s', vehicleId='%s', customer='%s', period='%s', cost=%.2f, active=%s}",
-                id, vehicleId, customerName, getRentalPeriodString(), totalCost, isActive);
+                id, vehicleId, customerName, getRentalPeriodString(), getTotalCost(), isActive());
     }
 }
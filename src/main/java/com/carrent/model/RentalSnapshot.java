@@ -0,0 +1,168 @@
+package com.carrent.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Immutable view of a rental at one point in time
+ *
+ * Snapshots are safe to share between threads and to keep in caches without
+ * copying. The with-methods return a changed copy, or this snapshot if the
+ * value is unchanged. A copy is a local value only: stored rentals change
+ * through RentalRepository's field commands, such as changeEndDate.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class RentalSnapshot {
+
+    private final String id;
+    private final String vehicleId;
+    private final int customerId;
+    private final String customerName;
+    private final String customerPhone;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long totalCostCents;
+    private final boolean active;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param id rental ID
+     * @param vehicleId ID of the rented vehicle
+     * @param customerId CustomerRepository ID, 0 if not linked
+     * @param customerName name of the customer
+     * @param customerPhone phone number of the customer
+     * @param startDate rental start date
+     * @param endDate rental end date
+     * @param totalCostCents total cost in cents
+     * @param active whether the vehicle is still out
+     */
+    public RentalSnapshot(String id, String vehicleId, int customerId, String customerName, String customerPhone,
+                          LocalDate startDate, LocalDate endDate, long totalCostCents, boolean active) {
+        if (id == null) {
+            throw new IllegalArgumentException("Rental ID cannot be null");
+        }
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        this.id = id;
+        this.vehicleId = vehicleId;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalCostCents = totalCostCents;
+        this.active = active;
+    }
+
+    /**
+     * Capture the current state of a rental
+     *
+     * @param rental rental to copy
+     * @return snapshot of its fields
+     */
+    public static RentalSnapshot of(Rental rental) {
+        return new RentalSnapshot(rental.getId(), rental.getVehicleId(), rental.getCustomerId(),
+            rental.getCustomerName(), rental.getCustomerPhone(), rental.getStartDate(), rental.getEndDate(),
+            rental.getTotalCostCents(), rental.isActive());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public long getTotalCostCents() {
+        return totalCostCents;
+    }
+
+    public double getTotalCost() {
+        return Money.toDollars(totalCostCents);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Copy with a different status
+     *
+     * @param active new status
+     * @return changed copy, or this snapshot if unchanged
+     */
+    public RentalSnapshot withActive(boolean active) {
+        return active == this.active ? this : new RentalSnapshot(id, vehicleId, customerId, customerName,
+            customerPhone, startDate, endDate, totalCostCents, active);
+    }
+
+    /**
+     * Copy with a different total cost
+     *
+     * @param totalCostCents new total cost in cents
+     * @return changed copy, or this snapshot if unchanged
+     */
+    public RentalSnapshot withTotalCostCents(long totalCostCents) {
+        return totalCostCents == this.totalCostCents ? this : new RentalSnapshot(id, vehicleId, customerId,
+            customerName, customerPhone, startDate, endDate, totalCostCents, active);
+    }
+
+    /**
+     * Copy with a different end date, e.g. for an extension or early return
+     *
+     * @param endDate new end date, not before the start date
+     * @return changed copy, or this snapshot if unchanged
+     */
+    public RentalSnapshot withEndDate(LocalDate endDate) {
+        return Objects.equals(endDate, this.endDate) ? this : new RentalSnapshot(id, vehicleId, customerId,
+            customerName, customerPhone, startDate, endDate, totalCostCents, active);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RentalSnapshot)) return false;
+        RentalSnapshot other = (RentalSnapshot) o;
+        return customerId == other.customerId && totalCostCents == other.totalCostCents && active == other.active
+            && id.equals(other.id) && Objects.equals(vehicleId, other.vehicleId)
+            && Objects.equals(customerName, other.customerName) && Objects.equals(customerPhone, other.customerPhone)
+            && Objects.equals(startDate, other.startDate) && Objects.equals(endDate, other.endDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, vehicleId, customerId, customerName, customerPhone, startDate, endDate,
+            totalCostCents, active);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RentalSnapshot{id='%s', vehicleId='%s', customer='%s', period=%s..%s, totalCost=%s, active=%s}",
+                id, vehicleId, customerName, startDate, endDate, Money.format(totalCostCents), active);
+    }
+}
@@ -0,0 +1,66 @@
+package com.carrent.model;
+
+/**
+ * Revenue of one vehicle type over one day or month
+ *
+ * Rentals are counted on the day they start. Completed revenue comes from
+ * returned rentals, active revenue from rentals still out.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RevenueRollup {
+
+    private final String period;
+    private final String vehicleType;
+    private final long completedCents;
+    private final long activeCents;
+    private final int rentalCount;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param period day (yyyy-MM-dd) or month (yyyy-MM) the figures cover
+     * @param vehicleType vehicle type, e.g. Vehicle or Motorcycle
+     * @param completedCents revenue of completed rentals in cents
+     * @param activeCents revenue of active rentals in cents
+     * @param rentalCount number of rentals started in the period
+     */
+    public RevenueRollup(String period, String vehicleType, long completedCents, long activeCents, int rentalCount) {
+        this.period = period;
+        this.vehicleType = vehicleType;
+        this.completedCents = completedCents;
+        this.activeCents = activeCents;
+        this.rentalCount = rentalCount;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public String getVehicleType() {
+        return vehicleType;
+    }
+
+    public double getCompletedRevenue() {
+        return completedCents / 100.0;
+    }
+
+    public double getActiveRevenue() {
+        return activeCents / 100.0;
+    }
+
+    public double getTotalRevenue() {
+        return (completedCents + activeCents) / 100.0;
+    }
+
+    public int getRentalCount() {
+        return rentalCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RevenueRollup{period='%s', type='%s', completed=%.2f, active=%.2f, rentals=%d}",
+                period, vehicleType, getCompletedRevenue(), getActiveRevenue(), rentalCount);
+    }
+}
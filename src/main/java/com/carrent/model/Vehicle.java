@@ -16,7 +16,7 @@ public class Vehicle {
     private String id;
     private String make;
     private String model;
-    private double dailyRate;
+    private long dailyRateCents;
     private boolean isAvailable;
     
     /**
@@ -38,7 +38,7 @@ public class Vehicle {
         this.id = id;
         this.make = make;
         this.model = model;
-        this.dailyRate = dailyRate;
+        this.dailyRateCents = Money.toCents(dailyRate);
         this.isAvailable = true;
     }
     
@@ -69,14 +69,22 @@ public class Vehicle {
     }
     
     public double getDailyRate() {
-        return dailyRate;
+        return Money.toDollars(dailyRateCents);
     }
     
     public void setDailyRate(double dailyRate) {
-        if (dailyRate < 0) {
+        setDailyRateCents(Money.toCents(dailyRate));
+    }
+    
+    public long getDailyRateCents() {
+        return dailyRateCents;
+    }
+    
+    public void setDailyRateCents(long dailyRateCents) {
+        if (dailyRateCents < 0) {
             throw new IllegalArgumentException("Daily rate cannot be negative");
         }
-        this.dailyRate = dailyRate;
+        this.dailyRateCents = dailyRateCents;
     }
     
     public boolean isAvailable() {
@@ -141,6 +149,6 @@ public class Vehicle {
     @Override
     public String toString() {
         return String.format("Vehicle{id='%s', make='%s', model='%s', dailyRate=%.2f, isAvailable=%s}",
-                id, make, model, dailyRate, isAvailable);
+                id, make, model, getDailyRate(), isAvailable);
     }
 }
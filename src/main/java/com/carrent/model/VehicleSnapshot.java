@@ -0,0 +1,137 @@
+package com.carrent.model;
+
+import java.util.Objects;
+
+/**
+ * Immutable view of a vehicle at one point in time
+ *
+ * Snapshots are safe to share between threads and to keep in caches without
+ * copying. The with-methods return a changed copy, or this snapshot if the
+ * value is unchanged. A copy is a local value only: stored vehicles change
+ * through VehicleRepository's field commands, such as setAvailable.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class VehicleSnapshot {
+
+    private final String id;
+    private final String make;
+    private final String model;
+    private final String vehicleType;
+    private final long dailyRateCents;
+    private final boolean available;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param id vehicle ID
+     * @param make manufacturer
+     * @param model model name
+     * @param vehicleType vehicle type, e.g. Vehicle or Motorcycle
+     * @param dailyRateCents daily rate in cents
+     * @param available whether the vehicle can be rented
+     */
+    public VehicleSnapshot(String id, String make, String model, String vehicleType,
+                           long dailyRateCents, boolean available) {
+        if (id == null) {
+            throw new IllegalArgumentException("Vehicle ID cannot be null");
+        }
+        if (dailyRateCents < 0) {
+            throw new IllegalArgumentException("Daily rate cannot be negative");
+        }
+        this.id = id;
+        this.make = make;
+        this.model = model;
+        this.vehicleType = vehicleType;
+        this.dailyRateCents = dailyRateCents;
+        this.available = available;
+    }
+
+    /**
+     * Capture the current state of a vehicle
+     *
+     * @param vehicle vehicle to copy
+     * @param vehicleType type tag of the vehicle's codec, e.g. Motorcycle
+     * @return snapshot of its fields
+     */
+    public static VehicleSnapshot of(Vehicle vehicle, String vehicleType) {
+        return new VehicleSnapshot(vehicle.getId(), vehicle.getMake(), vehicle.getModel(), vehicleType,
+            vehicle.getDailyRateCents(), vehicle.isAvailable());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getMake() {
+        return make;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getVehicleType() {
+        return vehicleType;
+    }
+
+    public long getDailyRateCents() {
+        return dailyRateCents;
+    }
+
+    public double getDailyRate() {
+        return Money.toDollars(dailyRateCents);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public String getDisplayName() {
+        return make + " " + model;
+    }
+
+    /**
+     * Copy with a different availability
+     *
+     * @param available new availability
+     * @return changed copy, or this snapshot if unchanged
+     */
+    public VehicleSnapshot withAvailable(boolean available) {
+        return available == this.available ? this
+            : new VehicleSnapshot(id, make, model, vehicleType, dailyRateCents, available);
+    }
+
+    /**
+     * Copy with a different daily rate
+     *
+     * @param dailyRateCents new daily rate in cents
+     * @return changed copy, or this snapshot if unchanged
+     */
+    public VehicleSnapshot withDailyRateCents(long dailyRateCents) {
+        return dailyRateCents == this.dailyRateCents ? this
+            : new VehicleSnapshot(id, make, model, vehicleType, dailyRateCents, available);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof VehicleSnapshot)) return false;
+        VehicleSnapshot other = (VehicleSnapshot) o;
+        return dailyRateCents == other.dailyRateCents && available == other.available
+            && id.equals(other.id) && Objects.equals(make, other.make) && Objects.equals(model, other.model)
+            && Objects.equals(vehicleType, other.vehicleType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, make, model, vehicleType, dailyRateCents, available);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VehicleSnapshot{id='%s', type='%s', make='%s', model='%s', dailyRate=%s, available=%s}",
+                id, vehicleType, make, model, Money.format(dailyRateCents), available);
+    }
+}
@@ -0,0 +1,54 @@
+package com.carrent.pricing;
+
+import com.carrent.model.Money;
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+
+import java.util.List;
+
+/**
+ * Primitive snapshot of the rates of a list of vehicles, for bulk pricing
+ *
+ * Holds each vehicle's daily rate and daily insurance in cents and its
+ * pricing class, in list order, so PricingEngine.quoteAll can price the
+ * whole list without touching Vehicle objects. A snapshot does not follow
+ * later rate changes; build a new one when the rate version changes.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class FleetRates {
+
+    final long[] rateCents;
+    final long[] insuranceCents;
+    final boolean[] motorcycle;
+
+    private FleetRates(int size) {
+        rateCents = new long[size];
+        insuranceCents = new long[size];
+        motorcycle = new boolean[size];
+    }
+
+    /**
+     * Capture the rates of a list of vehicles
+     *
+     * @param vehicles vehicles to capture
+     * @return rates indexed like the list
+     */
+    public static FleetRates of(List<Vehicle> vehicles) {
+        FleetRates rates = new FleetRates(vehicles.size());
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            rates.rateCents[i] = vehicle.getDailyRateCents();
+            if (vehicle instanceof Motorcycle motorcycle) {
+                rates.motorcycle[i] = true;
+                rates.insuranceCents[i] = Money.toCents(motorcycle.calculateInsuranceRate());
+            }
+        }
+        return rates;
+    }
+
+    public int size() {
+        return rateCents.length;
+    }
+}
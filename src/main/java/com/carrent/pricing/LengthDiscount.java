@@ -0,0 +1,47 @@
+package com.carrent.pricing;
+
+/**
+ * Discount on the rental charge for rentals of at least a number of days
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class LengthDiscount {
+
+    private final int minDays;
+    private final int basisPoints;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param minDays shortest rental the discount applies to
+     * @param percent discount in percent, e.g. 10 for 10%
+     */
+    public LengthDiscount(int minDays, double percent) {
+        if (minDays < 1) {
+            throw new IllegalArgumentException("Minimum days must be at least 1");
+        }
+        if (percent < 0 || percent >= 100) {
+            throw new IllegalArgumentException("Discount must be between 0 and 100 percent");
+        }
+        this.minDays = minDays;
+        this.basisPoints = (int) Math.round(percent * 100);
+    }
+
+    public int getMinDays() {
+        return minDays;
+    }
+
+    public double getPercent() {
+        return basisPoints / 100.0;
+    }
+
+    int getBasisPoints() {
+        return basisPoints;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LengthDiscount{minDays=%d, percent=%.2f}", minDays, getPercent());
+    }
+}
@@ -0,0 +1,245 @@
+package com.carrent.pricing;
+
+import com.carrent.model.Money;
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+import com.carrent.repository.VehicleCodecRegistry;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Rule-based rental pricing compiled into per-class rate tables
+ *
+ * For every vehicle class the engine compiles the multiplier rules into a
+ * table holding, for each epoch day in its range, the running total of that
+ * day's rate factor in basis points. The rental charge for any stay is then
+ * the daily rate times the difference of two table entries, however long the
+ * stay and however many rules there are. Stays outside the table range are
+ * priced day by day from the rules instead.
+ *
+ * On top of the rental charge the longest matching length discount is
+ * applied, and motorcycles add their daily insurance rate. All arithmetic is
+ * in cents. Tables are compiled on first use of a class; an engine is
+ * immutable and thread-safe.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class PricingEngine {
+
+    public static final String VEHICLE = "Vehicle";
+    public static final String MOTORCYCLE = "Motorcycle";
+
+    private static final long UNIT = 10_000; // One day at the plain daily rate, in basis points
+    private static final int DEFAULT_PAST_DAYS = 31;
+    private static final int DEFAULT_TABLE_DAYS = 2 * 366 + DEFAULT_PAST_DAYS;
+    private static final int PARALLEL_THRESHOLD = 20_000;
+
+    private final List<PricingRule> rules;
+    private final List<LengthDiscount> discounts; // Longest minimum first
+    private final long tableStart;
+    private final int tableDays;
+    private final Map<String, long[]> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with a table covering the last month and the next two years
+     *
+     * @param rules rate multiplier rules
+     * @param discounts length-of-rental discounts
+     */
+    public PricingEngine(List<PricingRule> rules, List<LengthDiscount> discounts) {
+        this(rules, discounts, LocalDate.now().minusDays(DEFAULT_PAST_DAYS), DEFAULT_TABLE_DAYS);
+    }
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param rules rate multiplier rules
+     * @param discounts length-of-rental discounts
+     * @param tableStart first day covered by the compiled tables
+     * @param tableDays number of days covered by the compiled tables
+     */
+    public PricingEngine(List<PricingRule> rules, List<LengthDiscount> discounts, LocalDate tableStart, int tableDays) {
+        if (rules == null || discounts == null || tableStart == null) {
+            throw new IllegalArgumentException("Rules, discounts and table start cannot be null");
+        }
+        if (tableDays < 0) {
+            throw new IllegalArgumentException("Table days cannot be negative");
+        }
+        this.rules = List.copyOf(rules);
+        List<LengthDiscount> sorted = new ArrayList<>(discounts);
+        sorted.sort(Comparator.comparingInt(LengthDiscount::getMinDays).reversed());
+        this.discounts = List.copyOf(sorted);
+        this.tableStart = tableStart.toEpochDay();
+        this.tableDays = tableDays;
+    }
+
+    /**
+     * Engine with the standard price list: 10% weekend and 20% summer surcharges,
+     * 10% off from 7 days and 20% off from 28 days
+     *
+     * @return standard pricing engine
+     */
+    public static PricingEngine standard() {
+        return new PricingEngine(
+            List.of(PricingRule.weekend(null, 1.10),
+                    PricingRule.season("Summer", null, MonthDay.of(6, 15), MonthDay.of(8, 31), 1.20)),
+            List.of(new LengthDiscount(7, 10), new LengthDiscount(28, 20)));
+    }
+
+    /**
+     * Engine charging the plain daily rate, plus motorcycle insurance
+     *
+     * @return engine without rules or discounts
+     */
+    public static PricingEngine flat() {
+        return new PricingEngine(List.of(), List.of());
+    }
+
+    /**
+     * Get the pricing class of a vehicle
+     *
+     * @param vehicle the vehicle
+     * @return Motorcycle or Vehicle
+     */
+    public static String vehicleClassOf(Vehicle vehicle) {
+        return VehicleCodecRegistry.typeOf(vehicle);
+    }
+
+    /**
+     * Price a rental
+     *
+     * @param vehicle vehicle to rent
+     * @param startDate rental start date
+     * @param endDate rental end date, same day counts as one day
+     * @return total cost in cents
+     */
+    public long quoteCents(Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        if (vehicle == null || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Vehicle and a valid date range are required");
+        }
+        long days = Math.max(ChronoUnit.DAYS.between(startDate, endDate), 1); // Minimum 1 day rental
+        long fromDay = startDate.toEpochDay();
+
+        long units = rateUnits(vehicleClassOf(vehicle), fromDay, fromDay + days);
+        long insurance = vehicle instanceof Motorcycle motorcycle ? Money.toCents(motorcycle.calculateInsuranceRate()) : 0;
+        return price(vehicle.getDailyRateCents(), units, discountBasisPoints(days), insurance, days);
+    }
+
+    /**
+     * Price a rental for every vehicle of a rate snapshot
+     * The rule tables are read once per class, after which each vehicle costs a
+     * few multiplications; large fleets are priced in parallel.
+     *
+     * @param rates rates of the vehicles to price
+     * @param startDate rental start date
+     * @param endDate rental end date, same day counts as one day
+     * @return total cost in cents, indexed like the snapshot
+     */
+    public long[] quoteAll(FleetRates rates, LocalDate startDate, LocalDate endDate) {
+        if (rates == null || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Rates and a valid date range are required");
+        }
+        long days = Math.max(ChronoUnit.DAYS.between(startDate, endDate), 1);
+        long fromDay = startDate.toEpochDay();
+        long vehicleUnits = rateUnits(VEHICLE, fromDay, fromDay + days);
+        long motorcycleUnits = rateUnits(MOTORCYCLE, fromDay, fromDay + days);
+        int discount = discountBasisPoints(days);
+
+        long[] cents = new long[rates.size()];
+        IntStream indexes = IntStream.range(0, cents.length);
+        if (cents.length >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> cents[i] = price(rates.rateCents[i],
+            rates.motorcycle[i] ? motorcycleUnits : vehicleUnits, discount, rates.insuranceCents[i], days));
+        return cents;
+    }
+
+    private static long price(long rateCents, long units, int discountBasisPoints, long insuranceCents, long days) {
+        long rental = (rateCents * units + UNIT / 2) / UNIT;
+        rental -= (rental * discountBasisPoints + UNIT / 2) / UNIT;
+        return rental + insuranceCents * days;
+    }
+
+    private int discountBasisPoints(long days) {
+        for (LengthDiscount discount : discounts) {
+            if (days >= discount.getMinDays()) {
+                return discount.getBasisPoints();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Price a rental
+     *
+     * @param vehicle vehicle to rent
+     * @param startDate rental start date
+     * @param endDate rental end date, same day counts as one day
+     * @return total cost in dollars
+     */
+    public double quote(Vehicle vehicle, LocalDate startDate, LocalDate endDate) {
+        return quoteCents(vehicle, startDate, endDate) / 100.0;
+    }
+
+    /**
+     * Sum the day factors of a class over [fromDay, toDay), in basis points
+     */
+    private long rateUnits(String vehicleClass, long fromDay, long toDay) {
+        long tableEnd = tableStart + tableDays;
+        long inFrom = Math.max(fromDay, tableStart);
+        long inTo = Math.min(toDay, tableEnd);
+        long units = 0;
+        if (inFrom < inTo) {
+            long[] prefix = tables.computeIfAbsent(vehicleClass, this::compile);
+            units += prefix[(int) (inTo - tableStart)] - prefix[(int) (inFrom - tableStart)];
+        }
+        List<PricingRule> classRules = rulesFor(vehicleClass);
+        for (long day = fromDay; day < Math.min(toDay, tableStart); day++) {
+            units += dayUnits(classRules, day);
+        }
+        for (long day = Math.max(fromDay, tableEnd); day < toDay; day++) {
+            units += dayUnits(classRules, day);
+        }
+        return units;
+    }
+
+    private long[] compile(String vehicleClass) {
+        List<PricingRule> classRules = rulesFor(vehicleClass);
+        long[] prefix = new long[tableDays + 1];
+        for (int i = 0; i < tableDays; i++) {
+            prefix[i + 1] = prefix[i] + dayUnits(classRules, tableStart + i);
+        }
+        return prefix;
+    }
+
+    private List<PricingRule> rulesFor(String vehicleClass) {
+        List<PricingRule> classRules = new ArrayList<>();
+        for (PricingRule rule : rules) {
+            if (rule.appliesTo(vehicleClass)) {
+                classRules.add(rule);
+            }
+        }
+        return classRules;
+    }
+
+    private static long dayUnits(List<PricingRule> classRules, long epochDay) {
+        LocalDate day = LocalDate.ofEpochDay(epochDay);
+        double factor = 1.0;
+        for (PricingRule rule : classRules) {
+            if (rule.appliesOn(day)) {
+                factor *= rule.getMultiplier();
+            }
+        }
+        return Math.round(UNIT * factor);
+    }
+}
@@ -0,0 +1,117 @@
+package com.carrent.pricing;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.function.Predicate;
+
+/**
+ * Price multiplier applied to the daily rate on matching days
+ *
+ * A rule applies to one vehicle class (e.g. Vehicle or Motorcycle) or, when
+ * the class is null, to every class. Multipliers of all rules matching a day
+ * are multiplied together.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class PricingRule {
+
+    private final String name;
+    private final String vehicleClass;
+    private final double multiplier;
+    private final Predicate<LocalDate> days;
+
+    /**
+     * Parameterized constructor
+     *
+     * @param name rule name for display
+     * @param vehicleClass vehicle class the rule applies to, or null for all
+     * @param multiplier factor applied to the daily rate, e.g. 1.15
+     * @param days days the rule applies on
+     */
+    public PricingRule(String name, String vehicleClass, double multiplier, Predicate<LocalDate> days) {
+        if (name == null || days == null) {
+            throw new IllegalArgumentException("Rule name and days cannot be null");
+        }
+        if (!(multiplier > 0)) {
+            throw new IllegalArgumentException("Multiplier must be positive");
+        }
+        this.name = name;
+        this.vehicleClass = vehicleClass;
+        this.multiplier = multiplier;
+        this.days = days;
+    }
+
+    /**
+     * Rule applying on Saturdays and Sundays
+     *
+     * @param vehicleClass vehicle class, or null for all
+     * @param multiplier weekend factor
+     * @return weekend rule
+     */
+    public static PricingRule weekend(String vehicleClass, double multiplier) {
+        return new PricingRule("Weekend", vehicleClass, multiplier, day ->
+            day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY);
+    }
+
+    /**
+     * Rule applying every year between two calendar days, inclusive
+     * A season may wrap around the new year, e.g. December 20 to January 5.
+     *
+     * @param name season name
+     * @param vehicleClass vehicle class, or null for all
+     * @param from first day of the season
+     * @param to last day of the season
+     * @param multiplier seasonal factor
+     * @return seasonal rule
+     */
+    public static PricingRule season(String name, String vehicleClass, MonthDay from, MonthDay to, double multiplier) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Season bounds cannot be null");
+        }
+        return new PricingRule(name, vehicleClass, multiplier, day -> {
+            MonthDay monthDay = MonthDay.from(day);
+            boolean afterStart = !monthDay.isBefore(from);
+            boolean beforeEnd = !monthDay.isAfter(to);
+            return from.isAfter(to) ? afterStart || beforeEnd : afterStart && beforeEnd;
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVehicleClass() {
+        return vehicleClass;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Check whether the rule applies to a vehicle class
+     *
+     * @param vehicleClass vehicle class
+     * @return true if the rule covers it
+     */
+    public boolean appliesTo(String vehicleClass) {
+        return this.vehicleClass == null || this.vehicleClass.equals(vehicleClass);
+    }
+
+    /**
+     * Check whether the rule applies on a day
+     *
+     * @param day the day
+     * @return true if the multiplier applies
+     */
+    public boolean appliesOn(LocalDate day) {
+        return days.test(day);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PricingRule{name='%s', class='%s', multiplier=%.2f}", name, vehicleClass, multiplier);
+    }
+}
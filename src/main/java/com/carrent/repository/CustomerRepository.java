@@ -0,0 +1,273 @@
+package com.carrent.repository;
+
+import com.carrent.model.Customer;
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Customer Repository class for the deduplicated customer records
+ *
+ * Each customer is stored once, keyed by their phone number with everything
+ * but the digits stripped, and gets a small integer ID in order of first
+ * appearance. Rentals reference customers by that ID, and rentals of a
+ * returning customer share the stored name and phone strings.
+ *
+ * Lookups share the read lock; registering a customer and rewriting the
+ * file take the write lock, so a save always writes one consistent list.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class CustomerRepository {
+
+    private static final String CUSTOMERS_FILE = "data/customers.csv";
+
+    // Indexed by ID; slot 0 is unused so that 0 can mean "no customer"
+    private final List<Customer> customersById = new ArrayList<>();
+    private final Map<String, Customer> customersByPhone = new HashMap<>();
+    private final Map<String, List<Customer>> customersByName = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Directory holding the CSV file, null for the bundled resources
+    private final Path dataDirectory;
+
+    /**
+     * Constructor - loads customers from the bundled CSV file
+     */
+    public CustomerRepository() {
+        this(null);
+    }
+
+    /**
+     * Constructor - loads customers from a data directory
+     *
+     * @param dataDirectory directory holding data/customers.csv, or null for the bundled file
+     */
+    public CustomerRepository(Path dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        customersById.add(null);
+        loadCustomersFromFile();
+    }
+
+    Path getDataDirectory() {
+        return dataDirectory;
+    }
+
+    /**
+     * Load customers from CSV file
+     */
+    private void loadCustomersFromFile() {
+        try {
+            Path path = DataFiles.forReading(dataDirectory, CUSTOMERS_FILE);
+            if (path == null) {
+                return;
+            }
+            List<String> lines = Files.readAllLines(path);
+
+            // Skip header line; IDs are reassigned densely in file order
+            for (int i = 1; i < lines.size(); i++) {
+                String line = lines.get(i).trim();
+                if (!line.isEmpty()) {
+                    String[] parts = line.split(",");
+                    if (parts.length >= 3) {
+                        register(parts[1], parts[2]);
+                    } else {
+                        System.err.println("Error parsing customer line: " + line);
+                    }
+                }
+            }
+
+            System.out.println("Loaded " + (customersById.size() - 1) + " customers from file");
+
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Error loading customers from file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Save customers to CSV file
+     */
+    public void saveCustomersToFile() {
+        lock.writeLock().lock();
+        try {
+            Path path = DataFiles.forWriting(dataDirectory, CUSTOMERS_FILE);
+            if (path == null) {
+                return;
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+                writer.write("ID,Name,Phone");
+                writer.newLine();
+                StringBuilder line = new StringBuilder(64);
+                for (int id = 1; id < customersById.size(); id++) {
+                    Customer customer = customersById.get(id);
+                    line.setLength(0);
+                    line.append(id).append(',').append(customer.getName()).append(',').append(customer.getPhone());
+                    writer.append(line);
+                    writer.newLine();
+                }
+            }
+
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Error saving customers to file: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the customer with a phone number, creating and saving them if new
+     *
+     * @param name customer's name, used only when the customer is new
+     * @param phone customer's phone number
+     * @return the stored customer, or null if name or phone is empty
+     */
+    public Customer findOrCreate(String name, String phone) {
+        lock.writeLock().lock();
+        try {
+            int before = customersById.size();
+            Customer customer = register(name, phone);
+            if (customersById.size() > before) {
+                saveCustomersToFile();
+            }
+            return customer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find or add a customer without saving, for bulk loads
+     * Final because the constructor's load calls it.
+     */
+    final Customer register(String name, String phone) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        String key = normalizePhone(phone);
+        if (key.isEmpty()) {
+            return null;
+        }
+        lock.writeLock().lock();
+        try {
+            Customer customer = customersByPhone.get(key);
+            if (customer == null) {
+                customer = new Customer(customersById.size(), name.trim(), phone.trim());
+                customersById.add(customer);
+                customersByPhone.put(key, customer);
+                customersByName.computeIfAbsent(nameKey(customer.getName()), k -> new ArrayList<>(1)).add(customer);
+            }
+            return customer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find customer by ID
+     *
+     * @param id customer ID
+     * @return customer if found, null otherwise
+     */
+    public Customer findById(int id) {
+        lock.readLock().lock();
+        try {
+            return id > 0 && id < customersById.size() ? customersById.get(id) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find customer by phone number, ignoring formatting
+     *
+     * @param phone phone number, e.g. 555-0123 or (555) 0123
+     * @return customer if found, null otherwise
+     */
+    public Customer findByPhone(String phone) {
+        lock.readLock().lock();
+        try {
+            return customersByPhone.get(normalizePhone(phone));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find customers by name, ignoring case and surrounding whitespace
+     *
+     * @param name customer name
+     * @return matching customers, possibly several with different phones
+     */
+    public List<Customer> findByName(String name) {
+        if (name == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(customersByName.getOrDefault(nameKey(name), List.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find all customers
+     *
+     * @return customers in ID order
+     */
+    public List<Customer> findAll() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(customersById.subList(1, customersById.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get total number of customers
+     *
+     * @return number of customers
+     */
+    public int count() {
+        lock.readLock().lock();
+        try {
+            return customersById.size() - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reduce a phone number to its digits, the key customers are deduplicated on
+     *
+     * @param phone phone number as entered
+     * @return digits only, empty if there are none
+     */
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
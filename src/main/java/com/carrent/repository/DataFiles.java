@@ -0,0 +1,62 @@
+package com.carrent.repository;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Locates the CSV files behind the repositories
+ *
+ * Without a data directory the files bundled on the classpath under data/
+ * are used, as the application always has. With one, each file lives at the
+ * same relative path inside that directory, is treated as empty until it
+ * first exists, and is created on the first save; tests use this to work on
+ * a scratch copy.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+final class DataFiles {
+
+    private DataFiles() {
+    }
+
+    /**
+     * Find a file to load
+     *
+     * @param dataDirectory data directory, or null for the bundled resources
+     * @param file relative file name, e.g. data/vehicles.csv
+     * @return path of an existing file, or null if there is nothing to load
+     */
+    static Path forReading(Path dataDirectory, String file) throws URISyntaxException {
+        if (dataDirectory != null) {
+            Path path = dataDirectory.resolve(file);
+            return Files.exists(path) ? path : null;
+        }
+        URL resource = DataFiles.class.getClassLoader().getResource(file);
+        if (resource == null) {
+            System.err.println("Could not find " + file + " in resources");
+            return null;
+        }
+        return Paths.get(resource.toURI());
+    }
+
+    /**
+     * Find a file to save, creating its directory if needed
+     *
+     * @param dataDirectory data directory, or null for the bundled resources
+     * @param file relative file name, e.g. data/vehicles.csv
+     * @return path to write, or null if the bundled file cannot be found
+     */
+    static Path forWriting(Path dataDirectory, String file) throws IOException, URISyntaxException {
+        if (dataDirectory != null) {
+            Path path = dataDirectory.resolve(file);
+            Files.createDirectories(path.getParent());
+            return path;
+        }
+        return forReading(null, file);
+    }
+}
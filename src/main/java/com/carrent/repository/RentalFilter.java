@@ -0,0 +1,97 @@
+package com.carrent.repository;
+
+import com.carrent.model.Rental;
+import java.time.LocalDate;
+
+/**
+ * Immutable filter for iterating rentals: start date range and vehicle
+ *
+ * RentalRepository answers a vehicle filter from its per-vehicle index and a
+ * date range from its start date index, so only matching rentals are visited.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class RentalFilter {
+
+    private static final RentalFilter ALL = new RentalFilter(null, null, null);
+
+    private final LocalDate startFrom;
+    private final LocalDate startTo;
+    private final String vehicleId;
+
+    private RentalFilter(LocalDate startFrom, LocalDate startTo, String vehicleId) {
+        this.startFrom = startFrom;
+        this.startTo = startTo;
+        this.vehicleId = vehicleId;
+    }
+
+    /**
+     * Filter matching every rental
+     *
+     * @return the empty filter
+     */
+    public static RentalFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Restrict to rentals starting within a date range
+     *
+     * @param from first start date, inclusive, or null for no lower bound
+     * @param to last start date, inclusive, or null for no upper bound
+     * @return new filter with the date range
+     */
+    public RentalFilter startingBetween(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("End of date range cannot be before its start");
+        }
+        return new RentalFilter(from, to, vehicleId);
+    }
+
+    /**
+     * Restrict to rentals of one vehicle
+     *
+     * @param vehicleId vehicle ID, or null/empty for any vehicle
+     * @return new filter with the vehicle
+     */
+    public RentalFilter forVehicle(String vehicleId) {
+        String normalized = vehicleId == null || vehicleId.trim().isEmpty() ? null : vehicleId.trim();
+        return new RentalFilter(startFrom, startTo, normalized);
+    }
+
+    public LocalDate getStartFrom() {
+        return startFrom;
+    }
+
+    public LocalDate getStartTo() {
+        return startTo;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public boolean hasDateRange() {
+        return startFrom != null || startTo != null;
+    }
+
+    /**
+     * Check whether a rental passes the filter
+     *
+     * @param rental rental to test
+     * @return true if the rental matches
+     */
+    public boolean matches(Rental rental) {
+        if (vehicleId != null && !vehicleId.equals(rental.getVehicleId())) {
+            return false;
+        }
+        LocalDate start = rental.getStartDate();
+        return (startFrom == null || !start.isBefore(startFrom)) && (startTo == null || !start.isAfter(startTo));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RentalFilter{start=%s..%s, vehicle='%s'}", startFrom, startTo, vehicleId);
+    }
+}
@@ -1,17 +1,33 @@
 package com.carrent.repository;
 
+import com.carrent.model.Customer;
+import com.carrent.metrics.Counter;
+import com.carrent.metrics.LatencyHistogram;
+import com.carrent.metrics.MetricsRegistry;
+import com.carrent.model.Money;
 import com.carrent.model.Rental;
+import com.carrent.model.RentalSnapshot;
 import java.io.*;
 import java.net.URISyntaxException;
-import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -20,21 +36,101 @@ import java.util.stream.Collectors;
  * This repository class handles all data access operations for rentals
  * using the Repository pattern and CSV file storage.
  * 
+ * Queries share the read lock. Every change, including the rewrite of the
+ * CSV file, holds the write lock, so the file never interleaves two saves.
+ * 
+ * Every change also replaces the rental's immutable snapshot, so snapshot
+ * lookups by ID never lock. The full snapshot list is assembled from those
+ * on the first call after a change and shared until the next one.
+ * 
+ * Status and end date changes go through the setActive and changeEndDate
+ * commands, which change only their own fields under the write lock. The
+ * finders still return the stored Rental instances, which the views and
+ * services are built on.
+ * 
  * @author Car Rental Team
  * @version 1.0
  */
 public class RentalRepository {
     
     private static final String RENTALS_FILE = "data/rentals.csv";
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // Rentals copied per read lock hold while walking the start date index
+    private static final int FOR_EACH_CHUNK = 512;
     private final List<Rental> rentals;
+    // Lookup indexes kept in step with the list
+    private final Map<String, Rental> rentalsById = new HashMap<>();
+    private final Map<String, List<Rental>> rentalsByVehicle = new HashMap<>();
+    private final NavigableMap<LocalDate, List<Rental>> rentalsByStartDate = new TreeMap<>();
+    private final Map<Integer, List<Rental>> rentalsByCustomer = new HashMap<>();
+    // By the rental's own customer name, lower-cased; one phone may have been booked under several names
+    private final Map<String, List<Rental>> rentalsByCustomerName = new HashMap<>();
+    private final CustomerRepository customers;
+    // Directory holding the CSV file, null for the bundled resources
+    private final Path dataDirectory;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<RepositoryListener<Rental>> listeners = new CopyOnWriteArrayList<>();
+    // File load split into I/O and parsing, and snapshot rebuilds after changes
+    private final LatencyHistogram loadReadTime = METRICS.histogram("rentalRepository.load.read");
+    private final LatencyHistogram loadParseTime = METRICS.histogram("rentalRepository.load.parse");
+    private final Counter loadRows = METRICS.counter("rentalRepository.load.rows");
+    private final Counter loadParseErrors = METRICS.counter("rentalRepository.load.parseErrors");
+    private final Counter snapshotRebuilds = METRICS.counter("rentalRepository.snapshotRebuilds");
+    // Latency of each operation, including lock waits but not listener callbacks
+    private final LatencyHistogram saveRentalsToFileTime = METRICS.histogram("rentalRepository.saveRentalsToFile");
+    private final LatencyHistogram findAllTime = METRICS.histogram("rentalRepository.findAll");
+    private final LatencyHistogram findByIdTime = METRICS.histogram("rentalRepository.findById");
+    private final LatencyHistogram findActiveRentalsTime = METRICS.histogram("rentalRepository.findActiveRentals");
+    private final LatencyHistogram findByVehicleIdTime = METRICS.histogram("rentalRepository.findByVehicleId");
+    private final LatencyHistogram findByCustomerIdTime = METRICS.histogram("rentalRepository.findByCustomerId");
+    private final LatencyHistogram findByCustomerNameTime = METRICS.histogram("rentalRepository.findByCustomerName");
+    private final LatencyHistogram findActiveRentalByVehicleIdTime = METRICS.histogram("rentalRepository.findActiveRentalByVehicleId");
+    private final LatencyHistogram saveTime = METRICS.histogram("rentalRepository.save");
+    private final LatencyHistogram updateTime = METRICS.histogram("rentalRepository.update");
+    private final LatencyHistogram setActiveTime = METRICS.histogram("rentalRepository.setActive");
+    private final LatencyHistogram changeEndDateTime = METRICS.histogram("rentalRepository.changeEndDate");
+    private final LatencyHistogram snapshotAllTime = METRICS.histogram("rentalRepository.snapshotAll");
+    private final LatencyHistogram snapshotByIdTime = METRICS.histogram("rentalRepository.snapshotById");
+    private final LatencyHistogram deleteByIdTime = METRICS.histogram("rentalRepository.deleteById");
+    private final LatencyHistogram forEachTime = METRICS.histogram("rentalRepository.forEach");
+    private final LatencyHistogram countTime = METRICS.histogram("rentalRepository.count");
+    // Highest numeric rental ID handed out so far; IDs are reserved atomically
+    private final AtomicInteger lastIdNumber = new AtomicInteger();
+    // Snapshot of each stored rental, replaced under the write lock by every change
+    private final Map<String, RentalSnapshot> snapshotsById = new ConcurrentHashMap<>();
+    // Snapshots in stored order, null after a change until the next snapshotAll
+    private volatile List<RentalSnapshot> snapshotList;
     
     /**
-     * Constructor - loads rentals from CSV file
+     * Constructor - loads rentals and customers from the bundled CSV files
      */
     public RentalRepository() {
+        this(new CustomerRepository());
+    }
+    
+    /**
+     * Constructor - loads rentals and customers from a data directory
+     * 
+     * @param dataDirectory directory holding the data/ CSV files, or null for the bundled files
+     */
+    public RentalRepository(Path dataDirectory) {
+        this(new CustomerRepository(dataDirectory));
+    }
+    
+    /**
+     * Constructor with dependency injection - loads rentals from the CSV file
+     * next to the customers' file
+     * 
+     * @param customers repository the rentals' customers are linked to
+     */
+    public RentalRepository(CustomerRepository customers) {
+        this.customers = customers;
+        this.dataDirectory = customers.getDataDirectory();
         this.rentals = new ArrayList<>();
         loadRentalsFromFile();
+        // Read without the lock; a gauge only needs an approximate value
+        METRICS.gauge("rentalRepository.size", rentals::size);
     }
     
     /**
@@ -42,49 +138,69 @@ public class RentalRepository {
      */
     private void loadRentalsFromFile() {
         try {
-            URL resource = getClass().getClassLoader().getResource(RENTALS_FILE);
-            if (resource == null) {
-                System.err.println("Could not find " + RENTALS_FILE + " in resources");
+            Path path = DataFiles.forReading(dataDirectory, RENTALS_FILE);
+            if (path == null) {
                 return;
             }
-            
-            Path path = Paths.get(resource.toURI());
+            long readStart = System.nanoTime();
             List<String> lines = Files.readAllLines(path);
+            loadReadTime.recordSince(readStart);
+            int customerCount = customers.count();
+            StringDictionary strings = new StringDictionary();
+            Map<String, LocalDate> dates = new HashMap<>();
             
             // Skip header line
+            long parseStart = System.nanoTime();
             for (int i = 1; i < lines.size(); i++) {
                 String line = lines.get(i).trim();
                 if (!line.isEmpty()) {
-                    Rental rental = parseRentalFromCsv(line);
-                    if (rental != null) {
+                    Rental rental = parseRentalFromCsv(line, strings, dates);
+                    if (rental == null) {
+                        loadParseErrors.increment();
+                    } else if (!rentalsById.containsKey(rental.getId())) {
+                        linkCustomer(rental, false);
                         rentals.add(rental);
+                        index(rental);
+                        snapshotsById.put(rental.getId(), RentalSnapshot.of(rental));
+                        trackIdNumber(rental.getId());
                     }
                 }
             }
             
+            if (customerCount != customers.count()) {
+                customers.saveCustomersToFile(); // Rentals from before the customer file
+            }
+            loadParseTime.recordSince(parseStart);
+            loadRows.add(Math.max(lines.size() - 1, 0));
             System.out.println("Loaded " + rentals.size() + " rentals from file");
+            System.out.println(strings.report("Rental vehicle IDs and customers") + ", "
+                + dates.size() + " distinct dates");
             
         } catch (IOException | URISyntaxException e) {
             System.err.println("Error loading rentals from file: " + e.getMessage());
         }
-    }    /**
+    }
+    
+    /**
      * Parse a rental from CSV line
+     * Repeated vehicle IDs and customer fields share one instance each, and each
+     * distinct date is parsed only once.
      */
-    private Rental parseRentalFromCsv(String csvLine) {
+    private Rental parseRentalFromCsv(String csvLine, StringDictionary strings, Map<String, LocalDate> dates) {
         try {
             String[] parts = csvLine.split(",");
             if (parts.length >= 7) {
                 String id = parts[0].trim();
-                String vehicleId = parts[1].trim();
-                String customerName = parts[2].trim();
-                String customerPhone = parts[3].trim();
-                LocalDate startDate = LocalDate.parse(parts[4].trim(), DATE_FORMATTER);
-                LocalDate endDate = LocalDate.parse(parts[5].trim(), DATE_FORMATTER);
-                double totalCost = Double.parseDouble(parts[6].trim());
+                String vehicleId = strings.canonical(parts[1].trim());
+                String customerName = strings.canonical(parts[2].trim());
+                String customerPhone = strings.canonical(parts[3].trim());
+                LocalDate startDate = parseDate(parts[4].trim(), dates);
+                LocalDate endDate = parseDate(parts[5].trim(), dates);
+                long totalCostCents = Money.parse(parts[6]);
                 
                 // Use constructor that doesn't validate for new rentals when loading existing data
                 Rental rental = new Rental(id, vehicleId, customerName, customerPhone, startDate, endDate, false);
-                rental.setTotalCost(totalCost);
+                rental.setTotalCostCents(totalCostCents);
                 
                 // Check if IsActive column exists (8th column)
                 if (parts.length >= 8) {
@@ -103,40 +219,55 @@ public class RentalRepository {
         return null;
     }
     
+    private static LocalDate parseDate(String text, Map<String, LocalDate> dates) {
+        LocalDate date = dates.get(text);
+        if (date == null) {
+            date = LocalDate.parse(text, DATE_FORMATTER);
+            dates.put(text, date);
+        }
+        return date;
+    }
+    
     /**
      * Save rentals to CSV file
      */
     public void saveRentalsToFile() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
         try {
-            URL resource = getClass().getClassLoader().getResource(RENTALS_FILE);
-            if (resource == null) {
-                System.err.println("Could not find " + RENTALS_FILE + " in resources");
+            Path path = DataFiles.forWriting(dataDirectory, RENTALS_FILE);
+            if (path == null) {
                 return;
             }
-            
-            Path path = Paths.get(resource.toURI());
-              List<String> lines = new ArrayList<>();
-            lines.add("ID,VehicleID,CustomerName,CustomerPhone,StartDate,EndDate,TotalCost,IsActive");
-            
-            for (Rental rental : rentals) {
-                String line = String.format("%s,%s,%s,%s,%s,%s,%.2f,%s",
-                    rental.getId(),
-                    rental.getVehicleId(),
-                    rental.getCustomerName(),
-                    rental.getCustomerPhone(),
-                    rental.getStartDate().format(DATE_FORMATTER),
-                    rental.getEndDate().format(DATE_FORMATTER),
-                    rental.getTotalCost(),
-                    rental.isActive()
-                );
-                lines.add(line);
+            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+                writer.write("ID,VehicleID,CustomerName,CustomerPhone,StartDate,EndDate,TotalCost,IsActive");
+                writer.newLine();
+                
+                // One reused line buffer; cents are formatted without String.format
+                StringBuilder line = new StringBuilder(128);
+                for (Rental rental : rentals) {
+                    line.setLength(0);
+                    line.append(rental.getId()).append(',')
+                        .append(rental.getVehicleId()).append(',')
+                        .append(rental.getCustomerName()).append(',')
+                        .append(rental.getCustomerPhone()).append(',');
+                    DATE_FORMATTER.formatTo(rental.getStartDate(), line);
+                    line.append(',');
+                    DATE_FORMATTER.formatTo(rental.getEndDate(), line);
+                    line.append(',');
+                    Money.appendTo(line, rental.getTotalCostCents()).append(',').append(rental.isActive());
+                    writer.append(line);
+                    writer.newLine();
+                }
             }
-              Files.write(path, lines);
             System.out.println("Saved " + rentals.size() + " rentals to file: " + path);
             
         } catch (IOException | URISyntaxException e) {
             System.err.println("Error saving rentals to file: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+            saveRentalsToFileTime.recordSince(start);
         }
     }
     
@@ -146,7 +277,14 @@ public class RentalRepository {
      * @return list of all rentals
      */
     public List<Rental> findAll() {
-        return new ArrayList<>(rentals);
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(rentals);
+        } finally {
+            lock.readLock().unlock();
+            findAllTime.recordSince(start);
+        }
     }
     
     /**
@@ -156,10 +294,14 @@ public class RentalRepository {
      * @return rental if found, null otherwise
      */
     public Rental findById(String id) {
-        return rentals.stream()
-                .filter(rental -> rental.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return rentalsById.get(id);
+        } finally {
+            lock.readLock().unlock();
+            findByIdTime.recordSince(start);
+        }
     }
     
     /**
@@ -168,9 +310,16 @@ public class RentalRepository {
      * @return list of active rentals
      */
     public List<Rental> findActiveRentals() {
-        return rentals.stream()
-                .filter(Rental::isActive)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return rentals.stream()
+                    .filter(Rental::isActive)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+            findActiveRentalsTime.recordSince(start);
+        }
     }
     
     /**
@@ -180,9 +329,53 @@ public class RentalRepository {
      * @return list of rentals for the vehicle
      */
     public List<Rental> findByVehicleId(String vehicleId) {
-        return rentals.stream()
-                .filter(rental -> rental.getVehicleId().equals(vehicleId))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(rentalsByVehicle.getOrDefault(vehicleId, Collections.emptyList()));
+        } finally {
+            lock.readLock().unlock();
+            findByVehicleIdTime.recordSince(start);
+        }
+    }
+    
+    /**
+     * Find rentals by customer ID
+     * 
+     * @param customerId customer ID from the customer repository
+     * @return list of the customer's rentals
+     */
+    public List<Rental> findByCustomerId(int customerId) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(rentalsByCustomer.getOrDefault(customerId, Collections.emptyList()));
+        } finally {
+            lock.readLock().unlock();
+            findByCustomerIdTime.recordSince(start);
+        }
+    }
+    
+    /**
+     * Find rentals booked under a customer name, ignoring case
+     * Matches the name on each rental, not the stored customer's name.
+     * 
+     * @param customerName customer name to search for
+     * @return matching rentals in the order they were saved
+     */
+    public List<Rental> findByCustomerName(String customerName) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(rentalsByCustomerName.getOrDefault(nameKey(customerName), Collections.emptyList()));
+        } finally {
+            lock.readLock().unlock();
+            findByCustomerNameTime.recordSince(start);
+        }
+    }
+    
+    public CustomerRepository getCustomerRepository() {
+        return customers;
     }
     
     /**
@@ -192,10 +385,17 @@ public class RentalRepository {
      * @return active rental if found, null otherwise
      */
     public Rental findActiveRentalByVehicleId(String vehicleId) {
-        return rentals.stream()
-                .filter(rental -> rental.getVehicleId().equals(vehicleId) && rental.isActive())
-                .findFirst()
-                .orElse(null);
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return rentalsByVehicle.getOrDefault(vehicleId, Collections.emptyList()).stream()
+                    .filter(Rental::isActive)
+                    .findFirst()
+                    .orElse(null);
+        } finally {
+            lock.readLock().unlock();
+            findActiveRentalByVehicleIdTime.recordSince(start);
+        }
     }
     
     /**
@@ -205,12 +405,24 @@ public class RentalRepository {
      * @return true if saved successfully
      */
     public boolean save(Rental rental) {
-        if (rental == null || findById(rental.getId()) != null) {
-            return false; // Rental already exists or is null
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (rental == null || rentalsById.containsKey(rental.getId())) {
+                return false; // Rental already exists or is null
+            }
+            
+            linkCustomer(rental, true);
+            rentals.add(rental);
+            index(rental);
+            trackIdNumber(rental.getId());
+            changed(rental);
+            saveRentalsToFile();
+        } finally {
+            lock.writeLock().unlock();
+            saveTime.recordSince(start);
         }
-        
-        rentals.add(rental);
-        saveRentalsToFile();
+        listeners.forEach(listener -> listener.onAdded(rental));
         return true;
     }
     
@@ -225,14 +437,152 @@ public class RentalRepository {
             return false;
         }
         
-        for (int i = 0; i < rentals.size(); i++) {
-            if (rentals.get(i).getId().equals(rental.getId())) {
-                rentals.set(i, rental);
-                saveRentalsToFile();
-                return true;
+        boolean updated = false;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < rentals.size(); i++) {
+                if (rentals.get(i).getId().equals(rental.getId())) {
+                    unindex(rentals.get(i));
+                    linkCustomer(rental, true);
+                    rentals.set(i, rental);
+                    index(rental);
+                    changed(rental);
+                    saveRentalsToFile();
+                    updated = true;
+                    break;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+            updateTime.recordSince(start);
+        }
+        if (updated) {
+            listeners.forEach(listener -> listener.onUpdated(rental));
+        }
+        return updated;
+    }
+    
+    /**
+     * Mark a stored rental as active or completed
+     * Only the status changes, so a concurrent change of other fields is kept.
+     * 
+     * @param id rental ID
+     * @param active new status
+     * @return true if the rental exists and was updated
+     */
+    public boolean setActive(String id, boolean active) {
+        Rental stored;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            stored = rentalsById.get(id);
+            if (stored == null) {
+                return false;
             }
+            stored.setActive(active);
+            changed(stored);
+            saveRentalsToFile();
+        } finally {
+            lock.writeLock().unlock();
+            setActiveTime.recordSince(start);
         }
-        return false;
+        listeners.forEach(listener -> listener.onUpdated(stored));
+        return true;
+    }
+    
+    /**
+     * Move the end date of a stored rental, e.g. for an extension or early return
+     * Rentals that have already started may be changed; only an end date before
+     * the start date is rejected. Both values are checked before anything changes,
+     * so a rejected change leaves the rental, the file and the snapshots as they were.
+     * 
+     * @param id rental ID
+     * @param endDate new end date
+     * @param totalCostCents total cost for the new period in cents
+     * @return true if the rental exists and was updated
+     * @throws IllegalArgumentException if the end date is missing or before the start date,
+     *                                  or the cost is negative
+     */
+    public boolean changeEndDate(String id, LocalDate endDate, long totalCostCents) {
+        if (endDate == null) {
+            throw new IllegalArgumentException("End date cannot be null");
+        }
+        if (totalCostCents < 0) {
+            throw new IllegalArgumentException("Total cost cannot be negative");
+        }
+        Rental stored;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            stored = rentalsById.get(id);
+            if (stored == null) {
+                return false;
+            }
+            stored.setEndDate(endDate, false);
+            stored.setTotalCostCents(totalCostCents);
+            changed(stored);
+            saveRentalsToFile();
+        } finally {
+            lock.writeLock().unlock();
+            changeEndDateTime.recordSince(start);
+        }
+        listeners.forEach(listener -> listener.onUpdated(stored));
+        return true;
+    }
+    
+    /**
+     * Get immutable snapshots of all rentals
+     * The list is shared between callers until the next change and must not be copied
+     * defensively; it is assembled from the per-rental snapshots on the first call
+     * after a change.
+     * 
+     * @return unmodifiable list of snapshots in stored order
+     */
+    public List<RentalSnapshot> snapshotAll() {
+        long start = System.nanoTime();
+        List<RentalSnapshot> list = snapshotList;
+        if (list == null) {
+            lock.readLock().lock();
+            try {
+                // Writers clear the field under the write lock, so this build sees a stable list
+                list = snapshotList;
+                if (list == null) {
+                    snapshotRebuilds.increment();
+                    RentalSnapshot[] copies = new RentalSnapshot[rentals.size()];
+                    for (int i = 0; i < copies.length; i++) {
+                        copies[i] = snapshotsById.get(rentals.get(i).getId());
+                    }
+                    list = List.of(copies);
+                    snapshotList = list;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        snapshotAllTime.recordSince(start);
+        return list;
+    }
+    
+    /**
+     * Get an immutable snapshot of one rental without locking
+     * 
+     * @param id rental ID
+     * @return snapshot, or null if no such rental
+     */
+    public RentalSnapshot snapshotById(String id) {
+        long start = System.nanoTime();
+        RentalSnapshot snapshot = id == null ? null : snapshotsById.get(id);
+        snapshotByIdTime.recordSince(start);
+        return snapshot;
+    }
+    
+    /**
+     * Replace a changed rental's snapshot; callers hold the write lock
+     */
+    private void changed(Rental rental) {
+        snapshotsById.put(rental.getId(), RentalSnapshot.of(rental));
+        snapshotList = null;
     }
     
     /**
@@ -242,11 +592,157 @@ public class RentalRepository {
      * @return true if deleted successfully
      */
     public boolean deleteById(String id) {
-        boolean removed = rentals.removeIf(rental -> rental.getId().equals(id));
-        if (removed) {
+        Rental removed;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            removed = rentalsById.get(id);
+            if (removed == null) {
+                return false;
+            }
+            rentals.remove(removed);
+            unindex(removed);
+            snapshotsById.remove(id);
+            snapshotList = null;
             saveRentalsToFile();
+        } finally {
+            lock.writeLock().unlock();
+            deleteByIdTime.recordSince(start);
+        }
+        listeners.forEach(listener -> listener.onRemoved(removed));
+        return true;
+    }
+    
+    /**
+     * Visit the rentals matching a filter without copying them all
+     * A vehicle filter walks a copy of that vehicle's rentals. Otherwise the start
+     * date index is walked in order, a chunk of whole days at a time: each chunk is
+     * copied under the read lock and visited after releasing it, so bookings and
+     * returns only wait for one chunk copy, and the action may itself change rentals.
+     * Rentals changed while the walk is under way may or may not be visited.
+     * 
+     * @param filter rentals to visit
+     * @param action action run for each matching rental
+     */
+    public void forEach(RentalFilter filter, Consumer<Rental> action) {
+        long start = System.nanoTime();
+        try {
+            if (filter.getVehicleId() != null) {
+                List<Rental> matching = new ArrayList<>();
+                lock.readLock().lock();
+                try {
+                    for (Rental rental : rentalsByVehicle.getOrDefault(filter.getVehicleId(), Collections.emptyList())) {
+                        if (filter.matches(rental)) {
+                            matching.add(rental);
+                        }
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                matching.forEach(action);
+                return;
+            }
+            
+            Rental[] chunk = new Rental[FOR_EACH_CHUNK];
+            LocalDate from = filter.getStartFrom();
+            boolean fromInclusive = true;
+            while (true) {
+                int count = 0;
+                lock.readLock().lock();
+                try {
+                    LocalDate to = filter.getStartTo();
+                    NavigableMap<LocalDate, List<Rental>> range;
+                    if (from == null) {
+                        range = to == null ? rentalsByStartDate : rentalsByStartDate.headMap(to, true);
+                    } else {
+                        // The cursor never passes the end of the range, so subMap is always valid
+                        range = to == null ? rentalsByStartDate.tailMap(from, fromInclusive)
+                                : rentalsByStartDate.subMap(from, fromInclusive, to, true);
+                    }
+                    for (Map.Entry<LocalDate, List<Rental>> day : range.entrySet()) {
+                        List<Rental> sameDay = day.getValue();
+                        if (count > 0 && count + sameDay.size() > chunk.length) {
+                            break; // Resume at this day with the next chunk
+                        }
+                        if (sameDay.size() > chunk.length) {
+                            chunk = new Rental[sameDay.size()];
+                        }
+                        for (Rental rental : sameDay) {
+                            chunk[count++] = rental;
+                        }
+                        from = day.getKey();
+                        fromInclusive = false;
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                if (count == 0) {
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    action.accept(chunk[i]);
+                    chunk[i] = null;
+                }
+            }
+        } finally {
+            forEachTime.recordSince(start);
+        }
+    }
+    
+    /**
+     * Point a rental at its stored customer, sharing the customer's strings where they match
+     */
+    private void linkCustomer(Rental rental, boolean persist) {
+        Customer customer = persist
+                ? customers.findOrCreate(rental.getCustomerName(), rental.getCustomerPhone())
+                : customers.register(rental.getCustomerName(), rental.getCustomerPhone());
+        if (customer == null) {
+            rental.setCustomerId(0);
+            return;
+        }
+        rental.setCustomerId(customer.getId());
+        if (customer.getName().equals(rental.getCustomerName())) {
+            rental.setCustomerName(customer.getName());
+        }
+        if (customer.getPhone().equals(rental.getCustomerPhone())) {
+            rental.setCustomerPhone(customer.getPhone());
+        }
+    }
+    
+    private void index(Rental rental) {
+        rentalsById.put(rental.getId(), rental);
+        if (rental.getCustomerId() != 0) {
+            rentalsByCustomer.computeIfAbsent(rental.getCustomerId(), key -> new ArrayList<>()).add(rental);
+        }
+        if (rental.getCustomerName() != null) {
+            rentalsByCustomerName.computeIfAbsent(nameKey(rental.getCustomerName()), key -> new ArrayList<>()).add(rental);
+        }
+        rentalsByVehicle.computeIfAbsent(rental.getVehicleId(), key -> new ArrayList<>()).add(rental);
+        rentalsByStartDate.computeIfAbsent(rental.getStartDate(), key -> new ArrayList<>()).add(rental);
+    }
+    
+    private void unindex(Rental rental) {
+        rentalsById.remove(rental.getId());
+        removeFrom(rentalsByVehicle, rental.getVehicleId(), rental);
+        removeFrom(rentalsByStartDate, rental.getStartDate(), rental);
+        removeFrom(rentalsByCustomer, rental.getCustomerId(), rental);
+        if (rental.getCustomerName() != null) {
+            removeFrom(rentalsByCustomerName, nameKey(rental.getCustomerName()), rental);
+        }
+    }
+    
+    private static String nameKey(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static <K> void removeFrom(Map<K, List<Rental>> index, K key, Rental rental) {
+        List<Rental> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.removeIf(candidate -> candidate.getId().equals(rental.getId()));
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
         }
-        return removed;
     }
     
     /**
@@ -255,25 +751,53 @@ public class RentalRepository {
      * @return total count of rentals
      */
     public int count() {
-        return rentals.size();
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return rentals.size();
+        } finally {
+            lock.readLock().unlock();
+            countTime.recordSince(start);
+        }
+    }
+    
+    /**
+     * Register a listener for rental changes
+     * 
+     * @param listener listener to notify after each save, update or delete
+     */
+    public void addListener(RepositoryListener<Rental> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregister a listener
+     * 
+     * @param listener listener to remove
+     */
+    public void removeListener(RepositoryListener<Rental> listener) {
+        listeners.remove(listener);
     }
     
     /**
      * Generate next rental ID
+     * Each call reserves a new ID, so concurrent bookings never receive the same one.
      * 
      * @return next available rental ID
      */
     public String generateNextId() {
-        int maxId = rentals.stream()
-                .mapToInt(rental -> {
-                    try {
-                        return Integer.parseInt(rental.getId().substring(1));
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
-        return String.format("R%03d", maxId + 1);
+        return String.format("R%03d", lastIdNumber.incrementAndGet());
+    }
+    
+    /**
+     * Keep the ID sequence ahead of IDs loaded from file or saved by callers
+     */
+    private void trackIdNumber(String id) {
+        try {
+            int number = Integer.parseInt(id.substring(1));
+            lastIdNumber.accumulateAndGet(number, Math::max);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // Non-numeric IDs do not take part in the sequence
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.carrent.repository;
+
+/**
+ * Listener notified of changes to a repository's contents
+ *
+ * Callbacks run on the thread that made the change, after the repository
+ * lock has been released, so they may read from the repository but should
+ * hand any slow or UI work to another thread.
+ *
+ * @param <T> type of the stored items
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public interface RepositoryListener<T> {
+
+    /**
+     * Called after an item has been saved
+     *
+     * @param item the new item
+     */
+    default void onAdded(T item) {
+    }
+
+    /**
+     * Called after an item has been updated
+     *
+     * @param item the item in its updated state
+     */
+    default void onUpdated(T item) {
+    }
+
+    /**
+     * Called after an item has been deleted
+     *
+     * @param item the removed item
+     */
+    default void onRemoved(T item) {
+    }
+}
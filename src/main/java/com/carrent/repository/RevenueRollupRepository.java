@@ -0,0 +1,285 @@
+package com.carrent.repository;
+
+import com.carrent.model.Money;
+import com.carrent.model.RevenueRollup;
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Revenue Rollup Repository class for the materialized revenue tables
+ *
+ * Keeps revenue per day (keyed by epoch day) and per month, each split by
+ * vehicle type, in sorted maps so any time window is read as a key range.
+ * Both tables are stored in one CSV file next to the rental data.
+ *
+ * Range reads share the read lock; recording a change and rewriting the
+ * file happen together under the write lock.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RevenueRollupRepository {
+
+    private static final String ROLLUPS_FILE = "data/revenue_rollups.csv";
+    private static final String DAY = "DAY";
+    private static final String MONTH = "MONTH";
+
+    // Per period and vehicle type: {completed cents, active cents, rentals}
+    private final NavigableMap<Long, Map<String, long[]>> daily = new TreeMap<>();
+    private final NavigableMap<YearMonth, Map<String, long[]>> monthly = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Directory holding the CSV file, null for the bundled resources
+    private final Path dataDirectory;
+
+    /**
+     * Constructor - loads rollups from the bundled CSV file
+     */
+    public RevenueRollupRepository() {
+        this(null);
+    }
+
+    /**
+     * Constructor - loads rollups from a data directory
+     *
+     * @param dataDirectory directory holding data/revenue_rollups.csv, or null for the bundled file
+     */
+    public RevenueRollupRepository(Path dataDirectory) {
+        this.dataDirectory = dataDirectory;
+        loadRollupsFromFile();
+    }
+
+    /**
+     * Load rollups from CSV file
+     */
+    private void loadRollupsFromFile() {
+        try {
+            Path path = DataFiles.forReading(dataDirectory, ROLLUPS_FILE);
+            if (path == null) {
+                return;
+            }
+            List<String> lines = Files.readAllLines(path);
+
+            // Skip header line
+            for (int i = 1; i < lines.size(); i++) {
+                String line = lines.get(i).trim();
+                if (!line.isEmpty()) {
+                    parseRollupFromCsv(line);
+                }
+            }
+
+            System.out.println("Loaded " + daily.size() + " daily and " + monthly.size() + " monthly revenue rollups");
+
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Error loading revenue rollups from file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parse one rollup row into the matching table
+     */
+    private void parseRollupFromCsv(String csvLine) {
+        try {
+            String[] parts = csvLine.split(",");
+            if (parts.length >= 6) {
+                long[] totals = {
+                    Money.parse(parts[3]),
+                    Money.parse(parts[4]),
+                    Long.parseLong(parts[5].trim())
+                };
+                String vehicleType = parts[2].trim();
+                if (DAY.equals(parts[0].trim())) {
+                    long day = LocalDate.parse(parts[1].trim()).toEpochDay();
+                    daily.computeIfAbsent(day, key -> new TreeMap<>()).put(vehicleType, totals);
+                } else if (MONTH.equals(parts[0].trim())) {
+                    YearMonth month = YearMonth.parse(parts[1].trim());
+                    monthly.computeIfAbsent(month, key -> new TreeMap<>()).put(vehicleType, totals);
+                }
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            System.err.println("Error parsing revenue rollup line: " + csvLine + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Save rollups to CSV file
+     */
+    public void saveRollupsToFile() {
+        lock.writeLock().lock();
+        try {
+            Path path = DataFiles.forWriting(dataDirectory, ROLLUPS_FILE);
+            if (path == null) {
+                return;
+            }
+            List<String> lines = new ArrayList<>();
+            lines.add("Granularity,Period,VehicleType,CompletedRevenue,ActiveRevenue,Rentals");
+            for (Map.Entry<Long, Map<String, long[]>> day : daily.entrySet()) {
+                addLines(lines, DAY, LocalDate.ofEpochDay(day.getKey()).toString(), day.getValue());
+            }
+            for (Map.Entry<YearMonth, Map<String, long[]>> month : monthly.entrySet()) {
+                addLines(lines, MONTH, month.getKey().toString(), month.getValue());
+            }
+            Files.write(path, lines);
+
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Error saving revenue rollups to file: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addLines(List<String> lines, String granularity, String period, Map<String, long[]> byType) {
+        for (Map.Entry<String, long[]> entry : byType.entrySet()) {
+            long[] totals = entry.getValue();
+            StringBuilder line = new StringBuilder(64);
+            line.append(granularity).append(',').append(period).append(',').append(entry.getKey()).append(',');
+            Money.appendTo(line, totals[0]).append(',');
+            Money.appendTo(line, totals[1]).append(',').append(totals[2]);
+            lines.add(line.toString());
+        }
+    }
+
+    /**
+     * Apply a revenue change to the day and month a rental started in
+     *
+     * @param startDate rental start date
+     * @param vehicleType type of the rented vehicle
+     * @param completedCents change in completed revenue, in cents
+     * @param activeCents change in active revenue, in cents
+     * @param rentals change in the number of rentals
+     */
+    public void record(LocalDate startDate, String vehicleType, long completedCents, long activeCents, int rentals) {
+        lock.writeLock().lock();
+        try {
+            apply(startDate, vehicleType, completedCents, activeCents, rentals);
+            saveRollupsToFile();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace both tables, e.g. after rebuilding them from the rental history
+     *
+     * @param source rollups to apply, one entry per rental
+     */
+    public void replaceAll(List<Entry> source) {
+        lock.writeLock().lock();
+        try {
+            daily.clear();
+            monthly.clear();
+            for (Entry entry : source) {
+                apply(entry.startDate, entry.vehicleType, entry.completedCents, entry.activeCents, 1);
+            }
+            saveRollupsToFile();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(LocalDate startDate, String vehicleType, long completedCents, long activeCents, int rentals) {
+        add(daily.computeIfAbsent(startDate.toEpochDay(), key -> new TreeMap<>()),
+            vehicleType, completedCents, activeCents, rentals);
+        add(monthly.computeIfAbsent(YearMonth.from(startDate), key -> new TreeMap<>()),
+            vehicleType, completedCents, activeCents, rentals);
+    }
+
+    private static void add(Map<String, long[]> byType, String vehicleType,
+                            long completedCents, long activeCents, int rentals) {
+        long[] totals = byType.computeIfAbsent(vehicleType, key -> new long[3]);
+        totals[0] += completedCents;
+        totals[1] += activeCents;
+        totals[2] += rentals;
+    }
+
+    /**
+     * Find the daily rollups in a date range
+     *
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return one rollup per day and vehicle type, in date order
+     */
+    public List<RevenueRollup> findDaily(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<RevenueRollup> result = new ArrayList<>();
+            for (Map.Entry<Long, Map<String, long[]>> day
+                    : daily.subMap(from.toEpochDay(), true, to.toEpochDay(), true).entrySet()) {
+                addRollups(result, LocalDate.ofEpochDay(day.getKey()).toString(), day.getValue());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the monthly rollups in a month range
+     *
+     * @param from first month, inclusive
+     * @param to last month, inclusive
+     * @return one rollup per month and vehicle type, in month order
+     */
+    public List<RevenueRollup> findMonthly(YearMonth from, YearMonth to) {
+        lock.readLock().lock();
+        try {
+            List<RevenueRollup> result = new ArrayList<>();
+            for (Map.Entry<YearMonth, Map<String, long[]>> month : monthly.subMap(from, true, to, true).entrySet()) {
+                addRollups(result, month.getKey().toString(), month.getValue());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addRollups(List<RevenueRollup> result, String period, Map<String, long[]> byType) {
+        for (Map.Entry<String, long[]> entry : byType.entrySet()) {
+            long[] totals = entry.getValue();
+            result.add(new RevenueRollup(period, entry.getKey(), totals[0], totals[1], (int) totals[2]));
+        }
+    }
+
+    /**
+     * Check whether any rollups are stored
+     *
+     * @return true if both tables are empty
+     */
+    public boolean isEmpty() {
+        lock.readLock().lock();
+        try {
+            return daily.isEmpty() && monthly.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One rental's contribution, used when rebuilding the tables
+     */
+    public static final class Entry {
+        final LocalDate startDate;
+        final String vehicleType;
+        final long completedCents;
+        final long activeCents;
+
+        public Entry(LocalDate startDate, String vehicleType, long completedCents, long activeCents) {
+            this.startDate = startDate;
+            this.vehicleType = vehicleType;
+            this.completedCents = completedCents;
+            this.activeCents = activeCents;
+        }
+    }
+}
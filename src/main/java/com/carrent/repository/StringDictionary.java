@@ -0,0 +1,76 @@
+package com.carrent.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load-time dictionary that maps equal strings to one shared instance
+ *
+ * Every field split out of a CSV line is a new String, even when thousands
+ * of rows hold the same make, model or vehicle ID. Passing such fields through
+ * a dictionary while loading keeps only the first instance of each value, so
+ * the copies can be collected; String.equals then also succeeds on its
+ * identity check for the shared values. The dictionary is meant to be
+ * dropped once the load is done.
+ *
+ * Not thread-safe.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+class StringDictionary {
+
+    private final Map<String, String> values = new HashMap<>();
+    private long lookups;
+    private long bytesSeen;
+    private long bytesKept;
+
+    /**
+     * Get the shared instance of a value
+     *
+     * @param value value read from a file, may be null
+     * @return the first equal value passed in, or null
+     */
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups++;
+        long size = estimateSize(value);
+        bytesSeen += size;
+        String shared = values.putIfAbsent(value, value);
+        if (shared == null) {
+            bytesKept += size;
+            return value;
+        }
+        return shared;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Describe the effect of the dictionary, e.g. for the load log
+     *
+     * @param label what was loaded
+     * @return one-line memory report
+     */
+    String report(String label) {
+        return String.format("%s: %d string fields, %d distinct, ~%d KB before and ~%d KB after deduplication",
+            label, lookups, values.size(), bytesSeen / 1024, bytesKept / 1024);
+    }
+
+    /**
+     * Approximate heap size of a string on a 64-bit JVM with compressed oops
+     * and compact strings: the String object plus its byte array
+     */
+    static long estimateSize(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        long arrayBytes = 16 + (long) value.length() * (latin1 ? 1 : 2);
+        return 24 + ((arrayBytes + 7) & ~7L);
+    }
+}
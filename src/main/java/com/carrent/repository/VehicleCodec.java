@@ -0,0 +1,54 @@
+package com.carrent.repository;
+
+import com.carrent.model.Vehicle;
+import java.util.function.UnaryOperator;
+
+/**
+ * Codec for one vehicle type in the vehicles CSV file
+ *
+ * Every row starts with the common columns (ID, Make, Model, DailyRate,
+ * IsAvailable) followed by the type tag. The codec owns the columns after the
+ * tag: it writes the subtype fields when saving and builds the right subclass
+ * when loading, so the repository never instantiates vehicles reflectively.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public interface VehicleCodec {
+
+    /**
+     * Tag written in the Type column, e.g. "Motorcycle"
+     *
+     * @return type tag, without commas
+     */
+    String getTag();
+
+    /**
+     * Exact class this codec writes
+     *
+     * @return vehicle class
+     */
+    Class<? extends Vehicle> getType();
+
+    /**
+     * Append the subtype columns, each preceded by a comma
+     *
+     * @param line line being written, already holding the common columns and tag
+     * @param vehicle vehicle of this codec's type
+     */
+    void appendFields(StringBuilder line, Vehicle vehicle);
+
+    /**
+     * Build a vehicle from its common fields and subtype columns
+     *
+     * @param id vehicle ID
+     * @param make manufacturer
+     * @param model model name
+     * @param parts all columns of the row
+     * @param offset index of the first subtype column; may equal parts.length
+     * @param strings canonicalizes repeated strings while loading
+     * @return new vehicle; the caller sets rate and availability
+     * @throws IllegalArgumentException if a subtype column is malformed
+     */
+    Vehicle create(String id, String make, String model, String[] parts, int offset, UnaryOperator<String> strings);
+}
@@ -0,0 +1,183 @@
+package com.carrent.repository;
+
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registry of vehicle codecs keyed by type tag and by class
+ *
+ * Loading looks the codec up by the tag in the Type column; saving looks it
+ * up by the vehicle's exact class. A subclass without its own codec is saved
+ * with the codec of its nearest registered superclass, and that answer is
+ * cached so the class hierarchy is walked once per class.
+ *
+ * Rows without a Type column, written before subtypes were persisted, load
+ * as plain vehicles.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class VehicleCodecRegistry {
+
+    /** Codec for plain vehicles, which have no subtype columns */
+    public static final VehicleCodec VEHICLE = new VehicleCodec() {
+        @Override
+        public String getTag() {
+            return "Vehicle";
+        }
+
+        @Override
+        public Class<? extends Vehicle> getType() {
+            return Vehicle.class;
+        }
+
+        @Override
+        public void appendFields(StringBuilder line, Vehicle vehicle) {
+            // No subtype columns
+        }
+
+        @Override
+        public Vehicle create(String id, String make, String model, String[] parts, int offset,
+                              UnaryOperator<String> strings) {
+            return new Vehicle(id, make, model, 0);
+        }
+    };
+
+    /** Codec for motorcycles: EngineSize, MotorcycleType, HasLuggage, PassengerCapacity, HasSidecar */
+    public static final VehicleCodec MOTORCYCLE = new VehicleCodec() {
+        @Override
+        public String getTag() {
+            return "Motorcycle";
+        }
+
+        @Override
+        public Class<? extends Vehicle> getType() {
+            return Motorcycle.class;
+        }
+
+        @Override
+        public void appendFields(StringBuilder line, Vehicle vehicle) {
+            Motorcycle motorcycle = (Motorcycle) vehicle;
+            String type = motorcycle.getMotorcycleType();
+            line.append(',').append(motorcycle.getEngineSize())
+                .append(',').append(type == null ? "" : type)
+                .append(',').append(motorcycle.hasLuggage())
+                .append(',').append(motorcycle.getPassengerCapacity())
+                .append(',').append(motorcycle.hasSidecar());
+        }
+
+        @Override
+        public Vehicle create(String id, String make, String model, String[] parts, int offset,
+                              UnaryOperator<String> strings) {
+            if (parts.length < offset + 5) {
+                throw new IllegalArgumentException("Motorcycle row needs 5 subtype columns");
+            }
+            String type = parts[offset + 1].trim();
+            return new Motorcycle(id, make, model, 0,
+                Integer.parseInt(parts[offset].trim()),
+                type.isEmpty() ? null : strings.apply(type),
+                Boolean.parseBoolean(parts[offset + 2].trim()),
+                Integer.parseInt(parts[offset + 3].trim()),
+                Boolean.parseBoolean(parts[offset + 4].trim()));
+        }
+    };
+
+    // Shared answer for typeOf; never handed out, so nothing can register into it
+    private static final VehicleCodecRegistry STANDARD = standard();
+
+    private final Map<String, VehicleCodec> byTag = new LinkedHashMap<>();
+    private final Map<Class<?>, VehicleCodec> byType = new HashMap<>();
+
+    /**
+     * Create a registry holding only the plain vehicle codec
+     */
+    public VehicleCodecRegistry() {
+        // Not through register(), which a subclass could override
+        byTag.put(VEHICLE.getTag(), VEHICLE);
+        byType.put(VEHICLE.getType(), VEHICLE);
+    }
+
+    /**
+     * Create a registry with codecs for every vehicle type in the model package
+     *
+     * @return registry for Vehicle and Motorcycle
+     */
+    public static VehicleCodecRegistry standard() {
+        VehicleCodecRegistry registry = new VehicleCodecRegistry();
+        registry.register(MOTORCYCLE);
+        return registry;
+    }
+
+    /**
+     * Get the type tag of a vehicle from the standard codecs
+     *
+     * @param vehicle the vehicle
+     * @return tag its row is saved under, e.g. Motorcycle or Vehicle
+     */
+    public static String typeOf(Vehicle vehicle) {
+        return STANDARD.forVehicle(vehicle).getTag();
+    }
+
+    /**
+     * Register a codec, replacing any codec with the same tag or class
+     *
+     * @param codec codec to add
+     * @return this registry
+     */
+    public synchronized VehicleCodecRegistry register(VehicleCodec codec) {
+        if (codec == null || codec.getType() == null) {
+            throw new IllegalArgumentException("Codec and its type cannot be null");
+        }
+        String tag = codec.getTag();
+        if (tag == null || tag.isEmpty() || tag.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("Codec tag must be non-empty and contain no commas");
+        }
+        byTag.values().removeIf(registered -> registered.getType() == codec.getType());
+        byTag.put(tag, codec);
+        // Drop cached superclass answers so subclasses of the new type pick it up
+        byType.clear();
+        for (VehicleCodec registered : byTag.values()) {
+            byType.put(registered.getType(), registered);
+        }
+        return this;
+    }
+
+    /**
+     * Find the codec for a type tag
+     *
+     * @param tag tag from the Type column
+     * @return codec, or null if the tag is unknown
+     */
+    public synchronized VehicleCodec forTag(String tag) {
+        return byTag.get(tag);
+    }
+
+    /**
+     * Find the codec that saves a vehicle
+     *
+     * @param vehicle vehicle to save
+     * @return codec of its class or nearest registered superclass
+     * @throws IllegalArgumentException if neither the class nor any superclass has a codec,
+     *                                  which happens when the Vehicle codec was replaced by one with its tag
+     */
+    public synchronized VehicleCodec forVehicle(Vehicle vehicle) {
+        Class<?> type = vehicle.getClass();
+        VehicleCodec codec = byType.get(type);
+        if (codec == null) {
+            Class<?> parent = type.getSuperclass();
+            while (codec == null && parent != null) {
+                codec = byType.get(parent);
+                parent = parent.getSuperclass();
+            }
+            if (codec == null) {
+                throw new IllegalArgumentException("No codec registered for vehicle type " + type.getName());
+            }
+            byType.put(type, codec);
+        }
+        return codec;
+    }
+}
@@ -1,14 +1,23 @@
 package com.carrent.repository;
 
+import com.carrent.metrics.Counter;
+import com.carrent.metrics.LatencyHistogram;
+import com.carrent.metrics.MetricsRegistry;
+import com.carrent.model.Money;
 import com.carrent.model.Vehicle;
+import com.carrent.model.VehicleSnapshot;
 import java.io.*;
 import java.net.URISyntaxException;
-import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
@@ -17,20 +26,104 @@ import java.util.stream.Collectors;
  * This repository class handles all data access operations for vehicles
  * using the Repository pattern and CSV file storage.
  * 
+ * Lookups and searches share the read lock. Every change, including the
+ * rewrite of the CSV file, holds the write lock, so the file never
+ * interleaves two saves.
+ * 
+ * Every change also replaces the vehicle's immutable snapshot, so snapshot
+ * lookups by ID never lock. The full snapshot list is assembled from those
+ * on the first call after a change and shared until the next one.
+ * 
+ * Availability and rate changes go through the setAvailable and
+ * setDailyRateCents commands, which change only their own field under the
+ * write lock. The finders still return the stored Vehicle instances, which
+ * the views and services are built on.
+ * 
  * @author Car Rental Team
  * @version 1.0
  */
 public class VehicleRepository {
     
     private static final String VEHICLES_FILE = "data/vehicles.csv";
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
+    private static final String HEADER = "ID,Make,Model,DailyRate,IsAvailable,Type,Fields...";
+    private static final int TYPE_COLUMN = 5;
     private final List<Vehicle> vehicles;
+    // ID lookup index kept in step with the list
+    private final Map<String, Vehicle> vehiclesById = new HashMap<>();
+    // Text search index over id, make, model and display name
+    private final VehicleTextIndex textIndex = new VehicleTextIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<RepositoryListener<Vehicle>> listeners = new CopyOnWriteArrayList<>();
+    // File load split into I/O and parsing, and snapshot rebuilds after changes
+    private final LatencyHistogram loadReadTime = METRICS.histogram("vehicleRepository.load.read");
+    private final LatencyHistogram loadParseTime = METRICS.histogram("vehicleRepository.load.parse");
+    private final Counter loadRows = METRICS.counter("vehicleRepository.load.rows");
+    private final Counter loadParseErrors = METRICS.counter("vehicleRepository.load.parseErrors");
+    private final Counter snapshotRebuilds = METRICS.counter("vehicleRepository.snapshotRebuilds");
+    // Latency of each operation, including lock waits but not listener callbacks
+    private final LatencyHistogram saveVehiclesToFileTime = METRICS.histogram("vehicleRepository.saveVehiclesToFile");
+    private final LatencyHistogram findAllTime = METRICS.histogram("vehicleRepository.findAll");
+    private final LatencyHistogram findByIdTime = METRICS.histogram("vehicleRepository.findById");
+    private final LatencyHistogram searchTime = METRICS.histogram("vehicleRepository.search");
+    private final LatencyHistogram saveTime = METRICS.histogram("vehicleRepository.save");
+    private final LatencyHistogram updateTime = METRICS.histogram("vehicleRepository.update");
+    private final LatencyHistogram setAvailableTime = METRICS.histogram("vehicleRepository.setAvailable");
+    private final LatencyHistogram setDailyRateCentsTime = METRICS.histogram("vehicleRepository.setDailyRateCents");
+    private final LatencyHistogram snapshotAllTime = METRICS.histogram("vehicleRepository.snapshotAll");
+    private final LatencyHistogram snapshotByIdTime = METRICS.histogram("vehicleRepository.snapshotById");
+    private final LatencyHistogram findAvailableTime = METRICS.histogram("vehicleRepository.findAvailable");
+    private final LatencyHistogram deleteByIdTime = METRICS.histogram("vehicleRepository.deleteById");
+    private final LatencyHistogram countTime = METRICS.histogram("vehicleRepository.count");
+    private final VehicleCodecRegistry codecs;
+    // Directory holding the CSV file, null for the bundled resources
+    private final Path dataDirectory;
+    // Snapshot of each stored vehicle, replaced under the write lock by every change
+    private final Map<String, VehicleSnapshot> snapshotsById = new ConcurrentHashMap<>();
+    // Snapshots in stored order, null after a change until the next snapshotAll
+    private volatile List<VehicleSnapshot> snapshotList;
     
     /**
-     * Constructor - loads vehicles from CSV file
+     * Constructor - loads vehicles from the bundled CSV file with the standard codecs
      */
     public VehicleRepository() {
+        this(VehicleCodecRegistry.standard());
+    }
+    
+    /**
+     * Constructor - loads vehicles from the bundled CSV file
+     * 
+     * @param codecs codecs for the vehicle types stored in the file
+     */
+    public VehicleRepository(VehicleCodecRegistry codecs) {
+        this(null, codecs);
+    }
+    
+    /**
+     * Constructor - loads vehicles from a data directory with the standard codecs
+     * 
+     * @param dataDirectory directory holding data/vehicles.csv, or null for the bundled file
+     */
+    public VehicleRepository(Path dataDirectory) {
+        this(dataDirectory, VehicleCodecRegistry.standard());
+    }
+    
+    /**
+     * Constructor - loads vehicles from a data directory
+     * 
+     * @param dataDirectory directory holding data/vehicles.csv, or null for the bundled file
+     * @param codecs codecs for the vehicle types stored in the file
+     */
+    public VehicleRepository(Path dataDirectory, VehicleCodecRegistry codecs) {
+        if (codecs == null) {
+            throw new IllegalArgumentException("Codec registry cannot be null");
+        }
+        this.dataDirectory = dataDirectory;
+        this.codecs = codecs;
         this.vehicles = new ArrayList<>();
         loadVehiclesFromFile();
+        // Read without the lock; a gauge only needs an approximate value
+        METRICS.gauge("vehicleRepository.size", vehicles::size);
     }
     
     /**
@@ -38,27 +131,36 @@ public class VehicleRepository {
      */
     private void loadVehiclesFromFile() {
         try {
-            URL resource = getClass().getClassLoader().getResource(VEHICLES_FILE);
-            if (resource == null) {
-                System.err.println("Could not find " + VEHICLES_FILE + " in resources");
+            Path path = DataFiles.forReading(dataDirectory, VEHICLES_FILE);
+            if (path == null) {
                 return;
             }
-            
-            Path path = Paths.get(resource.toURI());
+            long readStart = System.nanoTime();
             List<String> lines = Files.readAllLines(path);
+            loadReadTime.recordSince(readStart);
+            StringDictionary strings = new StringDictionary();
             
             // Skip header line
+            long parseStart = System.nanoTime();
             for (int i = 1; i < lines.size(); i++) {
                 String line = lines.get(i).trim();
                 if (!line.isEmpty()) {
-                    Vehicle vehicle = parseVehicleFromCsv(line);
-                    if (vehicle != null) {
+                    Vehicle vehicle = parseVehicleFromCsv(line, strings);
+                    if (vehicle == null) {
+                        loadParseErrors.increment();
+                    } else if (!vehiclesById.containsKey(vehicle.getId())) {
                         vehicles.add(vehicle);
+                        vehiclesById.put(vehicle.getId(), vehicle);
+                        textIndex.put(vehicle);
+                        snapshotsById.put(vehicle.getId(), VehicleSnapshot.of(vehicle, codecs.forVehicle(vehicle).getTag()));
                     }
                 }
             }
             
+            loadParseTime.recordSince(parseStart);
+            loadRows.add(Math.max(lines.size() - 1, 0));
             System.out.println("Loaded " + vehicles.size() + " vehicles from file");
+            System.out.println(strings.report("Vehicle makes and models"));
             
         } catch (IOException | URISyntaxException e) {
             System.err.println("Error loading vehicles from file: " + e.getMessage());
@@ -66,23 +168,33 @@ public class VehicleRepository {
     }
     
     /**
-     * Parse a vehicle from CSV line
+     * Parse a vehicle from CSV line, sharing repeated makes and models through the dictionary
+     * The Type column selects the codec; rows without it are plain vehicles.
      */
-    private Vehicle parseVehicleFromCsv(String csvLine) {
+    private Vehicle parseVehicleFromCsv(String csvLine, StringDictionary strings) {
         try {
-            String[] parts = csvLine.split(",");
-            if (parts.length >= 5) {
+            String[] parts = csvLine.split(",", -1);
+            if (parts.length >= TYPE_COLUMN) {
                 String id = parts[0].trim();
-                String make = parts[1].trim();
-                String model = parts[2].trim();
-                double dailyRate = Double.parseDouble(parts[3].trim());
+                String make = strings.canonical(parts[1].trim());
+                String model = strings.canonical(parts[2].trim());
+                long dailyRateCents = Money.parse(parts[3]);
                 boolean isAvailable = Boolean.parseBoolean(parts[4].trim());
                 
-                Vehicle vehicle = new Vehicle(id, make, model, dailyRate);
+                VehicleCodec codec = VehicleCodecRegistry.VEHICLE;
+                if (parts.length > TYPE_COLUMN && !parts[TYPE_COLUMN].trim().isEmpty()) {
+                    codec = codecs.forTag(parts[TYPE_COLUMN].trim());
+                    if (codec == null) {
+                        System.err.println("Unknown vehicle type in line: " + csvLine);
+                        return null;
+                    }
+                }
+                Vehicle vehicle = codec.create(id, make, model, parts, TYPE_COLUMN + 1, strings::canonical);
+                vehicle.setDailyRateCents(dailyRateCents);
                 vehicle.setAvailable(isAvailable);
                 return vehicle;
             }
-        } catch (NumberFormatException e) {
+        } catch (IllegalArgumentException e) {
             System.err.println("Error parsing vehicle line: " + csvLine);
         }
         return null;
@@ -91,34 +203,41 @@ public class VehicleRepository {
      * Save vehicles to CSV file
      */
     public void saveVehiclesToFile() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
         try {
-            URL resource = getClass().getClassLoader().getResource(VEHICLES_FILE);
-            if (resource == null) {
-                System.err.println("Could not find " + VEHICLES_FILE + " in resources");
+            Path path = DataFiles.forWriting(dataDirectory, VEHICLES_FILE);
+            if (path == null) {
                 return;
             }
             
-            Path path = Paths.get(resource.toURI());
-            
-            List<String> lines = new ArrayList<>();
-            lines.add("ID,Make,Model,DailyRate,IsAvailable");
-            
-            for (Vehicle vehicle : vehicles) {
-                String line = String.format("%s,%s,%s,%.2f,%s",
-                    vehicle.getId(),
-                    vehicle.getMake(),
-                    vehicle.getModel(),
-                    vehicle.getDailyRate(),
-                    vehicle.isAvailable()
-                );
-                lines.add(line);
+            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+                writer.write(HEADER);
+                writer.newLine();
+                
+                // One reused line buffer; cents are formatted without String.format
+                StringBuilder line = new StringBuilder(96);
+                for (Vehicle vehicle : vehicles) {
+                    line.setLength(0);
+                    line.append(vehicle.getId()).append(',')
+                        .append(vehicle.getMake()).append(',')
+                        .append(vehicle.getModel()).append(',');
+                    Money.appendTo(line, vehicle.getDailyRateCents()).append(',').append(vehicle.isAvailable());
+                    VehicleCodec codec = codecs.forVehicle(vehicle);
+                    line.append(',').append(codec.getTag());
+                    codec.appendFields(line, vehicle);
+                    writer.append(line);
+                    writer.newLine();
+                }
             }
-              Files.write(path, lines);
             System.out.println("Saved " + vehicles.size() + " vehicles to file: " + path);
             
         } catch (IOException | URISyntaxException e) {
             System.err.println("Error saving vehicles to file: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+            saveVehiclesToFileTime.recordSince(start);
         }
     }
     
@@ -128,7 +247,14 @@ public class VehicleRepository {
      * @return list of all vehicles
      */
     public List<Vehicle> findAll() {
-        return new ArrayList<>(vehicles);
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(vehicles);
+        } finally {
+            lock.readLock().unlock();
+            findAllTime.recordSince(start);
+        }
     }
     
     /**
@@ -138,10 +264,32 @@ public class VehicleRepository {
      * @return vehicle if found, null otherwise
      */
     public Vehicle findById(String id) {
-        return vehicles.stream()
-                .filter(vehicle -> vehicle.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return vehiclesById.get(id);
+        } finally {
+            lock.readLock().unlock();
+            findByIdTime.recordSince(start);
+        }
+    }
+    
+    /**
+     * Find vehicles whose ID, make, model or display name contain the search text
+     * Whitespace separates terms and every term must match, ignoring case.
+     * 
+     * @param text search text
+     * @return matching vehicles in no particular order, all vehicles for blank text
+     */
+    public List<Vehicle> search(String text) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return textIndex.search(text);
+        } finally {
+            lock.readLock().unlock();
+            searchTime.recordSince(start);
+        }
     }
     
     /**
@@ -151,12 +299,23 @@ public class VehicleRepository {
      * @return true if saved successfully
      */
     public boolean save(Vehicle vehicle) {
-        if (vehicle == null || findById(vehicle.getId()) != null) {
-            return false; // Vehicle already exists or is null
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (vehicle == null || vehiclesById.containsKey(vehicle.getId())) {
+                return false; // Vehicle already exists or is null
+            }
+            
+            vehicles.add(vehicle);
+            vehiclesById.put(vehicle.getId(), vehicle);
+            textIndex.put(vehicle);
+            changed(vehicle);
+            saveVehiclesToFile();
+        } finally {
+            lock.writeLock().unlock();
+            saveTime.recordSince(start);
         }
-        
-        vehicles.add(vehicle);
-        saveVehiclesToFile();
+        listeners.forEach(listener -> listener.onAdded(vehicle));
         return true;
     }
       /**
@@ -173,17 +332,147 @@ public class VehicleRepository {
         
         System.out.println("VehicleRepository: Updating vehicle: " + vehicle.getId() + " - Available: " + vehicle.isAvailable());
         
-        for (int i = 0; i < vehicles.size(); i++) {
-            if (vehicles.get(i).getId().equals(vehicle.getId())) {
-                vehicles.set(i, vehicle);
-                System.out.println("VehicleRepository: Vehicle found and updated in memory");
-                saveVehiclesToFile();
-                System.out.println("VehicleRepository: Saved vehicles to file");
-                return true;
+        boolean updated = false;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < vehicles.size(); i++) {
+                if (vehicles.get(i).getId().equals(vehicle.getId())) {
+                    vehicles.set(i, vehicle);
+                    vehiclesById.put(vehicle.getId(), vehicle);
+                    textIndex.put(vehicle);
+                    changed(vehicle);
+                    System.out.println("VehicleRepository: Vehicle found and updated in memory");
+                    saveVehiclesToFile();
+                    System.out.println("VehicleRepository: Saved vehicles to file");
+                    updated = true;
+                    break;
+                }
             }
+        } finally {
+            lock.writeLock().unlock();
+            updateTime.recordSince(start);
+        }
+        if (!updated) {
+            System.out.println("VehicleRepository: Vehicle not found for update: " + vehicle.getId());
+            return false;
         }
-        System.out.println("VehicleRepository: Vehicle not found for update: " + vehicle.getId());
-        return false;
+        listeners.forEach(listener -> listener.onUpdated(vehicle));
+        return true;
+    }
+    
+    /**
+     * Mark a stored vehicle as available or rented
+     * Only the availability changes, so a concurrent update of other fields is kept.
+     * 
+     * @param id vehicle ID
+     * @param available new availability
+     * @return true if the vehicle exists and was updated
+     */
+    public boolean setAvailable(String id, boolean available) {
+        Vehicle stored;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            stored = vehiclesById.get(id);
+            if (stored == null) {
+                return false;
+            }
+            stored.setAvailable(available);
+            changed(stored);
+            saveVehiclesToFile();
+        } finally {
+            lock.writeLock().unlock();
+            setAvailableTime.recordSince(start);
+        }
+        listeners.forEach(listener -> listener.onUpdated(stored));
+        return true;
+    }
+    
+    /**
+     * Change the daily rate of a stored vehicle
+     * Only the rate changes, so a concurrent update of other fields is kept.
+     * 
+     * @param id vehicle ID
+     * @param dailyRateCents new daily rate in cents
+     * @return true if the vehicle exists and was updated
+     * @throws IllegalArgumentException if the rate is negative
+     */
+    public boolean setDailyRateCents(String id, long dailyRateCents) {
+        if (dailyRateCents < 0) {
+            throw new IllegalArgumentException("Daily rate cannot be negative");
+        }
+        Vehicle stored;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            stored = vehiclesById.get(id);
+            if (stored == null) {
+                return false;
+            }
+            stored.setDailyRateCents(dailyRateCents);
+            changed(stored);
+            saveVehiclesToFile();
+        } finally {
+            lock.writeLock().unlock();
+            setDailyRateCentsTime.recordSince(start);
+        }
+        listeners.forEach(listener -> listener.onUpdated(stored));
+        return true;
+    }
+    
+    /**
+     * Get immutable snapshots of all vehicles
+     * The list is shared between callers until the next change and must not be copied
+     * defensively; it is assembled from the per-vehicle snapshots on the first call
+     * after a change.
+     * 
+     * @return unmodifiable list of snapshots in stored order
+     */
+    public List<VehicleSnapshot> snapshotAll() {
+        long start = System.nanoTime();
+        List<VehicleSnapshot> list = snapshotList;
+        if (list == null) {
+            lock.readLock().lock();
+            try {
+                // Writers clear the field under the write lock, so this build sees a stable list
+                list = snapshotList;
+                if (list == null) {
+                    snapshotRebuilds.increment();
+                    VehicleSnapshot[] copies = new VehicleSnapshot[vehicles.size()];
+                    for (int i = 0; i < copies.length; i++) {
+                        copies[i] = snapshotsById.get(vehicles.get(i).getId());
+                    }
+                    list = List.of(copies);
+                    snapshotList = list;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        snapshotAllTime.recordSince(start);
+        return list;
+    }
+    
+    /**
+     * Get an immutable snapshot of one vehicle without locking
+     * 
+     * @param id vehicle ID
+     * @return snapshot, or null if no such vehicle
+     */
+    public VehicleSnapshot snapshotById(String id) {
+        long start = System.nanoTime();
+        VehicleSnapshot snapshot = id == null ? null : snapshotsById.get(id);
+        snapshotByIdTime.recordSince(start);
+        return snapshot;
+    }
+    
+    /**
+     * Replace a changed vehicle's snapshot; callers hold the write lock
+     */
+    private void changed(Vehicle vehicle) {
+        snapshotsById.put(vehicle.getId(), VehicleSnapshot.of(vehicle, codecs.forVehicle(vehicle).getTag()));
+        snapshotList = null;
     }
     
     /**
@@ -192,9 +481,16 @@ public class VehicleRepository {
      * @return list of available vehicles
      */
     public List<Vehicle> findAvailable() {
-        return vehicles.stream()
-                .filter(Vehicle::isAvailable)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return vehicles.stream()
+                    .filter(Vehicle::isAvailable)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+            findAvailableTime.recordSince(start);
+        }
     }
     
     /**
@@ -204,11 +500,26 @@ public class VehicleRepository {
      * @return true if deleted successfully
      */
     public boolean deleteById(String id) {
-        boolean removed = vehicles.removeIf(vehicle -> vehicle.getId().equals(id));
-        if (removed) {
+        Vehicle removed;
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            removed = vehiclesById.get(id);
+            if (removed == null) {
+                return false;
+            }
+            vehicles.remove(removed);
+            vehiclesById.remove(id);
+            textIndex.remove(id);
+            snapshotsById.remove(id);
+            snapshotList = null;
             saveVehiclesToFile();
+        } finally {
+            lock.writeLock().unlock();
+            deleteByIdTime.recordSince(start);
         }
-        return removed;
+        listeners.forEach(listener -> listener.onRemoved(removed));
+        return true;
     }
     
     /**
@@ -217,6 +528,31 @@ public class VehicleRepository {
      * @return total count of vehicles
      */
     public int count() {
-        return vehicles.size();
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return vehicles.size();
+        } finally {
+            lock.readLock().unlock();
+            countTime.recordSince(start);
+        }
+    }
+    
+    /**
+     * Register a listener for vehicle changes
+     * 
+     * @param listener listener to notify after each save, update or delete
+     */
+    public void addListener(RepositoryListener<Vehicle> listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Unregister a listener
+     * 
+     * @param listener listener to remove
+     */
+    public void removeListener(RepositoryListener<Vehicle> listener) {
+        listeners.remove(listener);
     }
 }
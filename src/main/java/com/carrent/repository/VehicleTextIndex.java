@@ -0,0 +1,258 @@
+package com.carrent.repository;
+
+import com.carrent.model.Vehicle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over vehicle id, make, model and display name
+ *
+ * Every 3 character substring of a vehicle's searchable text maps to the
+ * vehicles containing it. A search takes the shortest posting list among the
+ * trigrams of its terms as candidates and confirms each with a substring
+ * check. Whitespace separates terms, and a vehicle must contain every term
+ * to match. Queries made only of one or two character terms have no trigram
+ * and are answered by checking every vehicle, which the refinement of the
+ * next keystroke then narrows.
+ *
+ * Vehicles are numbered internally and posting lists hold those numbers in
+ * plain int arrays, so the index costs a few bytes per trigram occurrence.
+ * Numbers freed by removals are handed to the next new vehicle, so the slot
+ * tables stay as large as the biggest fleet seen rather than growing with
+ * every vehicle ever added.
+ *
+ * Not thread-safe: VehicleRepository calls it under its own lock.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+class VehicleTextIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    // Per slot: the vehicle and its lower-cased searchable text, null once removed
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    // Slots of removed vehicles, reused before the tables grow
+    private int[] freeSlots = new int[8];
+    private int freeCount;
+    private long version;
+
+    // Result of the last search, refined when the next query extends it
+    private volatile LastSearch lastSearch;
+
+    /**
+     * Index a new vehicle or re-index a changed one
+     */
+    void put(Vehicle vehicle) {
+        String text = searchableText(vehicle);
+        Integer slot = slotById.get(vehicle.getId());
+        if (slot == null) {
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                slot = vehicles.size();
+                vehicles.add(null);
+                texts.add(null);
+            }
+            slotById.put(vehicle.getId(), slot);
+        }
+        vehicles.set(slot, vehicle);
+        String previous = texts.get(slot);
+        if (text.equals(previous)) {
+            return; // Only non-text fields changed
+        }
+        if (previous != null) {
+            unindex(slot, previous);
+        }
+        texts.set(slot, text);
+        for (String gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new Posting()).add(slot);
+        }
+        version++;
+    }
+
+    /**
+     * Remove a vehicle from the index
+     */
+    void remove(String vehicleId) {
+        Integer slot = slotById.remove(vehicleId);
+        if (slot != null) {
+            unindex(slot, texts.get(slot));
+            vehicles.set(slot, null);
+            texts.set(slot, null);
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            version++;
+        }
+    }
+
+    /**
+     * Find the vehicles whose text contains every whitespace separated term
+     *
+     * @param query search text, case-insensitive
+     * @return matching vehicles in no particular order, all vehicles for a blank query
+     */
+    List<Vehicle> search(String query) {
+        String normalized = normalize(query);
+        String[] terms = normalized.isEmpty() ? new String[0] : normalized.split(" ");
+
+        int[] candidates = null; // null means check every slot
+        int candidateCount = vehicles.size();
+        Posting shortest = shortestPosting(terms);
+        if (shortest != null) {
+            candidates = shortest.slots;
+            candidateCount = shortest.size;
+        }
+        LastSearch last = lastSearch;
+        if (last != null && last.version == version && normalized.startsWith(last.query)
+                && last.slots.length < candidateCount) {
+            // Typing more characters can only narrow the result, so filter the previous one
+            candidates = last.slots;
+            candidateCount = last.slots.length;
+        }
+
+        int[] matched = new int[candidateCount];
+        int matchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int slot = candidates == null ? i : candidates[i];
+            String text = texts.get(slot);
+            if (text != null && containsAll(text, terms)) {
+                matched[matchCount++] = slot;
+            }
+        }
+        matched = Arrays.copyOf(matched, matchCount);
+        lastSearch = new LastSearch(normalized, version, matched);
+
+        List<Vehicle> result = new ArrayList<>(matchCount);
+        for (int slot : matched) {
+            result.add(vehicles.get(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of slots allocated, live or free
+     */
+    int slotCount() {
+        return vehicles.size();
+    }
+
+    /**
+     * Find the smallest posting list among the trigrams of all terms
+     *
+     * @return the posting, an empty posting if some trigram is unknown, or null if no term has a trigram
+     */
+    private Posting shortestPosting(String[] terms) {
+        Posting shortest = null;
+        for (String term : terms) {
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                Posting posting = postings.get(term.substring(i, i + GRAM));
+                if (posting == null) {
+                    return Posting.EMPTY;
+                }
+                if (shortest == null || posting.size < shortest.size) {
+                    shortest = posting;
+                }
+            }
+        }
+        return shortest;
+    }
+
+    private void unindex(int slot, String text) {
+        for (String gram : grams(text)) {
+            Posting posting = postings.get(gram);
+            if (posting != null && posting.remove(slot) && posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean containsAll(String text, String[] terms) {
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distinct trigrams of the text that do not span a field separator
+     */
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM);
+            if (gram.indexOf('\n') < 0) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    private static String searchableText(Vehicle vehicle) {
+        String make = normalize(vehicle.getMake());
+        String model = normalize(vehicle.getModel());
+        String displayName = normalize(vehicle.getDisplayName());
+        String text = normalize(vehicle.getId()) + '\n' + make + '\n' + model;
+        // Plain vehicles display as "make model"; only index names that add something
+        return displayName.equals(make + " " + model) ? text : text + '\n' + displayName;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Growable list of vehicle slots containing one trigram
+     */
+    private static final class Posting {
+        static final Posting EMPTY = new Posting();
+
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size]; // Order does not matter
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A query, the index version it ran against and the slots it matched
+     */
+    private static final class LastSearch {
+        final String query;
+        final long version;
+        final int[] slots;
+
+        LastSearch(String query, long version, int[] slots) {
+            this.query = query;
+            this.version = version;
+            this.slots = slots;
+        }
+    }
+}
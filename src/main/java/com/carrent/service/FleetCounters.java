@@ -0,0 +1,105 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import com.carrent.repository.RepositoryListener;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Running counts of available and rented vehicles
+ *
+ * Kept up to date from vehicle repository change events. The availability
+ * each vehicle was last counted with is remembered, because vehicles are
+ * changed in place and an update event does not carry the old state.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+class FleetCounters implements RepositoryListener<Vehicle> {
+
+    private final Supplier<List<Vehicle>> source;
+    // Availability each vehicle is currently counted with
+    private final Map<String, Boolean> counted = new HashMap<>();
+    private volatile int available;
+    private volatile int rented;
+
+    /**
+     * @param source supplies the full fleet for seeding and reconciliation
+     */
+    FleetCounters(Supplier<List<Vehicle>> source) {
+        this.source = source;
+    }
+
+    /**
+     * Count the current fleet; safe to call after registering as a listener
+     */
+    void seed() {
+        for (Vehicle vehicle : source.get()) {
+            onUpdated(vehicle);
+        }
+    }
+
+    int getAvailable() {
+        return available;
+    }
+
+    int getRented() {
+        return rented;
+    }
+
+    int getTotal() {
+        return available + rented;
+    }
+
+    @Override
+    public synchronized void onAdded(Vehicle vehicle) {
+        onUpdated(vehicle);
+    }
+
+    @Override
+    public synchronized void onUpdated(Vehicle vehicle) {
+        Boolean previous = counted.put(vehicle.getId(), vehicle.isAvailable());
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        adjust(vehicle.isAvailable(), 1);
+    }
+
+    @Override
+    public synchronized void onRemoved(Vehicle vehicle) {
+        Boolean previous = counted.remove(vehicle.getId());
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+    }
+
+    private void adjust(boolean isAvailable, int delta) {
+        if (isAvailable) {
+            available += delta;
+        } else {
+            rented += delta;
+        }
+    }
+
+    /**
+     * Recount the whole fleet and correct the running counts if they drifted
+     *
+     * @return true if the running counts matched the recount
+     */
+    synchronized boolean reconcile() {
+        counted.clear();
+        int runningAvailable = available;
+        int runningRented = rented;
+        available = 0;
+        rented = 0;
+        seed();
+        boolean consistent = runningAvailable == available && runningRented == rented;
+        if (!consistent) {
+            System.err.println("FleetCounters: Counts drifted (available " + runningAvailable + " vs " + available
+                + ", rented " + runningRented + " vs " + rented + "), corrected");
+        }
+        return consistent;
+    }
+}
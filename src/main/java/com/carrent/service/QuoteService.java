@@ -0,0 +1,276 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import com.carrent.pricing.FleetRates;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rental quotes for the booking form, backed by a small LRU cache
+ *
+ * Quotes are cached by vehicle, dates and the vehicle service's rate version,
+ * so flipping back and forth between the same inputs costs a map lookup and
+ * any rate change makes the older entries unreachable. Misses are priced by
+ * RentalService on its I/O executor.
+ *
+ * quoteAll prices every vehicle matching a search in one pass over a
+ * primitive snapshot of their rates. The snapshot of the last search is kept
+ * until the fleet or the rates change, so re-pricing the same search for
+ * other dates does not touch the vehicles again.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class QuoteService {
+
+    public static final int DEFAULT_CACHE_SIZE = 128;
+    private static final int INDEX_BITS = 24;
+
+    private final RentalService rentalService;
+    private final VehicleService vehicleService;
+    private final Map<QuoteKey, Double> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private FleetSnapshot lastSnapshot;
+
+    /**
+     * Constructor with the default cache size
+     *
+     * @param rentalService service used to price a quote
+     * @param vehicleService service providing the rate version
+     */
+    public QuoteService(RentalService rentalService, VehicleService vehicleService) {
+        this(rentalService, vehicleService, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor with dependency injection
+     *
+     * @param rentalService service used to price a quote
+     * @param vehicleService service providing the rate version
+     * @param cacheSize maximum number of cached quotes
+     */
+    public QuoteService(RentalService rentalService, VehicleService vehicleService, int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.rentalService = rentalService;
+        this.vehicleService = vehicleService;
+        this.cache = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QuoteKey, Double> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Get the cost of renting a vehicle for a date range
+     *
+     * @param vehicleId ID of the vehicle
+     * @param startDate rental start date
+     * @param endDate rental end date
+     * @return total cost, 0 if the inputs are invalid
+     */
+    public double quote(String vehicleId, LocalDate startDate, LocalDate endDate) {
+        // Read the version before pricing so a concurrent rate change can only make this entry unreachable
+        QuoteKey key = new QuoteKey(vehicleId, startDate, endDate, vehicleService.getRateVersion());
+        Double cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        double cost = rentalService.calculateRentalCost(vehicleId, startDate, endDate);
+        store(key, cost);
+        return cost;
+    }
+
+    /**
+     * Get the cost of renting a vehicle for a date range without blocking the caller
+     * Cached quotes complete immediately; misses are priced on the I/O executor.
+     *
+     * @param vehicleId ID of the vehicle
+     * @param startDate rental start date
+     * @param endDate rental end date
+     * @return future completing with the total cost
+     */
+    public CompletableFuture<Double> quoteAsync(String vehicleId, LocalDate startDate, LocalDate endDate) {
+        QuoteKey key = new QuoteKey(vehicleId, startDate, endDate, vehicleService.getRateVersion());
+        Double cached = lookup(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return rentalService.calculateRentalCostAsync(vehicleId, startDate, endDate)
+            .thenApply(cost -> {
+                store(key, cost);
+                return cost;
+            });
+    }
+
+    /**
+     * Price every vehicle matching a filter for a date range, cheapest first
+     *
+     * @param startDate rental start date
+     * @param endDate rental end date
+     * @param filter vehicles to price, or null for the whole fleet
+     * @param limit maximum number of quotes to return
+     * @return up to limit quotes sorted by price, ties in filter order
+     */
+    public List<VehicleQuote> quoteAll(LocalDate startDate, LocalDate endDate, VehicleQuery filter, int limit) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        FleetSnapshot snapshot = snapshot(filter == null ? VehicleQuery.all() : filter);
+        long[] cents = rentalService.getPricingEngine().quoteAll(snapshot.rates, startDate, endDate);
+
+        int size = Math.min(limit, cents.length);
+        List<VehicleQuote> quotes = new ArrayList<>(size);
+        for (int i : cheapestFirst(cents, size)) {
+            quotes.add(new VehicleQuote(snapshot.vehicles.get(i), cents[i]));
+        }
+        return quotes;
+    }
+
+    /**
+     * Drop all cached quotes
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            lastSnapshot = null;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private Double lookup(QuoteKey key) {
+        Double cost;
+        synchronized (cache) {
+            cost = cache.get(key);
+        }
+        (cost != null ? hits : misses).incrementAndGet();
+        return cost;
+    }
+
+    private void store(QuoteKey key, double cost) {
+        synchronized (cache) {
+            cache.put(key, cost);
+        }
+    }
+
+    private FleetSnapshot snapshot(VehicleQuery filter) {
+        // Read the versions first so a concurrent change can only make the snapshot stale
+        long fleetVersion = vehicleService.getFleetVersion();
+        long rateVersion = vehicleService.getRateVersion();
+        synchronized (cache) {
+            FleetSnapshot last = lastSnapshot;
+            if (last != null && last.fleetVersion == fleetVersion && last.rateVersion == rateVersion
+                    && last.filter.equals(filter)) {
+                return last;
+            }
+        }
+        List<Vehicle> vehicles = vehicleService.findVehicles(filter, 0, Integer.MAX_VALUE).getVehicles();
+        FleetSnapshot snapshot = new FleetSnapshot(filter, fleetVersion, rateVersion, vehicles, FleetRates.of(vehicles));
+        synchronized (cache) {
+            lastSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Indexes of the cheapest quotes, sorting price and index packed into one long
+     */
+    private static int[] cheapestFirst(long[] cents, int limit) {
+        int n = cents.length;
+        int[] order = new int[limit];
+        if (n < (1 << INDEX_BITS)) {
+            long[] packed = new long[n];
+            for (int i = 0; i < n; i++) {
+                packed[i] = cents[i] << INDEX_BITS | i;
+            }
+            Arrays.parallelSort(packed);
+            for (int i = 0; i < limit; i++) {
+                order[i] = (int) (packed[i] & ((1 << INDEX_BITS) - 1));
+            }
+        } else {
+            Integer[] indexes = new Integer[n];
+            Arrays.setAll(indexes, i -> i);
+            Arrays.parallelSort(indexes, (a, b) -> cents[a] != cents[b] ? Long.compare(cents[a], cents[b]) : a - b);
+            for (int i = 0; i < limit; i++) {
+                order[i] = indexes[i];
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Vehicles matching a filter and their rates, as of a fleet and rate version
+     */
+    private static final class FleetSnapshot {
+        final VehicleQuery filter;
+        final long fleetVersion;
+        final long rateVersion;
+        final List<Vehicle> vehicles;
+        final FleetRates rates;
+
+        FleetSnapshot(VehicleQuery filter, long fleetVersion, long rateVersion, List<Vehicle> vehicles, FleetRates rates) {
+            this.filter = filter;
+            this.fleetVersion = fleetVersion;
+            this.rateVersion = rateVersion;
+            this.vehicles = vehicles;
+            this.rates = rates;
+        }
+    }
+
+    /**
+     * Cache key: the quote inputs plus the rate version they were priced at
+     */
+    private static final class QuoteKey {
+        private final String vehicleId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final long rateVersion;
+
+        QuoteKey(String vehicleId, LocalDate startDate, LocalDate endDate, long rateVersion) {
+            this.vehicleId = vehicleId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.rateVersion = rateVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QuoteKey)) {
+                return false;
+            }
+            QuoteKey other = (QuoteKey) o;
+            return rateVersion == other.rateVersion
+                && Objects.equals(vehicleId, other.vehicleId)
+                && Objects.equals(startDate, other.startDate)
+                && Objects.equals(endDate, other.endDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(vehicleId, startDate, endDate, rateVersion);
+        }
+    }
+}
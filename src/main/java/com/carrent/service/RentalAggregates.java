@@ -0,0 +1,127 @@
+package com.carrent.service;
+
+import com.carrent.model.Rental;
+import com.carrent.repository.RepositoryListener;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Running rental totals: active count, completed revenue and potential revenue
+ *
+ * Kept up to date from rental repository change events. Amounts are summed in
+ * cents so adding and later subtracting a rental always cancels out exactly.
+ * The state each rental was last counted with is remembered, because rentals
+ * are changed in place and an update event does not carry the old state.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+class RentalAggregates implements RepositoryListener<Rental> {
+
+    private final Supplier<List<Rental>> source;
+    // Contribution each rental is currently counted with
+    private final Map<String, Contribution> counted = new HashMap<>();
+    private volatile int activeCount;
+    private volatile long completedCents;
+    private volatile long potentialCents;
+
+    /**
+     * @param source supplies all rentals for seeding and reconciliation
+     */
+    RentalAggregates(Supplier<List<Rental>> source) {
+        this.source = source;
+    }
+
+    /**
+     * Count the current rentals; safe to call after registering as a listener
+     */
+    void seed() {
+        for (Rental rental : source.get()) {
+            onUpdated(rental);
+        }
+    }
+
+    int getActiveCount() {
+        return activeCount;
+    }
+
+    double getCompletedRevenue() {
+        return completedCents / 100.0;
+    }
+
+    double getPotentialRevenue() {
+        return potentialCents / 100.0;
+    }
+
+    @Override
+    public synchronized void onAdded(Rental rental) {
+        onUpdated(rental);
+    }
+
+    @Override
+    public synchronized void onUpdated(Rental rental) {
+        Contribution current = new Contribution(rental.isActive(), rental.getTotalCostCents());
+        Contribution previous = counted.put(rental.getId(), current);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(current, 1);
+    }
+
+    @Override
+    public synchronized void onRemoved(Rental rental) {
+        Contribution previous = counted.remove(rental.getId());
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        if (contribution.active) {
+            activeCount += sign;
+            potentialCents += sign * contribution.cents;
+        } else {
+            completedCents += sign * contribution.cents;
+        }
+    }
+
+    /**
+     * Recompute the totals from all rentals and correct them if they drifted
+     *
+     * @return true if the running totals matched the recomputation
+     */
+    synchronized boolean reconcile() {
+        int runningActive = activeCount;
+        long runningCompleted = completedCents;
+        long runningPotential = potentialCents;
+        counted.clear();
+        activeCount = 0;
+        completedCents = 0;
+        potentialCents = 0;
+        seed();
+        boolean consistent = runningActive == activeCount
+            && runningCompleted == completedCents
+            && runningPotential == potentialCents;
+        if (!consistent) {
+            System.err.println("RentalAggregates: Totals drifted (active " + runningActive + " vs " + activeCount
+                + ", completed cents " + runningCompleted + " vs " + completedCents
+                + ", potential cents " + runningPotential + " vs " + potentialCents + "), corrected");
+        }
+        return consistent;
+    }
+
+    /**
+     * What one rental adds to the totals
+     */
+    private static final class Contribution {
+        final boolean active;
+        final long cents;
+
+        Contribution(boolean active, long cents) {
+            this.active = active;
+            this.cents = cents;
+        }
+    }
+}
@@ -1,11 +1,30 @@
 package com.carrent.service;
 
+import com.carrent.event.RentalEventBus;
+import com.carrent.event.RentalEventType;
+import com.carrent.metrics.LatencyHistogram;
+import com.carrent.metrics.MetricsRegistry;
+import com.carrent.model.Customer;
 import com.carrent.model.Rental;
+import com.carrent.model.RentalSnapshot;
+import com.carrent.model.RevenueRollup;
 import com.carrent.model.Vehicle;
+import com.carrent.pricing.PricingEngine;
+import com.carrent.repository.RentalFilter;
 import com.carrent.repository.RentalRepository;
+import com.carrent.repository.RepositoryListener;
+import com.carrent.repository.RevenueRollupRepository;
+import com.carrent.repository.VehicleCodecRegistry;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -19,9 +38,58 @@ import java.util.stream.Collectors;
  */
 public class RentalService {
     
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
+    
     private final RentalRepository rentalRepository;
     private final VehicleService vehicleService;
     
+    // Makes the availability check and the booking one step; ReentrantLock keeps virtual threads unpinned
+    private final ReentrantLock bookingLock = new ReentrantLock();
+    
+    // Runs the *Async operations; null means the shared default executor
+    private final Executor ioExecutor;
+    
+    // Optional single-writer shards; when set, vehicle mutations bypass bookingLock
+    private volatile ShardedMutationEngine mutationEngine;
+    
+    // Optional lifecycle event bus; null disables publishing
+    private volatile RentalEventBus eventBus;
+    
+    // Running active count and revenue totals
+    private final RentalAggregates aggregates;
+    
+    // Compiled price list used for every quote and booking
+    private volatile PricingEngine pricingEngine = PricingEngine.standard();
+    
+    // Materialized revenue by day and month
+    private final RevenueRollupRepository revenueRollups;
+    
+    // Latency of each public operation; the *Async variants are timed by the calls they run
+    private final LatencyHistogram createRentalTime = METRICS.histogram("rentalService.createRental");
+    private final LatencyHistogram completeRentalTime = METRICS.histogram("rentalService.completeRental");
+    private final LatencyHistogram changeDailyRateTime = METRICS.histogram("rentalService.changeDailyRate");
+    private final LatencyHistogram calculateRentalCostTime = METRICS.histogram("rentalService.calculateRentalCost");
+    private final LatencyHistogram getAllRentalsTime = METRICS.histogram("rentalService.getAllRentals");
+    private final LatencyHistogram getRentalSnapshotsTime = METRICS.histogram("rentalService.getRentalSnapshots");
+    private final LatencyHistogram forEachRentalTime = METRICS.histogram("rentalService.forEachRental");
+    private final LatencyHistogram getActiveRentalsTime = METRICS.histogram("rentalService.getActiveRentals");
+    private final LatencyHistogram findRentalByIdTime = METRICS.histogram("rentalService.findRentalById");
+    private final LatencyHistogram findRentalsByVehicleIdTime = METRICS.histogram("rentalService.findRentalsByVehicleId");
+    private final LatencyHistogram findActiveRentalByVehicleIdTime = METRICS.histogram("rentalService.findActiveRentalByVehicleId");
+    private final LatencyHistogram findRentalsByCustomerTime = METRICS.histogram("rentalService.findRentalsByCustomer");
+    private final LatencyHistogram findRentalsByCustomerPhoneTime = METRICS.histogram("rentalService.findRentalsByCustomerPhone");
+    private final LatencyHistogram getRentalsInDateRangeTime = METRICS.histogram("rentalService.getRentalsInDateRange");
+    private final LatencyHistogram getOverdueRentalsTime = METRICS.histogram("rentalService.getOverdueRentals");
+    private final LatencyHistogram isVehicleCurrentlyRentedTime = METRICS.histogram("rentalService.isVehicleCurrentlyRented");
+    private final LatencyHistogram getTotalRentalsTime = METRICS.histogram("rentalService.getTotalRentals");
+    private final LatencyHistogram getActiveRentalsCountTime = METRICS.histogram("rentalService.getActiveRentalsCount");
+    private final LatencyHistogram getTotalRevenueTime = METRICS.histogram("rentalService.getTotalRevenue");
+    private final LatencyHistogram getPotentialRevenueTime = METRICS.histogram("rentalService.getPotentialRevenue");
+    private final LatencyHistogram getDailyRevenueTime = METRICS.histogram("rentalService.getDailyRevenue");
+    private final LatencyHistogram getMonthlyRevenueTime = METRICS.histogram("rentalService.getMonthlyRevenue");
+    private final LatencyHistogram rebuildRevenueRollupsTime = METRICS.histogram("rentalService.rebuildRevenueRollups");
+    private final LatencyHistogram reconcileAggregatesTime = METRICS.histogram("rentalService.reconcileAggregates");
+    
     /**
      * Constructor with dependency injection
      * 
@@ -29,16 +97,163 @@ public class RentalService {
      * @param vehicleService the vehicle service to use
      */
     public RentalService(RentalRepository rentalRepository, VehicleService vehicleService) {
+        this(rentalRepository, vehicleService, null);
+    }
+    
+    /**
+     * Constructor with dependency injection and a dedicated I/O executor
+     * 
+     * @param rentalRepository the rental repository to use
+     * @param vehicleService the vehicle service to use
+     * @param ioExecutor executor for asynchronous operations (null for the shared default)
+     */
+    public RentalService(RentalRepository rentalRepository, VehicleService vehicleService, Executor ioExecutor) {
+        this(rentalRepository, vehicleService, ioExecutor, new RevenueRollupRepository());
+    }
+    
+    /**
+     * Constructor with dependency injection of every collaborator
+     * 
+     * @param rentalRepository the rental repository to use
+     * @param vehicleService the vehicle service to use
+     * @param ioExecutor executor for asynchronous operations (null for the shared default)
+     * @param revenueRollups the revenue rollup repository to use
+     */
+    public RentalService(RentalRepository rentalRepository, VehicleService vehicleService, Executor ioExecutor,
+                         RevenueRollupRepository revenueRollups) {
         this.rentalRepository = rentalRepository;
         this.vehicleService = vehicleService;
+        this.ioExecutor = ioExecutor;
+        this.aggregates = new RentalAggregates(rentalRepository::findAll);
+        rentalRepository.addListener(aggregates);
+        aggregates.seed();
+        this.revenueRollups = revenueRollups;
+        METRICS.gauge("rentalService.activeRentals", aggregates::getActiveCount);
+        if (revenueRollups.isEmpty() && rentalRepository.count() > 0) {
+            // First start with rollups: build them from the history. Private, so a subclass
+            // override cannot run against a half-constructed service.
+            long start = System.nanoTime();
+            try {
+                replaceRevenueRollups();
+            } finally {
+                rebuildRevenueRollupsTime.recordSince(start);
+            }
+        }
     }
     
     /**
      * Default constructor - creates its own dependencies
      */
     public RentalService() {
-        this.rentalRepository = new RentalRepository();
-        this.vehicleService = new VehicleService();
+        this(new RentalRepository(), new VehicleService(), null);
+    }
+    
+    private Executor ioExecutor() {
+        return ioExecutor != null ? ioExecutor : RequestExecutor.shared();
+    }
+    
+    /**
+     * Run an operation and record its latency, including when it throws
+     */
+    private static <T> T timed(LatencyHistogram histogram, Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            histogram.recordSince(start);
+        }
+    }
+    
+    private static void timed(LatencyHistogram histogram, Runnable operation) {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            histogram.recordSince(start);
+        }
+    }
+    
+    /**
+     * Route vehicle mutations through single-writer shards instead of the booking lock
+     * The vehicle service is switched to the same engine, so bookings and direct
+     * vehicle changes are ordered on one shard. The caller owns the engine and is
+     * responsible for closing it.
+     * 
+     * @param mutationEngine engine to use, or null to go back to lock-based booking
+     */
+    public void setMutationEngine(ShardedMutationEngine mutationEngine) {
+        vehicleService.setMutationEngine(mutationEngine);
+        this.mutationEngine = mutationEngine;
+    }
+    
+    public ShardedMutationEngine getMutationEngine() {
+        return mutationEngine;
+    }
+    
+    /**
+     * Price quotes and bookings with a different price list
+     * Cached quotes priced with the old list are invalidated.
+     * 
+     * @param pricingEngine engine to use
+     */
+    public void setPricingEngine(PricingEngine pricingEngine) {
+        if (pricingEngine == null) {
+            throw new IllegalArgumentException("Pricing engine cannot be null");
+        }
+        this.pricingEngine = pricingEngine;
+        vehicleService.invalidateRates();
+    }
+    
+    public PricingEngine getPricingEngine() {
+        return pricingEngine;
+    }
+    
+    /**
+     * Publish rental lifecycle events to the given bus
+     * 
+     * @param eventBus bus to publish to, or null to stop publishing
+     */
+    public void setEventBus(RentalEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    private void publish(RentalEventType type, Rental rental) {
+        RentalEventBus bus = eventBus;
+        if (bus != null) {
+            // Never waits on a slow consumer; a full ring drops the event and counts it
+            bus.tryPublish(type, rental.getId(), rental.getVehicleId(), rental.getTotalCostCents(), !rental.isActive());
+        }
+    }
+    
+    /**
+     * Run an operation on the vehicle's shard when sharding is enabled, otherwise on the I/O executor
+     */
+    private <T> CompletableFuture<T> submitForVehicle(String vehicleId, Supplier<T> operation) {
+        ShardedMutationEngine engine = mutationEngine;
+        if (engine != null && vehicleId != null) {
+            return engine.submit(vehicleId, operation);
+        }
+        return CompletableFuture.supplyAsync(operation, ioExecutor());
+    }
+    
+    /**
+     * Run a vehicle mutation either on its shard or under the booking lock
+     * 
+     * @param vehicleId vehicle the mutation applies to
+     * @param mutation mutation to run; receives true when it runs on the owning shard
+     */
+    private <T> T mutateVehicle(String vehicleId, Function<Boolean, T> mutation) {
+        ShardedMutationEngine engine = mutationEngine;
+        if (engine != null) {
+            return engine.execute(vehicleId, () -> mutation.apply(true));
+        }
+        
+        bookingLock.lock();
+        try {
+            return mutation.apply(false);
+        } finally {
+            bookingLock.unlock();
+        }
     }
     
     /**
@@ -53,28 +268,38 @@ public class RentalService {
      */
     public Rental createRental(String vehicleId, String customerName, String customerPhone, 
                               LocalDate startDate, LocalDate endDate) {
-        
-        // Validate input parameters
-        if (vehicleId == null || vehicleId.trim().isEmpty() ||
-            customerName == null || customerName.trim().isEmpty() ||
-            customerPhone == null || customerPhone.trim().isEmpty() ||
-            startDate == null || endDate == null) {
-            return null;
-        }
-        
-        // Validate dates
-        if (startDate.isBefore(LocalDate.now()) || endDate.isBefore(startDate)) {
-            return null;
-        }
-        
+        return timed(createRentalTime, () -> {
+            // Validate input parameters
+            if (vehicleId == null || vehicleId.trim().isEmpty() ||
+                customerName == null || customerName.trim().isEmpty() ||
+                customerPhone == null || customerPhone.trim().isEmpty() ||
+                startDate == null || endDate == null) {
+                return null;
+            }
+            // Validate dates
+            if (startDate.isBefore(LocalDate.now()) || endDate.isBefore(startDate)) {
+                return null;
+            }
+            return mutateVehicle(vehicleId, onShard -> 
+                bookVehicle(vehicleId, customerName.trim(), customerPhone.trim(), startDate, endDate, onShard));
+        });
+    }
+    
+    /**
+     * Book a vehicle once the caller owns it (booking lock held or running on its shard)
+     */
+    private Rental bookVehicle(String vehicleId, String customerName, String customerPhone,
+                               LocalDate startDate, LocalDate endDate, boolean onShard) {
         // Check if vehicle is available
         if (!vehicleService.isVehicleAvailable(vehicleId)) {
             return null;
         }
         
         // Calculate total cost
-        double totalCost = calculateRentalCost(vehicleId, startDate, endDate);
-        if (totalCost <= 0) {
+        Vehicle vehicle = vehicleService.findVehicleById(vehicleId);
+        long totalCostCents = vehicle == null || endDate.isBefore(startDate)
+                ? 0 : pricingEngine.quoteCents(vehicle, startDate, endDate);
+        if (totalCostCents <= 0) {
             return null;
         }
         
@@ -82,13 +307,16 @@ public class RentalService {
         String rentalId = rentalRepository.generateNextId();
         
         // Create rental
-        Rental rental = new Rental(rentalId, vehicleId, customerName.trim(), customerPhone.trim(), 
+        Rental rental = new Rental(rentalId, vehicleId, customerName, customerPhone, 
                                   startDate, endDate);
-        rental.setTotalCost(totalCost);
+        rental.setTotalCostCents(totalCostCents);
         rental.setActive(true);
         
         // Save rental and mark vehicle as rented
-        if (rentalRepository.save(rental) && vehicleService.rentVehicle(vehicleId)) {
+        if (rentalRepository.save(rental) && 
+            (onShard ? vehicleService.markRented(vehicleId) : vehicleService.rentVehicle(vehicleId))) {
+            revenueRollups.record(startDate, vehicleTypeOf(vehicleId), 0, totalCostCents, 1);
+            publish(RentalEventType.RENTAL_CREATED, rental);
             return rental;
         }
         
@@ -102,25 +330,63 @@ public class RentalService {
      * @return true if successfully completed, false otherwise
      */
     public boolean completeRental(String rentalId) {
-        if (rentalId == null || rentalId.trim().isEmpty()) {
-            return false;
-        }
-        
+        return timed(completeRentalTime, () -> {
+            if (rentalId == null || rentalId.trim().isEmpty()) {
+                return false;
+            }
+            // Only the vehicle ID is needed to pick the lock or shard, so read it from the snapshot
+            RentalSnapshot rental = rentalRepository.snapshotById(rentalId);
+            if (rental == null) {
+                return false;
+            }
+            return mutateVehicle(rental.getVehicleId(), onShard -> finishRental(rentalId, onShard));
+        });
+    }
+    
+    /**
+     * Complete a rental once the caller owns its vehicle
+     */
+    private boolean finishRental(String rentalId, boolean onShard) {
+        // Re-read under ownership so a concurrent return is seen
         Rental rental = rentalRepository.findById(rentalId);
         if (rental == null || !rental.isActive()) {
             return false;
         }
         
-        // Mark rental as inactive
-        rental.setActive(false);
-        
-        // Return the vehicle and update rental
-        return vehicleService.returnVehicle(rental.getVehicleId()) && 
-               rentalRepository.update(rental);
+        // Return the vehicle, then commit the rental as inactive
+        boolean returned = onShard ? vehicleService.markReturned(rental.getVehicleId())
+                                   : vehicleService.returnVehicle(rental.getVehicleId());
+        if (returned && rentalRepository.setActive(rentalId, false)) {
+            // Move the rental's revenue from active to completed on its start day
+            long cents = rental.getTotalCostCents();
+            revenueRollups.record(rental.getStartDate(), vehicleTypeOf(rental.getVehicleId()), cents, -cents, 0);
+            publish(RentalEventType.RENTAL_COMPLETED, rental);
+            return true;
+        }
+        return false;
     }
     
     /**
-     * Calculate rental cost
+     * Change the daily rate of a vehicle
+     * Runs on the vehicle's shard when sharding is enabled, so it is ordered with rentals.
+     * 
+     * @param vehicleId vehicle ID to update
+     * @param dailyRate new daily rate
+     * @return true if the rate was changed, false otherwise
+     */
+    public boolean changeDailyRate(String vehicleId, double dailyRate) {
+        return timed(changeDailyRateTime, () -> {
+            if (vehicleId == null || vehicleId.trim().isEmpty()) {
+                return false;
+            }
+            return mutateVehicle(vehicleId, onShard -> onShard
+                    ? vehicleService.applyDailyRate(vehicleId, dailyRate)
+                    : vehicleService.updateDailyRate(vehicleId, dailyRate));
+        });
+    }
+    
+    /**
+     * Calculate rental cost with the current price list
      * 
      * @param vehicleId ID of the vehicle
      * @param startDate rental start date
@@ -128,22 +394,96 @@ public class RentalService {
      * @return total rental cost
      */
     public double calculateRentalCost(String vehicleId, LocalDate startDate, LocalDate endDate) {
-        if (vehicleId == null || startDate == null || endDate == null || 
-            endDate.isBefore(startDate)) {
-            return 0.0;
-        }
-        
-        Vehicle vehicle = vehicleService.findVehicleById(vehicleId);
-        if (vehicle == null) {
-            return 0.0;
-        }
-        
-        long days = ChronoUnit.DAYS.between(startDate, endDate);
-        if (days == 0) {
-            days = 1; // Minimum 1 day rental
-        }
-        
-        return days * vehicle.getDailyRate();
+        return timed(calculateRentalCostTime, () -> {
+            if (vehicleId == null || startDate == null || endDate == null || 
+                endDate.isBefore(startDate)) {
+                return 0.0;
+            }
+            Vehicle vehicle = vehicleService.findVehicleById(vehicleId);
+            if (vehicle == null) {
+                return 0.0;
+            }
+            return pricingEngine.quote(vehicle, startDate, endDate);
+        });
+    }
+    
+    /**
+     * Create a new rental on the I/O executor
+     * 
+     * @param vehicleId ID of the vehicle to rent
+     * @param customerName name of the customer
+     * @param customerPhone customer's phone number
+     * @param startDate rental start date
+     * @param endDate rental end date
+     * @return future completing with the created rental, or null if it could not be created
+     */
+    public CompletableFuture<Rental> createRentalAsync(String vehicleId, String customerName, String customerPhone,
+                                                      LocalDate startDate, LocalDate endDate) {
+        return submitForVehicle(vehicleId,
+                () -> createRental(vehicleId, customerName, customerPhone, startDate, endDate));
+    }
+    
+    /**
+     * Complete a rental on the I/O executor
+     * 
+     * @param rentalId ID of the rental to complete
+     * @return future completing with true if the rental was completed
+     */
+    public CompletableFuture<Boolean> completeRentalAsync(String rentalId) {
+        // Lock-free read, so a caller on the FX thread never waits behind a writer
+        RentalSnapshot rental = rentalRepository.snapshotById(rentalId);
+        String vehicleId = rental != null ? rental.getVehicleId() : null;
+        return submitForVehicle(vehicleId, () -> completeRental(rentalId));
+    }
+    
+    /**
+     * Change the daily rate of a vehicle asynchronously
+     * 
+     * @param vehicleId vehicle ID to update
+     * @param dailyRate new daily rate
+     * @return future completing with true if the rate was changed
+     */
+    public CompletableFuture<Boolean> changeDailyRateAsync(String vehicleId, double dailyRate) {
+        return submitForVehicle(vehicleId, () -> changeDailyRate(vehicleId, dailyRate));
+    }
+    
+    /**
+     * Calculate rental cost on the I/O executor
+     * 
+     * @param vehicleId ID of the vehicle
+     * @param startDate rental start date
+     * @param endDate rental end date
+     * @return future completing with the total rental cost
+     */
+    public CompletableFuture<Double> calculateRentalCostAsync(String vehicleId, LocalDate startDate, LocalDate endDate) {
+        return CompletableFuture.supplyAsync(() -> calculateRentalCost(vehicleId, startDate, endDate), ioExecutor());
+    }
+    
+    /**
+     * Get all active rentals on the I/O executor
+     * 
+     * @return future completing with the list of active rentals
+     */
+    public CompletableFuture<List<Rental>> getActiveRentalsAsync() {
+        return CompletableFuture.supplyAsync(this::getActiveRentals, ioExecutor());
+    }
+    
+    /**
+     * Register a listener for rental changes
+     * 
+     * @param listener listener notified after rentals are added, updated or removed
+     */
+    public void addRentalListener(RepositoryListener<Rental> listener) {
+        rentalRepository.addListener(listener);
+    }
+    
+    /**
+     * Unregister a rental change listener
+     * 
+     * @param listener listener to remove
+     */
+    public void removeRentalListener(RepositoryListener<Rental> listener) {
+        rentalRepository.removeListener(listener);
     }
     
     /**
@@ -152,7 +492,33 @@ public class RentalService {
      * @return list of all rentals
      */
     public List<Rental> getAllRentals() {
-        return rentalRepository.findAll();
+        return timed(getAllRentalsTime, rentalRepository::findAll);
+    }
+    
+    /**
+     * Get immutable snapshots of all rentals
+     * The list is shared, not copied, so it is cheap to hand to caches and other threads.
+     * 
+     * @return unmodifiable list of rental snapshots
+     */
+    public List<RentalSnapshot> getRentalSnapshots() {
+        return timed(getRentalSnapshotsTime, rentalRepository::snapshotAll);
+    }
+    
+    /**
+     * Visit the rentals matching a filter without building a result list
+     * Rentals are visited in start date order, or in booking order for a vehicle filter.
+     * 
+     * @param filter rentals to visit
+     * @param action action run for each matching rental, outside the repository lock
+     */
+    public void forEachRental(RentalFilter filter, Consumer<Rental> action) {
+        timed(forEachRentalTime, () -> {
+            if (filter == null || action == null) {
+                throw new IllegalArgumentException("Filter and action cannot be null");
+            }
+            rentalRepository.forEach(filter, action);
+        });
     }
     
     /**
@@ -161,7 +527,7 @@ public class RentalService {
      * @return list of active rentals
      */
     public List<Rental> getActiveRentals() {
-        return rentalRepository.findActiveRentals();
+        return timed(getActiveRentalsTime, rentalRepository::findActiveRentals);
     }
     
     /**
@@ -171,10 +537,12 @@ public class RentalService {
      * @return rental if found, null otherwise
      */
     public Rental findRentalById(String id) {
-        if (id == null || id.trim().isEmpty()) {
-            return null;
-        }
-        return rentalRepository.findById(id);
+        return timed(findRentalByIdTime, () -> {
+            if (id == null || id.trim().isEmpty()) {
+                return null;
+            }
+            return rentalRepository.findById(id);
+        });
     }
     
     /**
@@ -184,10 +552,12 @@ public class RentalService {
      * @return list of rentals for the vehicle
      */
     public List<Rental> findRentalsByVehicleId(String vehicleId) {
-        if (vehicleId == null || vehicleId.trim().isEmpty()) {
-            return List.of();
-        }
-        return rentalRepository.findByVehicleId(vehicleId);
+        return timed(findRentalsByVehicleIdTime, () -> {
+            if (vehicleId == null || vehicleId.trim().isEmpty()) {
+                return List.of();
+            }
+            return rentalRepository.findByVehicleId(vehicleId);
+        });
     }
     
     /**
@@ -197,26 +567,52 @@ public class RentalService {
      * @return active rental if found, null otherwise
      */
     public Rental findActiveRentalByVehicleId(String vehicleId) {
-        if (vehicleId == null || vehicleId.trim().isEmpty()) {
-            return null;
-        }
-        return rentalRepository.findActiveRentalByVehicleId(vehicleId);
+        return timed(findActiveRentalByVehicleIdTime, () -> {
+            if (vehicleId == null || vehicleId.trim().isEmpty()) {
+                return null;
+            }
+            return rentalRepository.findActiveRentalByVehicleId(vehicleId);
+        });
     }
     
     /**
-     * Find rentals by customer name
+     * Find rentals by customer name, ignoring case
+     * Matches the name each rental was booked under, even when its phone number
+     * belongs to a customer stored under another name.
      * 
      * @param customerName customer name to search for
-     * @return list of rentals for the customer
+     * @return list of rentals for the customer, in stored order
      */
     public List<Rental> findRentalsByCustomer(String customerName) {
-        if (customerName == null || customerName.trim().isEmpty()) {
-            return List.of();
-        }
-        
-        return getAllRentals().stream()
-                .filter(rental -> rental.getCustomerName().equalsIgnoreCase(customerName.trim()))
-                .collect(Collectors.toList());
+        return timed(findRentalsByCustomerTime, () -> {
+            if (customerName == null || customerName.trim().isEmpty()) {
+                return List.of();
+            }
+            return rentalRepository.findByCustomerName(customerName);
+        });
+    }
+    
+    /**
+     * Find a stored customer by ID
+     * 
+     * @param customerId customer ID, as linked from a rental
+     * @return customer if found, null otherwise
+     */
+    public Customer findCustomerById(int customerId) {
+        return rentalRepository.getCustomerRepository().findById(customerId);
+    }
+    
+    /**
+     * Find rentals by customer phone number, ignoring its formatting
+     * 
+     * @param customerPhone customer phone number to search for
+     * @return list of rentals for the customer
+     */
+    public List<Rental> findRentalsByCustomerPhone(String customerPhone) {
+        return timed(findRentalsByCustomerPhoneTime, () -> {
+            Customer customer = rentalRepository.getCustomerRepository().findByPhone(customerPhone);
+            return customer == null ? List.of() : rentalRepository.findByCustomerId(customer.getId());
+        });
     }
     
     /**
@@ -227,14 +623,15 @@ public class RentalService {
      * @return list of rentals within the date range
      */
     public List<Rental> getRentalsInDateRange(LocalDate startDate, LocalDate endDate) {
-        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
-            return List.of();
-        }
-        
-        return getAllRentals().stream()
-                .filter(rental -> !rental.getStartDate().isAfter(endDate) && 
-                                !rental.getEndDate().isBefore(startDate))
-                .collect(Collectors.toList());
+        return timed(getRentalsInDateRangeTime, () -> {
+            if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+                return List.of();
+            }
+            return getAllRentals().stream()
+                    .filter(rental -> !rental.getStartDate().isAfter(endDate) && 
+                                    !rental.getEndDate().isBefore(startDate))
+                    .collect(Collectors.toList());
+        });
     }
     
     /**
@@ -243,10 +640,12 @@ public class RentalService {
      * @return list of overdue rentals
      */
     public List<Rental> getOverdueRentals() {
-        LocalDate today = LocalDate.now();
-        return getActiveRentals().stream()
-                .filter(rental -> rental.getEndDate().isBefore(today))
-                .collect(Collectors.toList());
+        return timed(getOverdueRentalsTime, () -> {
+            LocalDate today = LocalDate.now();
+            return getActiveRentals().stream()
+                    .filter(rental -> rental.getEndDate().isBefore(today))
+                    .collect(Collectors.toList());
+        });
     }
     
     /**
@@ -256,7 +655,7 @@ public class RentalService {
      * @return true if vehicle is currently rented, false otherwise
      */
     public boolean isVehicleCurrentlyRented(String vehicleId) {
-        return findActiveRentalByVehicleId(vehicleId) != null;
+        return timed(isVehicleCurrentlyRentedTime, () -> findActiveRentalByVehicleId(vehicleId) != null);
     }
     
     /**
@@ -265,7 +664,7 @@ public class RentalService {
      * @return total count of rentals
      */
     public int getTotalRentals() {
-        return rentalRepository.count();
+        return timed(getTotalRentalsTime, rentalRepository::count);
     }
     
     /**
@@ -274,7 +673,7 @@ public class RentalService {
      * @return count of active rentals
      */
     public int getActiveRentalsCount() {
-        return getActiveRentals().size();
+        return timed(getActiveRentalsCountTime, aggregates::getActiveCount);
     }
     
     /**
@@ -283,10 +682,7 @@ public class RentalService {
      * @return total revenue amount
      */
     public double getTotalRevenue() {
-        return getAllRentals().stream()
-                .filter(rental -> !rental.isActive()) // Only completed rentals
-                .mapToDouble(Rental::getTotalCost)
-                .sum();
+        return timed(getTotalRevenueTime, aggregates::getCompletedRevenue); // Only completed rentals
     }
     
     /**
@@ -295,8 +691,65 @@ public class RentalService {
      * @return potential revenue amount
      */
     public double getPotentialRevenue() {
-        return getActiveRentals().stream()
-                .mapToDouble(Rental::getTotalCost)
-                .sum();
+        return timed(getPotentialRevenueTime, aggregates::getPotentialRevenue);
+    }
+    
+    /**
+     * Get revenue per day and vehicle type, counting rentals on the day they start
+     * 
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return rollups in date order
+     */
+    public List<RevenueRollup> getDailyRevenue(LocalDate from, LocalDate to) {
+        return timed(getDailyRevenueTime, () -> revenueRollups.findDaily(from, to));
+    }
+    
+    /**
+     * Get revenue per month and vehicle type, counting rentals in the month they start
+     * 
+     * @param from first month, inclusive
+     * @param to last month, inclusive
+     * @return rollups in month order
+     */
+    public List<RevenueRollup> getMonthlyRevenue(YearMonth from, YearMonth to) {
+        return timed(getMonthlyRevenueTime, () -> revenueRollups.findMonthly(from, to));
+    }
+    
+    /**
+     * Rebuild the revenue rollups from the full rental history
+     */
+    public void rebuildRevenueRollups() {
+        timed(rebuildRevenueRollupsTime, this::replaceRevenueRollups);
+    }
+    
+    private void replaceRevenueRollups() {
+        List<RevenueRollupRepository.Entry> entries = new ArrayList<>();
+        for (Rental rental : rentalRepository.findAll()) {
+            long cents = rental.getTotalCostCents();
+            entries.add(new RevenueRollupRepository.Entry(rental.getStartDate(), vehicleTypeOf(rental.getVehicleId()),
+                rental.isActive() ? 0 : cents, rental.isActive() ? cents : 0));
+        }
+        revenueRollups.replaceAll(entries);
+    }
+    
+    /**
+     * Type name used to split revenue rollups
+     */
+    private String vehicleTypeOf(String vehicleId) {
+        Vehicle vehicle = vehicleService.findVehicleById(vehicleId);
+        if (vehicle == null) {
+            return "Unknown";
+        }
+        return VehicleCodecRegistry.typeOf(vehicle);
+    }
+    
+    /**
+     * Recompute the rental totals from all rentals and correct the running values
+     * 
+     * @return true if the running totals were already correct
+     */
+    public boolean reconcileAggregates() {
+        return timed(reconcileAggregatesTime, aggregates::reconcile);
     }
 }
@@ -0,0 +1,201 @@
+package com.carrent.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request Executor for running service requests off the caller's thread
+ *
+ * Each request handed to this executor (typically a call into RentalService
+ * or VehicleService) runs either on its own virtual thread or on a fixed pool
+ * of platform threads. Requests spend most of their time blocked on CSV file
+ * rewrites, so virtual threads let many of them wait on I/O at once without
+ * tying up an OS thread each. The repositories guard their state with
+ * ReentrantReadWriteLock rather than synchronized for the same reason: a
+ * virtual thread that blocks in a file write while holding the lock does not
+ * pin its carrier thread.
+ *
+ * The mode can be chosen explicitly or read from system properties so both
+ * modes can be compared on the same deployment:
+ * -Dcarrent.executor.mode=virtual|platform
+ * -Dcarrent.executor.poolSize=N (platform mode only)
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RequestExecutor implements Executor, AutoCloseable {
+
+    /**
+     * Threading model used to run requests
+     */
+    public enum Mode {
+        VIRTUAL,
+        PLATFORM
+    }
+
+    public static final String MODE_PROPERTY = "carrent.executor.mode";
+    public static final String POOL_SIZE_PROPERTY = "carrent.executor.poolSize";
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final Mode mode;
+    private final int poolSize;
+    private final ExecutorService executor;
+
+    /**
+     * Create an executor using the given mode
+     *
+     * @param mode threading model to use
+     * @param poolSize number of platform threads (ignored in virtual mode)
+     */
+    public RequestExecutor(Mode mode, int poolSize) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Executor mode cannot be null");
+        }
+        if (mode == Mode.PLATFORM && poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.mode = mode;
+        this.poolSize = mode == Mode.PLATFORM ? poolSize : 0;
+
+        if (mode == Mode.VIRTUAL) {
+            ThreadFactory factory = Thread.ofVirtual().name("carrent-request-", 0).factory();
+            this.executor = Executors.newThreadPerTaskExecutor(factory);
+        } else {
+            this.executor = Executors.newFixedThreadPool(poolSize, new PlatformThreadFactory());
+        }
+    }
+
+    /**
+     * Lazily created executor shared by services without a dedicated one
+     */
+    private static class Shared {
+        static final RequestExecutor INSTANCE = fromSystemProperties();
+    }
+
+    /**
+     * Get the executor shared by services that were not given their own
+     * Created from system properties on first use and never closed.
+     *
+     * @return shared request executor
+     */
+    public static RequestExecutor shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Create an executor configured from system properties
+     * Defaults to virtual threads; the platform pool defaults to one thread per core.
+     *
+     * @return configured request executor
+     */
+    public static RequestExecutor fromSystemProperties() {
+        String modeValue = System.getProperty(MODE_PROPERTY, Mode.VIRTUAL.name());
+        Mode mode;
+        try {
+            mode = Mode.valueOf(modeValue.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown executor mode '" + modeValue + "', using virtual threads");
+            mode = Mode.VIRTUAL;
+        }
+
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        String poolValue = System.getProperty(POOL_SIZE_PROPERTY);
+        if (poolValue != null) {
+            try {
+                poolSize = Integer.parseInt(poolValue.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid executor pool size '" + poolValue + "', using " + poolSize);
+            }
+        }
+        return new RequestExecutor(mode, poolSize);
+    }
+
+    /**
+     * Submit a request for execution
+     *
+     * @param request the request to run
+     * @return future holding the request's result
+     */
+    public <T> Future<T> submit(Callable<T> request) {
+        return executor.submit(request);
+    }
+
+    /**
+     * Run a request on this executor and wait for its result
+     *
+     * @param request the request to run
+     * @return the request's result
+     */
+    public <T> T call(Callable<T> request) {
+        try {
+            return submit(request).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Request failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Stop accepting requests and wait for in-flight ones to finish
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.VIRTUAL
+                ? "RequestExecutor{mode=VIRTUAL}"
+                : "RequestExecutor{mode=PLATFORM, poolSize=" + poolSize + "}";
+    }
+
+    /**
+     * Names platform worker threads and keeps them from blocking JVM exit
+     */
+    private static class PlatformThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "carrent-request-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.carrent.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sharded Mutation Engine for single-writer vehicle updates
+ *
+ * Every mutation for a vehicle (rent, return, rate change) is routed to one
+ * of N single-threaded shards chosen by hashing the vehicle ID. All changes
+ * to one vehicle therefore run in order on the same thread and need no lock
+ * between them, while different vehicles are processed in parallel.
+ * Results are handed back through futures.
+ *
+ * Sharding is off unless -Dcarrent.sharding.shards is set. Synchronous
+ * callers go through execute, which runs inline on the owning shard and
+ * refuses to block one shard on another: two shards waiting on each other
+ * would never finish.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class ShardedMutationEngine implements AutoCloseable {
+
+    public static final String SHARDS_PROPERTY = "carrent.sharding.shards";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService[] shards;
+    private final Thread[] shardThreads;
+
+    /**
+     * Create an engine with one shard per available core
+     */
+    public ShardedMutationEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create an engine with the given number of shards
+     *
+     * @param shardCount number of single-threaded shards
+     */
+    public ShardedMutationEngine(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new ExecutorService[shardCount];
+        this.shardThreads = new Thread[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            final int shard = i;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "carrent-shard-" + shard);
+                    thread.setDaemon(true);
+                    shardThreads[shard] = thread;
+                    return thread;
+                });
+            // Start the thread here so every shard's owner is known before the engine is shared
+            executor.prestartAllCoreThreads();
+            shards[i] = executor;
+        }
+    }
+
+    /**
+     * Create an engine if the shard count property is set
+     *
+     * @return engine with the configured number of shards, or null if sharding is off
+     */
+    public static ShardedMutationEngine fromSystemProperties() {
+        String value = System.getProperty(SHARDS_PROPERTY);
+        if (value == null) {
+            return null;
+        }
+        try {
+            int shardCount = Integer.parseInt(value.trim());
+            return shardCount > 0 ? new ShardedMutationEngine(shardCount) : null;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid shard count '" + value + "', sharding disabled");
+            return null;
+        }
+    }
+
+    /**
+     * Get the shard responsible for a vehicle
+     *
+     * @param vehicleId vehicle ID to route
+     * @return shard index between 0 and shard count - 1
+     */
+    public int shardFor(String vehicleId) {
+        if (vehicleId == null) {
+            throw new IllegalArgumentException("Vehicle ID cannot be null");
+        }
+        int hash = vehicleId.hashCode();
+        hash ^= (hash >>> 16); // Spread the high bits, short IDs differ mostly in the low ones
+        return Math.floorMod(hash, shards.length);
+    }
+
+    /**
+     * Run a mutation on the shard that owns the vehicle
+     *
+     * @param vehicleId vehicle the mutation applies to
+     * @param mutation the mutation to run
+     * @return future completing with the mutation's result
+     */
+    public <T> CompletableFuture<T> submit(String vehicleId, Supplier<T> mutation) {
+        return CompletableFuture.supplyAsync(mutation, shards[shardFor(vehicleId)]);
+    }
+
+    /**
+     * Run a mutation on the shard that owns the vehicle and wait for its result
+     * Runs inline when called from the owning shard.
+     *
+     * @param vehicleId vehicle the mutation applies to
+     * @param mutation the mutation to run
+     * @return the mutation's result
+     * @throws IllegalStateException if called from another vehicle's shard
+     */
+    public <T> T execute(String vehicleId, Supplier<T> mutation) {
+        if (isOwnerThread(vehicleId)) {
+            return mutation.get();
+        }
+        if (isShardThread()) {
+            throw new IllegalStateException("Cannot wait for vehicle " + vehicleId + " on "
+                    + Thread.currentThread().getName() + "; submit the mutation instead");
+        }
+        return submit(vehicleId, mutation).join();
+    }
+
+    /**
+     * Check whether the calling thread is the owner of a vehicle's shard
+     *
+     * @param vehicleId vehicle ID to check
+     * @return true if called from the vehicle's shard thread
+     */
+    public boolean isOwnerThread(String vehicleId) {
+        return Thread.currentThread() == shardThreads[shardFor(vehicleId)];
+    }
+
+    /**
+     * Check whether the calling thread is one of the shard threads
+     *
+     * @return true if called from any shard
+     */
+    public boolean isShardThread() {
+        Thread current = Thread.currentThread();
+        for (Thread thread : shardThreads) {
+            if (thread == current) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Stop accepting mutations and drain the shards
+     */
+    @Override
+    public void close() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        try {
+            for (ExecutorService shard : shards) {
+                if (!shard.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    shard.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            for (ExecutorService shard : shards) {
+                shard.shutdownNow();
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+}
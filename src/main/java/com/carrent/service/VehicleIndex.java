@@ -0,0 +1,271 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import com.carrent.repository.RepositoryListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Sorted in-memory indexes over the fleet used to answer paged vehicle queries
+ *
+ * One sorted list is kept per sort key that has been asked for, built on first
+ * use and then maintained from repository change events with a binary-search
+ * insert, so a booking costs a shift instead of a re-sort. The filtered
+ * result of the last query is materialized once and then patched by the same
+ * change events, so renting a vehicle does not rebuild it. Text searches
+ * start from the text index matches and only sort those; their cached result
+ * is dropped on change, since only the text index knows whether the changed
+ * vehicle still matches.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+class VehicleIndex implements RepositoryListener<Vehicle> {
+
+    private final Supplier<List<Vehicle>> source;
+    private final Function<String, List<Vehicle>> textSearch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<VehicleSortKey, List<Vehicle>> sorted = new EnumMap<>(VehicleSortKey.class);
+
+    // Bumped on every change; the cached filter result is kept in step with it
+    private long version;
+    private VehicleQuery cachedQuery;
+    private List<Vehicle> cachedResult;
+    private long cachedVersion = -1;
+
+    /**
+     * @param source supplies the full fleet when an index is first built
+     * @param textSearch finds the vehicles matching a search text, in any order
+     */
+    VehicleIndex(Supplier<List<Vehicle>> source, Function<String, List<Vehicle>> textSearch) {
+        this.source = source;
+        this.textSearch = textSearch;
+    }
+
+    /**
+     * Read one page of a query result
+     */
+    VehiclePage page(VehicleQuery query, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
+        lock.lock();
+        try {
+            List<Vehicle> page = new ArrayList<>(Math.min(limit, 256));
+            int total;
+            if (query.hasFilter()) {
+                List<Vehicle> result = filtered(query);
+                total = result.size();
+                for (int i = offset; i < total && page.size() < limit; i++) {
+                    page.add(result.get(i));
+                }
+            } else {
+                List<Vehicle> base = sortedBy(query.getSortKey());
+                total = base.size();
+                for (int i = offset; i < total && page.size() < limit; i++) {
+                    page.add(base.get(query.isAscending() ? i : total - 1 - i));
+                }
+            }
+            return new VehiclePage(offset, total, version, page);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Count the vehicles matching a query
+     */
+    int count(VehicleQuery query) {
+        lock.lock();
+        try {
+            return query.hasFilter() ? filtered(query).size() : sortedBy(query.getSortKey()).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Find where a vehicle is, or would be, in a query's result order
+     * A removed vehicle is placed where it was, as long as its sort fields are unchanged.
+     */
+    int position(VehicleQuery query, Vehicle vehicle) {
+        lock.lock();
+        try {
+            if (query.hasFilter()) {
+                int found = Collections.binarySearch(filtered(query), vehicle, orderOf(query));
+                return found >= 0 ? found : -found - 1;
+            }
+            List<Vehicle> base = sortedBy(query.getSortKey());
+            int found = Collections.binarySearch(base, vehicle, query.getSortKey().comparator());
+            if (found >= 0) {
+                return query.isAscending() ? found : base.size() - 1 - found;
+            }
+            int insertion = -found - 1;
+            return query.isAscending() ? insertion : base.size() - insertion;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long version() {
+        lock.lock();
+        try {
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Vehicle> sortedBy(VehicleSortKey key) {
+        List<Vehicle> list = sorted.get(key);
+        if (list == null) {
+            list = new ArrayList<>(source.get());
+            list.sort(key.comparator());
+            sorted.put(key, list);
+        }
+        return list;
+    }
+
+    private List<Vehicle> filtered(VehicleQuery query) {
+        if (cachedVersion == version && query.equals(cachedQuery)) {
+            return cachedResult;
+        }
+        List<Vehicle> result = new ArrayList<>();
+        List<Vehicle> base = sortedBy(query.getSortKey());
+        int size = base.size();
+        Set<String> textMatches = null;
+        if (query.getSearchText() != null) {
+            List<Vehicle> found = textSearch.apply(query.getSearchText());
+            if ((long) found.size() * log2(found.size()) < size) {
+                // Few matches: sorting them is cheaper than walking the whole sorted list
+                for (Vehicle vehicle : found) {
+                    if (query.matches(vehicle)) {
+                        result.add(vehicle);
+                    }
+                }
+                result.sort(orderOf(query));
+                return cache(query, result);
+            }
+            textMatches = new HashSet<>();
+            for (Vehicle vehicle : found) {
+                textMatches.add(vehicle.getId());
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            Vehicle vehicle = base.get(query.isAscending() ? i : size - 1 - i);
+            if (query.matches(vehicle) && (textMatches == null || textMatches.contains(vehicle.getId()))) {
+                result.add(vehicle);
+            }
+        }
+        return cache(query, result);
+    }
+
+    private List<Vehicle> cache(VehicleQuery query, List<Vehicle> result) {
+        cachedQuery = query;
+        cachedResult = result;
+        cachedVersion = version;
+        return result;
+    }
+
+    /**
+     * Patch the cached filter result for one changed vehicle, before the version is bumped
+     *
+     * @param vehicle the vehicle in its new state
+     * @param present false if the vehicle was removed
+     */
+    private void patchCachedResult(Vehicle vehicle, boolean present) {
+        if (cachedResult == null || cachedVersion != version) {
+            return;
+        }
+        if (cachedQuery.getSearchText() != null) {
+            cachedResult = null;
+            cachedVersion = -1;
+            return;
+        }
+        removeById(cachedResult, vehicle.getId());
+        if (present && cachedQuery.matches(vehicle)) {
+            insert(cachedResult, vehicle, orderOf(cachedQuery));
+        }
+        cachedVersion = version + 1;
+    }
+
+    private static Comparator<Vehicle> orderOf(VehicleQuery query) {
+        Comparator<Vehicle> ascending = query.getSortKey().comparator();
+        return query.isAscending() ? ascending : ascending.reversed();
+    }
+
+    private static int log2(int n) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, n));
+    }
+
+    @Override
+    public void onAdded(Vehicle vehicle) {
+        lock.lock();
+        try {
+            for (Map.Entry<VehicleSortKey, List<Vehicle>> entry : sorted.entrySet()) {
+                insert(entry.getValue(), vehicle, entry.getKey().comparator());
+            }
+            patchCachedResult(vehicle, true);
+            version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onUpdated(Vehicle vehicle) {
+        lock.lock();
+        try {
+            // The sort key may have changed in place, so the old position is found by ID
+            for (Map.Entry<VehicleSortKey, List<Vehicle>> entry : sorted.entrySet()) {
+                removeById(entry.getValue(), vehicle.getId());
+                insert(entry.getValue(), vehicle, entry.getKey().comparator());
+            }
+            patchCachedResult(vehicle, true);
+            version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onRemoved(Vehicle vehicle) {
+        lock.lock();
+        try {
+            for (List<Vehicle> list : sorted.values()) {
+                removeById(list, vehicle.getId());
+            }
+            patchCachedResult(vehicle, false);
+            version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void insert(List<Vehicle> list, Vehicle vehicle, Comparator<Vehicle> order) {
+        int position = Collections.binarySearch(list, vehicle, order);
+        if (position >= 0) {
+            list.set(position, vehicle);
+        } else {
+            list.add(-position - 1, vehicle);
+        }
+    }
+
+    private static void removeById(List<Vehicle> list, String vehicleId) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).getId().equals(vehicleId)) {
+                list.remove(i);
+                return;
+            }
+        }
+    }
+}
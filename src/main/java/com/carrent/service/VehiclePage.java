@@ -0,0 +1,67 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import java.util.List;
+
+/**
+ * One page of a vehicle query result
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class VehiclePage {
+
+    private final int offset;
+    private final int totalCount;
+    private final long version;
+    private final List<Vehicle> vehicles;
+
+    VehiclePage(int offset, int totalCount, long version, List<Vehicle> vehicles) {
+        this.offset = offset;
+        this.totalCount = totalCount;
+        this.version = version;
+        this.vehicles = List.copyOf(vehicles);
+    }
+
+    /**
+     * Get the position of the first vehicle of this page in the full result
+     *
+     * @return page offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the number of vehicles matching the query across all pages
+     *
+     * @return total result size
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Get the fleet version the page was read at
+     * Pages with different versions may not line up if vehicles changed in between.
+     *
+     * @return fleet version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Vehicle> getVehicles() {
+        return vehicles;
+    }
+
+    /**
+     * Create a copy of this page with its rows replaced
+     *
+     * @param vehicles new rows, same positions as the current ones
+     * @return page with the same offset, total and version
+     */
+    public VehiclePage withVehicles(List<Vehicle> vehicles) {
+        return new VehiclePage(offset, totalCount, version, vehicles);
+    }
+}
@@ -0,0 +1,139 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import java.util.Objects;
+
+/**
+ * Immutable description of a vehicle listing: sort order and filters
+ *
+ * Queries are evaluated by VehicleService so that only the requested page
+ * of results ever leaves the service layer.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class VehicleQuery {
+
+    private static final VehicleQuery ALL = new VehicleQuery(VehicleSortKey.ID, true, false, null, null);
+
+    private final VehicleSortKey sortKey;
+    private final boolean ascending;
+    private final boolean availableOnly;
+    private final String make;
+    private final String searchText;
+
+    private VehicleQuery(VehicleSortKey sortKey, boolean ascending, boolean availableOnly, String make,
+                         String searchText) {
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        this.availableOnly = availableOnly;
+        this.make = make;
+        this.searchText = searchText;
+    }
+
+    /**
+     * Query for all vehicles ordered by ID
+     *
+     * @return the unfiltered query
+     */
+    public static VehicleQuery all() {
+        return ALL;
+    }
+
+    public VehicleQuery sortedBy(VehicleSortKey sortKey, boolean ascending) {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Sort key cannot be null");
+        }
+        return new VehicleQuery(sortKey, ascending, availableOnly, make, searchText);
+    }
+
+    public VehicleQuery availableOnly(boolean availableOnly) {
+        return new VehicleQuery(sortKey, ascending, availableOnly, make, searchText);
+    }
+
+    /**
+     * Restrict the query to one make (case-insensitive)
+     *
+     * @param make make to match, or null/empty for any make
+     * @return new query with the make filter
+     */
+    public VehicleQuery withMake(String make) {
+        String normalized = make == null || make.trim().isEmpty() ? null : make.trim();
+        return new VehicleQuery(sortKey, ascending, availableOnly, normalized, searchText);
+    }
+
+    /**
+     * Restrict the query to vehicles whose ID, make, model or display name contain the text
+     *
+     * @param searchText whitespace separated search terms, or null/empty for no text filter
+     * @return new query with the text filter
+     */
+    public VehicleQuery withSearchText(String searchText) {
+        String normalized = searchText == null || searchText.trim().isEmpty() ? null : searchText.trim();
+        return new VehicleQuery(sortKey, ascending, availableOnly, make, normalized);
+    }
+
+    public VehicleSortKey getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public boolean isAvailableOnly() {
+        return availableOnly;
+    }
+
+    public String getMake() {
+        return make;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    /**
+     * Check whether the query filters out any vehicles
+     *
+     * @return true if at least one filter is set
+     */
+    public boolean hasFilter() {
+        return availableOnly || make != null || searchText != null;
+    }
+
+    /**
+     * Check whether a vehicle passes the query's availability and make filters
+     * The search text is matched separately through the vehicle text index.
+     *
+     * @param vehicle vehicle to test
+     * @return true if the vehicle matches
+     */
+    public boolean matches(Vehicle vehicle) {
+        if (availableOnly && !vehicle.isAvailable()) {
+            return false;
+        }
+        return make == null || make.equalsIgnoreCase(vehicle.getMake());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VehicleQuery that = (VehicleQuery) o;
+        return ascending == that.ascending && availableOnly == that.availableOnly &&
+               sortKey == that.sortKey && Objects.equals(make, that.make) &&
+               Objects.equals(searchText, that.searchText);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortKey, ascending, availableOnly, make, searchText);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VehicleQuery{sort=%s %s, availableOnly=%s, make='%s', search='%s'}",
+                sortKey, ascending ? "ASC" : "DESC", availableOnly, make, searchText);
+    }
+}
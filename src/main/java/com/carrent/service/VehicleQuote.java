@@ -0,0 +1,37 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+
+/**
+ * A vehicle and its price for the requested dates
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class VehicleQuote {
+
+    private final Vehicle vehicle;
+    private final long cents;
+
+    VehicleQuote(Vehicle vehicle, long cents) {
+        this.vehicle = vehicle;
+        this.cents = cents;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public double getPrice() {
+        return cents / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VehicleQuote{vehicle='%s', price=%.2f}", vehicle.getId(), getPrice());
+    }
+}
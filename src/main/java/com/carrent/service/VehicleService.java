@@ -1,8 +1,18 @@
 package com.carrent.service;
 
+import com.carrent.event.RentalEventBus;
+import com.carrent.event.RentalEventType;
+import com.carrent.model.Money;
 import com.carrent.model.Vehicle;
+import com.carrent.model.VehicleSnapshot;
+import com.carrent.repository.RepositoryListener;
 import com.carrent.repository.VehicleRepository;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -18,20 +28,110 @@ public class VehicleService {
     
     private final VehicleRepository vehicleRepository;
     
+    // Sorted views backing the paged query API
+    private final VehicleIndex vehicleIndex;
+    
+    // Running available/rented counts
+    private final FleetCounters fleetCounters;
+    
+    // Guards availability flips so two requests cannot rent the same vehicle
+    private final ReentrantLock statusLock = new ReentrantLock();
+    
+    // Bumped whenever a daily rate may have changed, so cached prices can be told apart
+    private final AtomicLong rateVersion = new AtomicLong();
+    
+    // Optional lifecycle event bus; null disables publishing
+    private volatile RentalEventBus eventBus;
+    
+    // Optional single-writer shards; when set, status and rate changes bypass statusLock
+    private volatile ShardedMutationEngine mutationEngine;
+    
+    // Runs the *Async operations; null means the shared request executor
+    private final Executor ioExecutor;
+    
     /**
      * Constructor with dependency injection
      * 
      * @param vehicleRepository the vehicle repository to use
      */
     public VehicleService(VehicleRepository vehicleRepository) {
+        this(vehicleRepository, null);
+    }
+    
+    /**
+     * Constructor with dependency injection and a dedicated I/O executor
+     * 
+     * @param vehicleRepository the vehicle repository to use
+     * @param ioExecutor executor for asynchronous operations (null for the shared request executor)
+     */
+    public VehicleService(VehicleRepository vehicleRepository, Executor ioExecutor) {
         this.vehicleRepository = vehicleRepository;
+        this.ioExecutor = ioExecutor;
+        this.vehicleIndex = new VehicleIndex(vehicleRepository::findAll, vehicleRepository::search);
+        vehicleRepository.addListener(vehicleIndex);
+        this.fleetCounters = new FleetCounters(vehicleRepository::findAll);
+        vehicleRepository.addListener(fleetCounters);
+        fleetCounters.seed();
     }
     
     /**
      * Default constructor - creates its own repository
      */
     public VehicleService() {
-        this.vehicleRepository = new VehicleRepository();
+        this(new VehicleRepository());
+    }
+    
+    private Executor ioExecutor() {
+        return ioExecutor != null ? ioExecutor : RequestExecutor.shared();
+    }
+    
+    /**
+     * Publish vehicle lifecycle events to the given bus
+     * 
+     * @param eventBus bus to publish to, or null to stop publishing
+     */
+    public void setEventBus(RentalEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    /**
+     * Run status and rate changes on single-writer shards instead of the status lock
+     * The caller owns the engine and is responsible for closing it.
+     * 
+     * @param mutationEngine engine to use, or null to go back to the status lock
+     */
+    public void setMutationEngine(ShardedMutationEngine mutationEngine) {
+        this.mutationEngine = mutationEngine;
+    }
+    
+    public ShardedMutationEngine getMutationEngine() {
+        return mutationEngine;
+    }
+    
+    private void publish(RentalEventType type, Vehicle vehicle) {
+        RentalEventBus bus = eventBus;
+        if (bus != null) {
+            // Status changes must not wait on the audit log; a full ring drops the event
+            bus.tryPublish(type, null, vehicle.getId(), vehicle.getDailyRateCents(), vehicle.isAvailable());
+        }
+    }
+    
+    /**
+     * Register a listener for vehicle changes
+     * 
+     * @param listener listener notified after vehicles are added, updated or removed
+     */
+    public void addVehicleListener(RepositoryListener<Vehicle> listener) {
+        vehicleRepository.addListener(listener);
+    }
+    
+    /**
+     * Unregister a vehicle change listener
+     * 
+     * @param listener listener to remove
+     */
+    public void removeVehicleListener(RepositoryListener<Vehicle> listener) {
+        vehicleRepository.removeListener(listener);
     }
     
     /**
@@ -43,6 +143,77 @@ public class VehicleService {
         return vehicleRepository.findAll();
     }
     
+    /**
+     * Get immutable snapshots of all vehicles
+     * The list is shared, not copied, so it is cheap to hand to caches and other threads.
+     * 
+     * @return unmodifiable list of vehicle snapshots
+     */
+    public List<VehicleSnapshot> getVehicleSnapshots() {
+        return vehicleRepository.snapshotAll();
+    }
+    
+    /**
+     * Get one page of vehicles matching a query
+     * Sorting and filtering happen here, so callers only hold the rows they display.
+     * 
+     * @param query sort order and filters
+     * @param offset position of the first vehicle to return
+     * @param limit maximum number of vehicles to return
+     * @return the requested page along with the total result size
+     */
+    public VehiclePage findVehicles(VehicleQuery query, int offset, int limit) {
+        return vehicleIndex.page(query == null ? VehicleQuery.all() : query, offset, limit);
+    }
+    
+    /**
+     * Count the vehicles matching a query
+     * 
+     * @param query sort order and filters
+     * @return number of matching vehicles
+     */
+    public int countVehicles(VehicleQuery query) {
+        return vehicleIndex.count(query == null ? VehicleQuery.all() : query);
+    }
+    
+    /**
+     * Find where a vehicle is, or would be, in a query's result
+     * Lets a paged view place a single added or removed row without re-reading its pages.
+     * 
+     * @param query sort order and filters
+     * @param vehicle vehicle to place; a removed vehicle is placed where it was
+     * @return position in the sorted result
+     */
+    public int findVehiclePosition(VehicleQuery query, Vehicle vehicle) {
+        return vehicleIndex.position(query == null ? VehicleQuery.all() : query, vehicle);
+    }
+    
+    /**
+     * Get a version number that changes whenever a daily rate may have changed
+     * Prices computed under one rate version stay valid until it changes.
+     * 
+     * @return current rate version
+     */
+    public long getRateVersion() {
+        return rateVersion.get();
+    }
+    
+    /**
+     * Start a new rate version, e.g. after the price list changed
+     */
+    void invalidateRates() {
+        rateVersion.incrementAndGet();
+    }
+    
+    /**
+     * Get a version number that changes whenever the fleet changes
+     * 
+     * @return current fleet version
+     */
+    public long getFleetVersion() {
+        return vehicleIndex.version();
+    }
+    
     /**
      * Get all available vehicles
      * 
@@ -72,16 +243,63 @@ public class VehicleService {
      * @return true if vehicle is available, false otherwise
      */
     public boolean isVehicleAvailable(String vehicleId) {
-        Vehicle vehicle = findVehicleById(vehicleId);
+        // Snapshot lookups do not lock, so availability checks never wait on a file save
+        VehicleSnapshot vehicle = vehicleRepository.snapshotById(vehicleId);
         return vehicle != null && vehicle.isAvailable();
     }
-      /**
+    /**
      * Rent a vehicle (mark as not available)
      * 
      * @param vehicleId vehicle ID to rent
      * @return true if successfully rented, false otherwise
      */
     public boolean rentVehicle(String vehicleId) {
+        return mutate(vehicleId, () -> markRented(vehicleId));
+    }
+    
+    /**
+     * Return a vehicle (mark as available)
+     * 
+     * @param vehicleId vehicle ID to return
+     * @return true if successfully returned, false otherwise
+     */
+    public boolean returnVehicle(String vehicleId) {
+        return mutate(vehicleId, () -> markReturned(vehicleId));
+    }
+    
+    /**
+     * Change the daily rate of a vehicle
+     * 
+     * @param vehicleId vehicle ID to update
+     * @param dailyRate new daily rate
+     * @return true if the rate was changed, false otherwise
+     */
+    public boolean updateDailyRate(String vehicleId, double dailyRate) {
+        return mutate(vehicleId, () -> applyDailyRate(vehicleId, dailyRate));
+    }
+    
+    /**
+     * Run a status or rate change on the vehicle's shard when sharding is enabled, otherwise under the status lock
+     */
+    private boolean mutate(String vehicleId, Supplier<Boolean> mutation) {
+        ShardedMutationEngine engine = mutationEngine;
+        if (engine != null && vehicleId != null) {
+            return engine.execute(vehicleId, mutation);
+        }
+        
+        statusLock.lock();
+        try {
+            return mutation.get();
+        } finally {
+            statusLock.unlock();
+        }
+    }
+    
+    /**
+     * Mark a vehicle as rented without taking the status lock
+     * Callers must already own the vehicle, e.g. by running on its mutation shard.
+     */
+    boolean markRented(String vehicleId) {
         System.out.println("VehicleService: Attempting to rent vehicle: " + vehicleId);
         Vehicle vehicle = findVehicleById(vehicleId);
         if (vehicle == null) {
@@ -95,18 +313,19 @@ public class VehicleService {
         }
         
         System.out.println("VehicleService: Setting vehicle as unavailable: " + vehicleId);
-        vehicle.setAvailable(false);
-        boolean success = vehicleRepository.update(vehicle);
+        boolean success = vehicleRepository.setAvailable(vehicleId, false);
         System.out.println("VehicleService: Update result for vehicle " + vehicleId + ": " + success);
+        if (success) {
+            publish(RentalEventType.VEHICLE_STATUS_CHANGED, vehicle);
+        }
         return success;
     }
-      /**
-     * Return a vehicle (mark as available)
-     * 
-     * @param vehicleId vehicle ID to return
-     * @return true if successfully returned, false otherwise
+    
+    /**
+     * Mark a vehicle as available without taking the status lock
+     * Callers must already own the vehicle, e.g. by running on its mutation shard.
      */
-    public boolean returnVehicle(String vehicleId) {
+    boolean markReturned(String vehicleId) {
         System.out.println("VehicleService: Attempting to return vehicle: " + vehicleId);
         Vehicle vehicle = findVehicleById(vehicleId);
         if (vehicle == null) {
@@ -115,9 +334,31 @@ public class VehicleService {
         }
         
         System.out.println("VehicleService: Setting vehicle as available: " + vehicleId);
-        vehicle.setAvailable(true);
-        boolean success = vehicleRepository.update(vehicle);
+        boolean success = vehicleRepository.setAvailable(vehicleId, true);
         System.out.println("VehicleService: Update result for vehicle " + vehicleId + ": " + success);
+        if (success) {
+            publish(RentalEventType.VEHICLE_STATUS_CHANGED, vehicle);
+        }
+        return success;
+    }
+    
+    /**
+     * Change a vehicle's daily rate without taking the status lock
+     * Callers must already own the vehicle, e.g. by running on its mutation shard.
+     */
+    boolean applyDailyRate(String vehicleId, double dailyRate) {
+        if (dailyRate <= 0) {
+            return false;
+        }
+        Vehicle vehicle = findVehicleById(vehicleId);
+        if (vehicle == null) {
+            return false;
+        }
+        boolean success = vehicleRepository.setDailyRateCents(vehicleId, Money.toCents(dailyRate));
+        rateVersion.incrementAndGet();
+        if (success) {
+            publish(RentalEventType.VEHICLE_RATE_CHANGED, vehicle);
+        }
         return success;
     }
     
@@ -139,7 +380,11 @@ public class VehicleService {
             return false;
         }
         
-        return vehicleRepository.save(vehicle);
+        boolean success = vehicleRepository.save(vehicle);
+        if (success) {
+            publish(RentalEventType.VEHICLE_ADDED, vehicle);
+        }
+        return success;
     }
     
     /**
@@ -160,7 +405,12 @@ public class VehicleService {
             return false;
         }
         
-        return vehicleRepository.update(vehicle);
+        boolean success = vehicleRepository.update(vehicle);
+        if (success) {
+            rateVersion.incrementAndGet();
+            publish(RentalEventType.VEHICLE_UPDATED, vehicle);
+        }
+        return success;
     }
     
     /**
@@ -174,13 +424,67 @@ public class VehicleService {
             return false;
         }
         
-        // Check if vehicle exists and is not currently rented
+        // Check and delete under the same lock or shard as renting, so a vehicle rented in between is kept
+        return mutate(vehicleId, () -> removeVehicle(vehicleId));
+    }
+    
+    /**
+     * Delete a vehicle that is not rented without taking the status lock
+     * Callers must already own the vehicle, e.g. by running on its mutation shard.
+     */
+    private boolean removeVehicle(String vehicleId) {
         Vehicle vehicle = findVehicleById(vehicleId);
         if (vehicle == null || !vehicle.isAvailable()) {
             return false; // Cannot delete a rented vehicle
         }
         
-        return vehicleRepository.deleteById(vehicleId);
+        boolean success = vehicleRepository.deleteById(vehicleId);
+        if (success) {
+            rateVersion.incrementAndGet();
+            publish(RentalEventType.VEHICLE_REMOVED, vehicle);
+        }
+        return success;
+    }
+    
+    /**
+     * Add a new vehicle on the I/O executor
+     * 
+     * @param vehicle vehicle to add
+     * @return future completing with true if the vehicle was added
+     */
+    public CompletableFuture<Boolean> addVehicleAsync(Vehicle vehicle) {
+        return CompletableFuture.supplyAsync(() -> addVehicle(vehicle), ioExecutor());
+    }
+    
+    /**
+     * Update an existing vehicle on the I/O executor
+     * 
+     * @param vehicle vehicle to update
+     * @return future completing with true if the vehicle was updated
+     */
+    public CompletableFuture<Boolean> updateVehicleAsync(Vehicle vehicle) {
+        return CompletableFuture.supplyAsync(() -> updateVehicle(vehicle), ioExecutor());
+    }
+    
+    /**
+     * Delete a vehicle on the I/O executor
+     * 
+     * @param vehicleId vehicle ID to delete
+     * @return future completing with true if the vehicle was deleted
+     */
+    public CompletableFuture<Boolean> deleteVehicleAsync(String vehicleId) {
+        return CompletableFuture.supplyAsync(() -> deleteVehicle(vehicleId), ioExecutor());
+    }
+    
+    /**
+     * Change the daily rate of a vehicle on the I/O executor
+     * 
+     * @param vehicleId vehicle ID to update
+     * @param dailyRate new daily rate
+     * @return future completing with true if the rate was changed
+     */
+    public CompletableFuture<Boolean> updateDailyRateAsync(String vehicleId, double dailyRate) {
+        return CompletableFuture.supplyAsync(() -> updateDailyRate(vehicleId, dailyRate), ioExecutor());
     }
     
     /**
@@ -231,7 +535,7 @@ public class VehicleService {
      * @return count of available vehicles
      */
     public int getAvailableVehiclesCount() {
-        return getAvailableVehicles().size();
+        return fleetCounters.getAvailable();
     }
     
     /**
@@ -240,6 +544,15 @@ public class VehicleService {
      * @return count of rented vehicles
      */
     public int getRentedVehiclesCount() {
-        return getTotalVehicles() - getAvailableVehiclesCount();
+        return fleetCounters.getRented();
+    }
+    
+    /**
+     * Recount available and rented vehicles from scratch and correct the running counts
+     * 
+     * @return true if the running counts were already correct
+     */
+    public boolean reconcileCounts() {
+        return fleetCounters.reconcile();
     }
 }
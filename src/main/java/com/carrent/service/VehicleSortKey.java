@@ -0,0 +1,35 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import java.util.Comparator;
+
+/**
+ * Sort orders supported by the vehicle query API
+ *
+ * Every order breaks ties by vehicle ID so pages are stable between requests.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public enum VehicleSortKey {
+    ID(Comparator.comparing(Vehicle::getId)),
+    MAKE(Comparator.comparing(Vehicle::getMake, String.CASE_INSENSITIVE_ORDER)),
+    MODEL(Comparator.comparing(Vehicle::getModel, String.CASE_INSENSITIVE_ORDER)),
+    DAILY_RATE(Comparator.comparingLong(Vehicle::getDailyRateCents)),
+    STATUS(Comparator.comparing(Vehicle::isAvailable).reversed()); // Available first
+
+    private final Comparator<Vehicle> comparator;
+
+    VehicleSortKey(Comparator<Vehicle> primary) {
+        this.comparator = primary.thenComparing(Vehicle::getId);
+    }
+
+    /**
+     * Get the ascending comparator for this key
+     *
+     * @return comparator ordering vehicles by this key, then by ID
+     */
+    public Comparator<Vehicle> comparator() {
+        return comparator;
+    }
+}
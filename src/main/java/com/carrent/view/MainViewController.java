@@ -1,24 +1,40 @@
 package com.carrent.view;
 
+import com.carrent.analytics.RevenueLeaderboard;
+import com.carrent.analytics.RevenueRank;
+import com.carrent.event.AuditLogHandler;
+import com.carrent.event.EventMetricsHandler;
+import com.carrent.event.RentalEventBus;
+import com.carrent.event.RentalEventType;
 import com.carrent.model.Vehicle;
 import com.carrent.model.Motorcycle;
 import com.carrent.model.Rental;
+import com.carrent.repository.RepositoryListener;
+import com.carrent.service.QuoteService;
+import com.carrent.service.ShardedMutationEngine;
+import com.carrent.service.VehicleQuery;
 import com.carrent.service.VehicleService;
+import com.carrent.service.VehicleSortKey;
 import com.carrent.service.RentalService;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
+import javafx.util.Duration;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -35,9 +51,19 @@ import java.util.Optional;
  */
 public class MainViewController {
     
-    // Services
-    private VehicleService vehicleService;
-    private RentalService rentalService;
+    // Services (created on the data loader thread)
+    private volatile VehicleService vehicleService;
+    private volatile RentalService rentalService;
+    private volatile QuoteService quoteService;
+    // Top customers and vehicles by revenue, kept current from rental changes
+    private volatile RevenueLeaderboard revenueLeaderboard;
+    
+    // Single-writer vehicle shards, only when -Dcarrent.sharding.shards is set
+    private final ShardedMutationEngine mutationEngine = ShardedMutationEngine.fromSystemProperties();
+    
+    // Lifecycle events: audit trail, event counts and status bar refresh
+    private final RentalEventBus eventBus = new RentalEventBus();
+    private final EventMetricsHandler eventMetrics = new EventMetricsHandler();
     
     // Vehicle Table Components
     @FXML private TableView<Vehicle> vehicleTable;
@@ -46,6 +72,8 @@ public class MainViewController {
     @FXML private TableColumn<Vehicle, String> modelColumn;
     @FXML private TableColumn<Vehicle, String> dailyRateColumn;
     @FXML private TableColumn<Vehicle, String> statusColumn;
+    @FXML private TextField vehicleSearchField;
+    @FXML private CheckBox availableOnlyCheckBox;
     
     // Active Rentals Table Components
     @FXML private TableView<Rental> activeRentalsTable;
@@ -74,35 +102,32 @@ public class MainViewController {
     @FXML private Label statusLabel;
     @FXML private Label vehicleCountLabel;
     
+    @FXML private ProgressBar loadProgress;
+    
     // Data
-    private ObservableList<Vehicle> vehicleList = FXCollections.observableArrayList();
-    private ObservableList<Rental> activeRentalsList = FXCollections.observableArrayList();    /**
+    private static final int LOAD_CHUNK_SIZE = 250;
+    // Vehicles are read a page at a time; sorting and filtering happen in VehicleService
+    private final PagedVehicleList vehicleList = new PagedVehicleList();
+    private ObservableList<Rental> activeRentalsList = FXCollections.observableArrayList();
+    // Incremented on the FX thread for every load so chunks from an older load are dropped
+    private int loadGeneration;
+    // FX thread only: latest change per rental made while a load is running, null otherwise.
+    // The load reads a copy of the active rentals, so changes after that read are replayed on top.
+    private Map<String, Runnable> pendingRentalChanges;
+    
+    // Cost quotes wait for the inputs to settle; results for older inputs are dropped
+    private static final Duration QUOTE_DELAY = Duration.millis(250);
+    private final PauseTransition quoteDelay = new PauseTransition(QUOTE_DELAY);
+    private int quoteGeneration;
+    
+    /**
      * Initialize method called by JavaFX after loading FXML
      */
     @FXML
     private void initialize() {
         try {
             System.out.println("MainViewController: Starting initialization...");
-              // Initialize services
-            System.out.println("MainViewController: Initializing services...");
-            try {
-                this.vehicleService = new VehicleService();
-                System.out.println("MainViewController: VehicleService initialized successfully");
-            } catch (Exception e) {
-                System.err.println("Error initializing VehicleService: " + e.getMessage());
-                e.printStackTrace();
-                this.vehicleService = null;
-            }
-            
-            try {
-                // Pass the same vehicleService instance to RentalService to avoid multiple instances
-                this.rentalService = new RentalService(new com.carrent.repository.RentalRepository(), this.vehicleService);
-                System.out.println("MainViewController: RentalService initialized successfully");
-            } catch (Exception e) {
-                System.err.println("Error initializing RentalService: " + e.getMessage());
-                e.printStackTrace();
-                this.rentalService = null;
-            }
+            startEventBus();
             
             // Setup table columns
             System.out.println("MainViewController: Setting up tables...");
@@ -113,15 +138,14 @@ public class MainViewController {
             System.out.println("MainViewController: Setting up event handlers...");
             setupEventHandlers();
             
-            // Load initial data
-            System.out.println("MainViewController: Loading data...");
-            loadData();
-            
             // Set initial state
             System.out.println("MainViewController: Updating UI...");
             updateUI();
             
-            updateStatus("Application initialized successfully");
+            // Services load their CSV files in the background; the window shows right away
+            System.out.println("MainViewController: Loading data...");
+            loadData();
+            
             System.out.println("MainViewController: Initialization complete!");
             
         } catch (Exception e) {
@@ -130,7 +154,175 @@ public class MainViewController {
             updateStatus("Error during initialization: " + e.getMessage());
         }
     }
-      /**
+    
+    /**
+     * Create the services if they are missing
+     * Runs on the data loader thread, since constructing the repositories reads the CSV files.
+     */
+    private void ensureServices() {
+        if (vehicleService == null) {
+            System.out.println("MainViewController: Initializing VehicleService...");
+            VehicleService service = new VehicleService();
+            service.addVehicleListener(vehicleChanges);
+            vehicleService = service;
+        }
+        if (rentalService == null) {
+            System.out.println("MainViewController: Initializing RentalService...");
+            // Pass the same vehicleService instance to RentalService to avoid multiple instances
+            RentalService service = new RentalService(new com.carrent.repository.RentalRepository(), vehicleService);
+            if (mutationEngine != null) {
+                service.setMutationEngine(mutationEngine);
+            }
+            service.addRentalListener(rentalChanges);
+            revenueLeaderboard = RevenueLeaderboard.create(service);
+            rentalService = service;
+        }
+        if (quoteService == null) {
+            quoteService = new QuoteService(rentalService, vehicleService);
+        }
+        connectEventBus();
+    }
+    
+    /**
+     * Apply vehicle changes to the table as single-row edits
+     */
+    private final RepositoryListener<Vehicle> vehicleChanges = new RepositoryListener<>() {
+        @Override
+        public void onAdded(Vehicle vehicle) {
+            Platform.runLater(() -> {
+                vehicleList.vehicleAdded(vehicle); // Rows after the new one shift down
+                updateVehicleCount();
+            });
+        }
+        
+        @Override
+        public void onUpdated(Vehicle vehicle) {
+            Platform.runLater(() -> {
+                vehicleList.vehicleUpdated(vehicle); // Repaints just this row unless it moved
+                updateVehicleCount();
+            });
+        }
+        
+        @Override
+        public void onRemoved(Vehicle vehicle) {
+            Platform.runLater(() -> {
+                vehicleList.vehicleRemoved(vehicle); // Rows after it shift up
+                updateVehicleCount();
+            });
+        }
+    };
+    
+    /**
+     * Apply rental changes to the active rentals table as single-row edits
+     * While a load is running they are held back and applied after its last chunk.
+     */
+    private final RepositoryListener<Rental> rentalChanges = new RepositoryListener<>() {
+        @Override
+        public void onAdded(Rental rental) {
+            onUpdated(rental);
+        }
+        
+        @Override
+        public void onUpdated(Rental rental) {
+            Platform.runLater(() -> applyRentalChange(rental.getId(), () -> upsertRental(rental)));
+        }
+        
+        @Override
+        public void onRemoved(Rental rental) {
+            Platform.runLater(() -> applyRentalChange(rental.getId(), () -> removeRental(rental.getId())));
+        }
+    };
+    
+    /**
+     * Apply a rental change now, or keep the latest one per rental until the running load is in
+     */
+    private void applyRentalChange(String rentalId, Runnable change) {
+        if (pendingRentalChanges != null) {
+            pendingRentalChanges.put(rentalId, change);
+        } else {
+            change.run();
+        }
+    }
+    
+    /**
+     * Apply the rental changes held back during a load, on top of the rows it loaded
+     */
+    private void applyPendingRentalChanges() {
+        Map<String, Runnable> pending = pendingRentalChanges;
+        pendingRentalChanges = null;
+        if (pending != null) {
+            pending.values().forEach(Runnable::run);
+        }
+    }
+    
+    private void upsertRental(Rental rental) {
+        int index = indexOfRental(rental.getId());
+        if (!rental.isActive()) {
+            if (index >= 0) {
+                activeRentalsList.remove(index);
+            }
+        } else if (index >= 0) {
+            activeRentalsList.set(index, rental);
+        } else {
+            activeRentalsList.add(rental);
+        }
+    }
+    
+    private void removeRental(String rentalId) {
+        int index = indexOfRental(rentalId);
+        if (index >= 0) {
+            activeRentalsList.remove(index);
+        }
+    }
+    
+    private int indexOfRental(String rentalId) {
+        for (int i = 0; i < activeRentalsList.size(); i++) {
+            if (activeRentalsList.get(i).getId().equals(rentalId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    /**
+     * Start the lifecycle event consumers and connect the services to the bus
+     */
+    private void startEventBus() {
+        eventBus.addConsumer("audit", new AuditLogHandler());
+        eventBus.addConsumer("metrics", eventMetrics);
+        eventBus.addConsumer("ui", (event, sequence, endOfBatch) -> {
+            if (endOfBatch) {
+                updateVehicleCount(); // Coalesces a burst of events into one status bar update
+            }
+        });
+        eventBus.start();
+        connectEventBus();
+    }
+    
+    /**
+     * Stop the background workers owned by this controller
+     * Called by the application when the window closes.
+     */
+    public void shutdown() {
+        vehicleList.dispose();
+        eventBus.close();
+        if (mutationEngine != null) {
+            mutationEngine.close();
+        }
+    }
+    
+    /**
+     * Point the current services at the event bus
+     */
+    private void connectEventBus() {
+        if (vehicleService != null) {
+            vehicleService.setEventBus(eventBus);
+        }
+        if (rentalService != null) {
+            rentalService.setEventBus(eventBus);
+        }
+    }
+    
+    /**
      * Setup vehicle table columns and data binding
      */
     private void setupVehicleTable() {
@@ -139,17 +331,31 @@ public class MainViewController {
         modelColumn.setCellValueFactory(new PropertyValueFactory<>("model"));
         
         // Custom cell value factory for daily rate formatting
-        dailyRateColumn.setCellValueFactory(cellData -> 
+        // Rows can briefly be missing while a page is re-read after the fleet changed
+        dailyRateColumn.setCellValueFactory(cellData -> cellData.getValue() == null ? null :
             new SimpleStringProperty(String.format("$%.2f", cellData.getValue().getDailyRate())));
         
         // Custom cell value factory for status - use observable properties for better refresh
         statusColumn.setCellValueFactory(cellData -> {
             Vehicle vehicle = cellData.getValue();
+            if (vehicle == null) {
+                return null;
+            }
             return new SimpleStringProperty(vehicle.isAvailable() ? "Available" : "Rented");
         });
         
         vehicleTable.setItems(vehicleList);
         
+        // Column sorting, the search box and the availability filter are handed to the service as a query
+        vehicleTable.setSortPolicy(table -> {
+            applyVehicleQuery();
+            return true;
+        });
+        availableOnlyCheckBox.selectedProperty().addListener(
+            (observable, oldValue, newValue) -> applyVehicleQuery());
+        vehicleSearchField.textProperty().addListener(
+            (observable, oldValue, newValue) -> applyVehicleQuery());
+        
         // Add selection listener that properly updates button states
         vehicleTable.getSelectionModel().selectedItemProperty().addListener(
             (observable, oldValue, newValue) -> {
@@ -157,6 +363,32 @@ public class MainViewController {
             });
     }
     
+    /**
+     * Build a vehicle query from the table's sort order and the filter controls
+     */
+    private void applyVehicleQuery() {
+        VehicleQuery query = VehicleQuery.all();
+        if (!vehicleTable.getSortOrder().isEmpty()) {
+            TableColumn<Vehicle, ?> column = vehicleTable.getSortOrder().get(0);
+            query = query.sortedBy(sortKeyFor(column), column.getSortType() == TableColumn.SortType.ASCENDING);
+        }
+        vehicleList.setQuery(query.availableOnly(availableOnlyCheckBox.isSelected())
+            .withSearchText(vehicleSearchField.getText()));
+    }
+    
+    private VehicleSortKey sortKeyFor(TableColumn<Vehicle, ?> column) {
+        if (column == makeColumn) {
+            return VehicleSortKey.MAKE;
+        } else if (column == modelColumn) {
+            return VehicleSortKey.MODEL;
+        } else if (column == dailyRateColumn) {
+            return VehicleSortKey.DAILY_RATE;
+        } else if (column == statusColumn) {
+            return VehicleSortKey.STATUS;
+        }
+        return VehicleSortKey.ID;
+    }
+    
     /**
      * Setup active rentals table columns and data binding
      */
@@ -188,43 +420,147 @@ public class MainViewController {
             (observable, oldValue, newValue) -> handleActiveRentalSelection(newValue));
     }/**
      * Load data from services
+     * Runs in the background and streams rows into the tables in chunks.
      */
     private void loadData() {
-        try {            // Ensure services are initialized
-            if (vehicleService == null) {
-                System.out.println("MainViewController: VehicleService is null, reinitializing...");
-                vehicleService = new VehicleService();
+        loadData(() -> updateStatus("Data loaded successfully"));
+    }
+    
+    /**
+     * Load data from services and run an action on the FX thread once all rows are in
+     * 
+     * @param onLoaded action to run after a successful load
+     */
+    private void loadData(Runnable onLoaded) {
+        DataLoadTask loadTask = new DataLoadTask(++loadGeneration);
+        if (pendingRentalChanges == null) {
+            pendingRentalChanges = new LinkedHashMap<>(); // Before the task reads the rentals
+        }
+        
+        setLoading(true);
+        loadProgress.progressProperty().bind(loadTask.progressProperty());
+        loadTask.messageProperty().addListener((observable, oldValue, newValue) -> {
+            if (loadTask.generation == loadGeneration) {
+                updateStatus(newValue);
             }
-            if (rentalService == null) {
-                System.out.println("MainViewController: RentalService is null, reinitializing...");
-                rentalService = new RentalService(new com.carrent.repository.RentalRepository(), vehicleService);
+        });
+        
+        loadTask.setOnSucceeded(event -> {
+            if (loadTask.generation != loadGeneration) {
+                return; // A newer load has taken over
             }
+            finishLoading();
+            applyPendingRentalChanges(); // Runs after the last chunk
+            vehicleList.refresh();
+            activeRentalsTable.sort();
+            updateVehicleCount();
+            onLoaded.run();
+        });
+        loadTask.setOnFailed(event -> {
+            Throwable e = loadTask.getException();
+            System.err.println("Error loading data: " + e.getMessage());
+            e.printStackTrace();
+            if (loadTask.generation == loadGeneration) {
+                finishLoading();
+                applyPendingRentalChanges();
+            }
+            showError("Error loading data", e.getMessage());
+        });
+        
+        Thread loader = new Thread(loadTask, "carrent-data-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+    
+    /**
+     * Disable the controls that need loaded data while a load is running
+     */
+    private void setLoading(boolean loading) {
+        refreshButton.setDisable(loading);
+        addVehicleButton.setDisable(loading);
+        loadProgress.setVisible(loading);
+        loadProgress.setManaged(loading);
+    }
+    
+    private void finishLoading() {
+        loadProgress.progressProperty().unbind();
+        setLoading(false);
+    }
+    
+    /**
+     * Background task that creates the services and streams their data into the tables
+     * 
+     * The vehicle table reads its rows page by page from the service, so only the
+     * vehicle index is built here. Active rentals are handed to the FX thread in
+     * chunks, and the controls are enabled as soon as the vehicles are on screen,
+     * so the time until the window can be used does not grow with the size of the fleet.
+     */
+    private class DataLoadTask extends Task<Void> {
+        private final int generation;
+        
+        DataLoadTask(int generation) {
+            this.generation = generation;
+        }
+        
+        @Override
+        protected Void call() {
+            updateMessage("Loading data...");
+            ensureServices();
             
-            // Load vehicles
-            List<Vehicle> vehicles = vehicleService.getAllVehicles();
-            vehicleList.clear();
-            vehicleList.addAll(vehicles);
-            
-            // Force table refresh to update cell values
-            refreshVehicleTable();
+            // Check the running dashboard totals against a full recount
+            vehicleService.reconcileCounts();
+            rentalService.reconcileAggregates();
             
-            // Load active rentals
+            updateMessage("Indexing vehicles...");
+            VehicleService service = vehicleService;
+            int vehicleCount = service.countVehicles(vehicleList.getQuery()); // Builds the sorted index off the FX thread
             List<Rental> activeRentals = rentalService.getActiveRentals();
-            activeRentalsList.clear();
-            activeRentalsList.addAll(activeRentals);
+            long total = Math.max(1, vehicleCount + activeRentals.size());
+            updateProgress(vehicleCount, total);
             
-            // Force active rentals table refresh
             Platform.runLater(() -> {
-                activeRentalsTable.refresh();
-                activeRentalsTable.sort();
+                if (isCurrent()) {
+                    vehicleList.setVehicleService(service);
+                    activeRentalsList.clear();
+                    showFirstPage();
+                }
             });
             
-            updateVehicleCount();
-            updateStatus("Data loaded successfully");
-        } catch (Exception e) {
-            System.err.println("Error loading data: " + e.getMessage());
-            e.printStackTrace();
-            showError("Error loading data", e.getMessage());
+            updateMessage("Loading " + activeRentals.size() + " active rentals...");
+            stream(activeRentals, activeRentalsList, vehicleCount, total);
+            return null;
+        }
+        
+        /**
+         * Hand rows to the FX thread one chunk at a time
+         * 
+         * @return number of rows loaded so far, including the earlier ones
+         */
+        private <T> long stream(List<T> rows, ObservableList<T> target, long alreadyLoaded, long total) {
+            long loaded = alreadyLoaded;
+            for (int from = 0; from < rows.size() && !isCancelled(); from += LOAD_CHUNK_SIZE) {
+                List<T> chunk = List.copyOf(rows.subList(from, Math.min(from + LOAD_CHUNK_SIZE, rows.size())));
+                Platform.runLater(() -> {
+                    if (isCurrent()) {
+                        target.addAll(chunk);
+                    }
+                });
+                loaded += chunk.size();
+                updateProgress(loaded, total);
+            }
+            return loaded;
+        }
+        
+        private void showFirstPage() {
+            if (isCurrent()) {
+                refreshButton.setDisable(false);
+                addVehicleButton.setDisable(false);
+                updateVehicleCount();
+            }
+        }
+        
+        private boolean isCurrent() {
+            return generation == loadGeneration;
         }
     }
     
@@ -260,22 +596,22 @@ public class MainViewController {
     
     /**
      * Calculate and display rental cost
+     * The quote is requested once the inputs have been unchanged for a moment,
+     * and is computed off the FX thread.
      */
     private void calculateCost() {
         Vehicle selectedVehicle = vehicleTable.getSelectionModel().getSelectedItem();
         LocalDate startDate = startDatePicker.getValue();
         LocalDate endDate = endDatePicker.getValue();
         
+        int generation = ++quoteGeneration; // Any quote still in flight is now stale
+        quoteDelay.stop();
+        
         if (selectedVehicle != null && startDate != null && endDate != null) {
             if (endDate.isAfter(startDate)) {
-                try {
-                    double cost = rentalService.calculateRentalCost(selectedVehicle.getId(), startDate, endDate);
-                    costLabel.setText(String.format("Total Cost: $%.2f", cost));
-                    costLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
-                } catch (Exception e) {
-                    costLabel.setText("Error calculating cost");
-                    costLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
-                }
+                String vehicleId = selectedVehicle.getId();
+                quoteDelay.setOnFinished(event -> requestQuote(generation, vehicleId, startDate, endDate));
+                quoteDelay.playFromStart();
             } else {
                 costLabel.setText("End date must be after start date");
                 costLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
@@ -286,6 +622,29 @@ public class MainViewController {
         }
     }
     
+    /**
+     * Ask the quote service for a cost and show it if the inputs have not changed since
+     */
+    private void requestQuote(int generation, String vehicleId, LocalDate startDate, LocalDate endDate) {
+        QuoteService service = quoteService;
+        if (service == null) {
+            return;
+        }
+        service.quoteAsync(vehicleId, startDate, endDate)
+            .whenComplete((cost, error) -> Platform.runLater(() -> {
+                if (generation != quoteGeneration) {
+                    return; // Inputs changed while this quote was being computed
+                }
+                if (error != null) {
+                    costLabel.setText("Error calculating cost");
+                    costLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
+                } else {
+                    costLabel.setText(String.format("Total Cost: $%.2f", cost));
+                    costLabel.setStyle("-fx-text-fill: #27ae60; -fx-font-weight: bold;");
+                }
+            }));
+    }
+    
     /**
      * Handle vehicle rental
      */
@@ -327,39 +686,53 @@ public class MainViewController {
             if (startDate.isBefore(LocalDate.now())) {
                 showWarning("Invalid Start Date", "Start date cannot be in the past.");
                 return;
-            }            // Create rental
-            Rental rental = rentalService.createRental(
-                selectedVehicle.getId(), customerName, customerPhone, startDate, endDate);
-            
-            if (rental != null) {
-                // Show confirmation
-                showInfo("Rental Created", 
-                    String.format("Rental %s created successfully!\nTotal Cost: $%.2f", 
-                        rental.getId(), rental.getTotalCost()));
-                
-                // Refresh data and clear form
-                loadData();
-                handleClearForm();
-                
-                // Update UI state
-                updateUI();
-                
-                // Additional verification - check if vehicle status actually changed
-                Vehicle updatedVehicle = vehicleService.findVehicleById(selectedVehicle.getId());
-                if (updatedVehicle != null && updatedVehicle.isAvailable()) {
-                    updateStatus("Warning: Vehicle status may not have been updated properly");
-                } else {
-                    updateStatus("Rental created and vehicle status updated successfully");
-                }
-            } else {
-                showError("Rental Failed", "Failed to create rental. Please check vehicle availability and try again.");
             }
             
+            // Create rental off the FX thread; the UI is only touched once it completes
+            rentButton.setDisable(true);
+            updateStatus("Creating rental for " + selectedVehicle.getId() + "...");
+            rentalService.createRentalAsync(
+                selectedVehicle.getId(), customerName, customerPhone, startDate, endDate)
+                .whenComplete((rental, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        showError("Rental Error", "Failed to create rental: " + error.getMessage());
+                        handleVehicleSelection(vehicleTable.getSelectionModel().getSelectedItem());
+                    } else if (rental != null) {
+                        onRentalCreated(rental, selectedVehicle.getId());
+                    } else {
+                        showError("Rental Failed", "Failed to create rental. Please check vehicle availability and try again.");
+                        handleVehicleSelection(vehicleTable.getSelectionModel().getSelectedItem());
+                    }
+                }));
+            
         } catch (Exception e) {
             showError("Rental Error", "Failed to create rental: " + e.getMessage());
         }
     }
     
+    /**
+     * Update the UI after a rental has been created
+     */
+    private void onRentalCreated(Rental rental, String vehicleId) {
+        // Show confirmation
+        showInfo("Rental Created", 
+            String.format("Rental %s created successfully!\nTotal Cost: $%.2f", 
+                rental.getId(), rental.getTotalCost()));
+        
+        // Additional verification - check if vehicle status actually changed
+        Vehicle updatedVehicle = vehicleService.findVehicleById(vehicleId);
+        String message = updatedVehicle != null && updatedVehicle.isAvailable()
+            ? "Warning: Vehicle status may not have been updated properly"
+            : "Rental created and vehicle status updated successfully";
+        
+        // The repository change events have already updated the affected rows
+        handleClearForm();
+        updateStatus(message);
+        
+        // Update UI state
+        updateUI();
+    }
+    
     /**
      * Handle vehicle return
      */
@@ -376,57 +749,64 @@ public class MainViewController {
             // Confirm return
             Optional<ButtonType> result = showConfirmation("Confirm Return", 
                 String.format("Return vehicle for rental %s?\nCustomer: %s", 
-                    selectedRental.getId(), selectedRental.getCustomerName()));            if (result.isPresent() && result.get() == ButtonType.OK) {
-                // Complete rental
-                boolean success = rentalService.completeRental(selectedRental.getId());
-                
-                if (success) {
-                    showInfo("Vehicle Returned", 
-                        String.format("Vehicle returned successfully!\nRental %s completed.", 
-                            selectedRental.getId()));
-                    
-                    // Refresh data
-                    loadData();
-                    
-                    // Update UI state
-                    updateUI();
-                    
-                    // Additional verification - check if vehicle status actually changed
-                    Vehicle updatedVehicle = vehicleService.findVehicleById(selectedRental.getVehicleId());
-                    if (updatedVehicle != null && !updatedVehicle.isAvailable()) {
-                        updateStatus("Warning: Vehicle status may not have been updated properly");
-                    } else {
-                        updateStatus("Vehicle returned and status updated successfully");
-                    }
-                } else {
-                    showError("Return Failed", "Failed to return vehicle. Please try again.");
-                }
+                    selectedRental.getId(), selectedRental.getCustomerName()));
+            if (result.isPresent() && result.get() == ButtonType.OK) {
+                // Complete rental off the FX thread
+                returnButton.setDisable(true);
+                updateStatus("Returning vehicle for rental " + selectedRental.getId() + "...");
+                rentalService.completeRentalAsync(selectedRental.getId())
+                    .whenComplete((success, error) -> Platform.runLater(() -> {
+                        if (error != null) {
+                            showError("Return Error", "Failed to return vehicle: " + error.getMessage());
+                            handleActiveRentalSelection(activeRentalsTable.getSelectionModel().getSelectedItem());
+                        } else if (Boolean.TRUE.equals(success)) {
+                            onRentalCompleted(selectedRental);
+                        } else {
+                            showError("Return Failed", "Failed to return vehicle. Please try again.");
+                            handleActiveRentalSelection(activeRentalsTable.getSelectionModel().getSelectedItem());
+                        }
+                    }));
             }
             
         } catch (Exception e) {
             showError("Return Error", "Failed to return vehicle: " + e.getMessage());
         }
     }
+    
+    /**
+     * Update the UI after a rental has been completed
+     */
+    private void onRentalCompleted(Rental rental) {
+        showInfo("Vehicle Returned", 
+            String.format("Vehicle returned successfully!\nRental %s completed.", 
+                rental.getId()));
+        
+        // Additional verification - check if vehicle status actually changed
+        Vehicle updatedVehicle = vehicleService.findVehicleById(rental.getVehicleId());
+        String message = updatedVehicle != null && !updatedVehicle.isAvailable()
+            ? "Warning: Vehicle status may not have been updated properly"
+            : "Vehicle returned and status updated successfully";
+        
+        // Update UI state; the repository change events have already updated the affected rows
+        updateUI();
+        updateStatus(message);
+    }
       /**
      * Handle data refresh
+     * Reloads the tables from the services that are already running; the CSV
+     * files are read when the services are first created, not on every refresh.
      */
     @FXML
     private void handleRefreshData() {
         try {
             System.out.println("MainViewController: Refreshing data...");
-              // Ensure services are initialized before loading data
-            if (vehicleService == null) {
-                System.out.println("MainViewController: VehicleService is null during refresh, reinitializing...");
-                vehicleService = new VehicleService();
-            }
-            if (rentalService == null) {
-                System.out.println("MainViewController: RentalService is null during refresh, reinitializing...");
-                rentalService = new RentalService(new com.carrent.repository.RentalRepository(), vehicleService);
-            }
-            
-            loadData();
-            updateStatus("Data refreshed successfully");
-            System.out.println("MainViewController: Data refresh completed successfully");
+            loadData(() -> {
+                updateStatus(String.format("Data refreshed successfully (%d rentals created, %d returned this session)%s",
+                    eventMetrics.getCount(RentalEventType.RENTAL_CREATED),
+                    eventMetrics.getCount(RentalEventType.RENTAL_COMPLETED),
+                    topRevenueSummary()));
+                System.out.println("MainViewController: Data refresh completed successfully");
+            });
         } catch (Exception e) {
             System.err.println("Error during data refresh: " + e.getMessage());
             e.printStackTrace();
@@ -624,8 +1004,7 @@ public class MainViewController {
                         String.format("Vehicle %s (%s %s) has been added successfully!", 
                             vehicle.getId(), vehicle.getMake(), vehicle.getModel()));
                     
-                    // Refresh data
-                    loadData();
+                    // The new row arrives through the vehicle change listener
                     updateStatus("New vehicle added successfully");
                 } else {
                     showError("Add Failed", "Failed to add the vehicle. Please try again.");
@@ -648,25 +1027,32 @@ public class MainViewController {
      * Update vehicle count display
      */
     private void updateVehicleCount() {
-        Platform.runLater(() -> {
-            int totalVehicles = vehicleList.size();
-            long availableVehicles = vehicleList.stream().mapToLong(v -> v.isAvailable() ? 1 : 0).sum();
-            vehicleCountLabel.setText(String.format("Vehicles: %d total, %d available", 
-                totalVehicles, availableVehicles));
-        });
+        VehicleService service = vehicleService;
+        if (service == null) {
+            return;
+        }
+        int totalVehicles = service.getTotalVehicles();
+        int availableVehicles = service.getAvailableVehiclesCount();
+        Platform.runLater(() -> vehicleCountLabel.setText(String.format("Vehicles: %d total, %d available", 
+            totalVehicles, availableVehicles)));
     }
     
     /**
-     * Force refresh of vehicle table display
+     * Describe the vehicle and customer with the highest revenue, for the status bar
      */
-    private void refreshVehicleTable() {
-        Platform.runLater(() -> {
-            // Force refresh of table columns that depend on vehicle state
-            vehicleTable.getColumns().get(4).setVisible(false);
-            vehicleTable.getColumns().get(4).setVisible(true);
-            vehicleTable.refresh();
-            vehicleTable.sort();
-        });
+    private String topRevenueSummary() {
+        RevenueLeaderboard leaderboard = revenueLeaderboard;
+        if (leaderboard == null) {
+            return "";
+        }
+        List<RevenueRank> vehicles = leaderboard.topVehicles();
+        List<RevenueRank> customers = leaderboard.topCustomers();
+        if (vehicles.isEmpty() || customers.isEmpty()) {
+            return "";
+        }
+        return String.format(" - top vehicle %s ($%.2f), top customer %s ($%.2f)",
+            vehicles.get(0).getKey(), vehicles.get(0).getRevenue(),
+            customers.get(0).getKey(), customers.get(0).getRevenue());
     }
     
     /**
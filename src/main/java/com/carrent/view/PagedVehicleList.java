@@ -0,0 +1,410 @@
+package com.carrent.view;
+
+import com.carrent.model.Vehicle;
+import com.carrent.service.VehiclePage;
+import com.carrent.service.VehicleQuery;
+import com.carrent.service.VehicleService;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Observable list of vehicles that loads pages from VehicleService on demand
+ *
+ * The table only asks for the rows it is showing, so only those pages are
+ * held in memory. Sorting and filtering are done by the service; changing
+ * the query drops the cached pages. Every service call runs on a background
+ * thread, including the result count and the checks behind single-row
+ * updates: a row on a page that is not cached yet reads as null, and the rows
+ * of that page are reported as replaced once it arrives. Whenever a page is
+ * read, the pages on either side of it are prefetched so scrolling rarely
+ * shows the placeholder. An added or removed vehicle shifts the rows after
+ * it by one and only drops the pages from its position on.
+ *
+ * Must be used from the FX thread. Call dispose when the list is no longer
+ * shown to stop the fetch thread.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class PagedVehicleList extends ObservableListBase<Vehicle> {
+
+    public static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 16;
+
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "carrent-page-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Least recently used pages, keyed by page number; shared with the prefetch thread
+    private final Map<Integer, VehiclePage> pages = new LinkedHashMap<>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, VehiclePage> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    // FX thread only: pages being fetched, with the generation they were requested for
+    private final Map<Integer, Integer> loading = new HashMap<>();
+    // FX thread only: pages whose rows were handed out as placeholders
+    private final Set<Integer> waiting = new HashSet<>();
+
+    private volatile VehicleService vehicleService;
+    private volatile VehicleQuery query = VehicleQuery.all();
+    // Bumped whenever the cached pages are dropped so late prefetches are ignored
+    private volatile int generation;
+    private int size;
+    // False from a refresh until its count arrives
+    private boolean sizeKnown;
+    private boolean refreshScheduled;
+
+    /**
+     * Set the service the pages are read from and load the first view
+     *
+     * @param vehicleService vehicle service
+     */
+    public void setVehicleService(VehicleService vehicleService) {
+        this.vehicleService = vehicleService;
+        refresh();
+    }
+
+    public VehicleQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Change the sort order or filters
+     *
+     * @param query new query
+     */
+    public void setQuery(VehicleQuery query) {
+        if (query == null || query.equals(this.query)) {
+            return;
+        }
+        this.query = query;
+        refresh();
+    }
+
+    /**
+     * Drop the cached pages and re-read the result size from the service
+     * The count runs on the fetch thread; the rows are repainted once it arrives.
+     */
+    public void refresh() {
+        clearPages();
+        sizeKnown = false;
+        int expectedGeneration = generation;
+        VehicleService service = vehicleService;
+        if (service == null) {
+            sized(expectedGeneration, 0);
+            return;
+        }
+        VehicleQuery currentQuery = query;
+        background(() -> {
+            int count = service.countVehicles(currentQuery);
+            Platform.runLater(() -> sized(expectedGeneration, count));
+        });
+    }
+
+    /**
+     * Apply an updated vehicle
+     * If the vehicle is on a cached page and keeps its position, only that row
+     * is replaced; otherwise the whole list is refreshed.
+     *
+     * @param vehicle the vehicle in its updated state
+     */
+    public void vehicleUpdated(Vehicle vehicle) {
+        VehicleService service = vehicleService;
+        int index = cachedIndexOf(vehicle.getId());
+        if (service == null || index < 0) {
+            refresh();
+            return;
+        }
+        int expectedGeneration = generation;
+        VehicleQuery currentQuery = query;
+        background(() -> {
+            VehiclePage current = service.findVehicles(currentQuery, index, 1);
+            Platform.runLater(() -> rowUpdated(expectedGeneration, index, vehicle.getId(), current));
+        });
+    }
+
+    /**
+     * Apply an added vehicle
+     * If it matches the query, the rows after it shift down by one.
+     *
+     * @param vehicle the new vehicle
+     */
+    public void vehicleAdded(Vehicle vehicle) {
+        resize(vehicle, 1);
+    }
+
+    /**
+     * Apply a removed vehicle
+     * If it was part of the result, the rows after it shift up by one.
+     *
+     * @param vehicle the removed vehicle in its last state
+     */
+    public void vehicleRemoved(Vehicle vehicle) {
+        resize(vehicle, -1);
+    }
+
+    /**
+     * Stop the fetch thread
+     */
+    public void dispose() {
+        prefetcher.shutdownNow();
+    }
+
+    @Override
+    public Vehicle get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int pageNumber = index / PAGE_SIZE;
+        VehiclePage page = cachedPage(pageNumber);
+        if (page == null) {
+            waiting.add(pageNumber);
+            load(pageNumber);
+            return null; // Placeholder until the page arrives
+        }
+        prefetch(pageNumber + 1);
+        prefetch(pageNumber - 1);
+
+        int offset = index - page.getOffset();
+        if (offset >= page.getVehicles().size()) {
+            // The fleet shrank since the size was read; the refresh brings the size back in line
+            if (sizeKnown) {
+                scheduleRefresh();
+            }
+            return null;
+        }
+        return page.getVehicles().get(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void fetch(int pageNumber, int expectedGeneration) {
+        VehicleService service = vehicleService;
+        if (service == null) {
+            return;
+        }
+        VehiclePage page = service.findVehicles(query, pageNumber * PAGE_SIZE, PAGE_SIZE);
+        synchronized (pages) {
+            if (expectedGeneration == generation) {
+                pages.put(pageNumber, page);
+            }
+        }
+    }
+
+    private void prefetch(int pageNumber) {
+        if (pageNumber < 0 || pageNumber * PAGE_SIZE >= size || cachedPage(pageNumber) != null) {
+            return;
+        }
+        load(pageNumber);
+    }
+
+    /**
+     * Fetch a page on the background thread unless it is already on its way
+     */
+    private void load(int pageNumber) {
+        int expectedGeneration = generation;
+        Integer inFlight = loading.get(pageNumber);
+        if (inFlight != null && inFlight == expectedGeneration) {
+            return;
+        }
+        if (prefetcher.isShutdown()) {
+            return; // Disposed; the window is closing
+        }
+        loading.put(pageNumber, expectedGeneration);
+        background(() -> {
+            if (expectedGeneration == generation && cachedPage(pageNumber) == null) {
+                fetch(pageNumber, expectedGeneration);
+            }
+            Platform.runLater(() -> loaded(pageNumber, expectedGeneration));
+        });
+    }
+
+    /**
+     * Repaint the placeholder rows of a page that has arrived
+     */
+    private void loaded(int pageNumber, int loadedGeneration) {
+        Integer inFlight = loading.get(pageNumber);
+        if (inFlight == null || inFlight != loadedGeneration) {
+            return; // Dropped by a refresh; a newer load may be in flight
+        }
+        loading.remove(pageNumber);
+        if (!waiting.remove(pageNumber)) {
+            return;
+        }
+        int from = pageNumber * PAGE_SIZE;
+        int to = Math.min(size, from + PAGE_SIZE);
+        if (from < to) {
+            beginChange();
+            nextReplace(from, to, Collections.nCopies(to - from, (Vehicle) null));
+            endChange();
+        }
+    }
+
+    /**
+     * Install the result size read by a refresh and repaint every row
+     */
+    private void sized(int expectedGeneration, int count) {
+        if (expectedGeneration != generation) {
+            return; // Superseded by a newer refresh
+        }
+        int oldSize = size;
+        size = count;
+        sizeKnown = true;
+        beginChange();
+        nextReplace(0, size, Collections.nCopies(oldSize, (Vehicle) null));
+        endChange();
+    }
+
+    /**
+     * Replace one cached row if the vehicle is still at that position and the size is unchanged
+     */
+    private void rowUpdated(int expectedGeneration, int index, String vehicleId, VehiclePage current) {
+        if (expectedGeneration != generation) {
+            return; // A refresh re-reads the row anyway
+        }
+        if (current.getTotalCount() != size || current.getVehicles().isEmpty()
+                || !current.getVehicles().get(0).getId().equals(vehicleId)) {
+            refresh(); // The row moved or the result size changed
+            return;
+        }
+        Vehicle replaced = replaceCached(index, current.getVehicles().get(0));
+        beginChange();
+        nextSet(index, replaced);
+        endChange();
+    }
+
+    /**
+     * Read the new count and the vehicle's position on the fetch thread, then shift the rows
+     */
+    private void resize(Vehicle vehicle, int delta) {
+        VehicleService service = vehicleService;
+        if (service == null) {
+            return;
+        }
+        int expectedGeneration = generation;
+        VehicleQuery currentQuery = query;
+        background(() -> {
+            int count = service.countVehicles(currentQuery);
+            int position = service.findVehiclePosition(currentQuery, vehicle);
+            Platform.runLater(() -> resized(expectedGeneration, vehicle, delta, count, position));
+        });
+    }
+
+    private void resized(int expectedGeneration, Vehicle vehicle, int delta, int count, int position) {
+        if (expectedGeneration != generation || !sizeKnown) {
+            return; // A refresh is reading the new size, including this change
+        }
+        if (count == size) {
+            return; // The vehicle does not match the query
+        }
+        int limit = delta > 0 ? size : size - 1;
+        if (count != size + delta || position > limit) {
+            refresh(); // Other changes happened in between
+            return;
+        }
+        dropPagesFrom(position / PAGE_SIZE);
+        size = count;
+        beginChange();
+        if (delta > 0) {
+            nextAdd(position, position + 1);
+        } else {
+            nextRemove(position, vehicle);
+        }
+        endChange();
+    }
+
+    /**
+     * Run a service call on the fetch thread unless the list has been disposed
+     */
+    private void background(Runnable task) {
+        if (!prefetcher.isShutdown()) {
+            prefetcher.execute(task);
+        }
+    }
+
+    private VehiclePage cachedPage(int pageNumber) {
+        synchronized (pages) {
+            return pages.get(pageNumber);
+        }
+    }
+
+    /**
+     * Drop the cached pages whose rows shifted; earlier pages stay valid
+     */
+    private void dropPagesFrom(int firstPage) {
+        synchronized (pages) {
+            pages.keySet().removeIf(pageNumber -> pageNumber >= firstPage);
+        }
+        loading.keySet().removeIf(pageNumber -> pageNumber >= firstPage);
+    }
+
+    private void clearPages() {
+        synchronized (pages) {
+            generation++;
+            pages.clear();
+        }
+        loading.clear();
+        waiting.clear();
+    }
+
+    private int cachedIndexOf(String vehicleId) {
+        synchronized (pages) {
+            for (VehiclePage page : pages.values()) {
+                List<Vehicle> vehicles = page.getVehicles();
+                for (int i = 0; i < vehicles.size(); i++) {
+                    if (vehicles.get(i).getId().equals(vehicleId)) {
+                        return page.getOffset() + i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Swap one row in its cached page and return the previous row
+     */
+    private Vehicle replaceCached(int index, Vehicle vehicle) {
+        int pageNumber = index / PAGE_SIZE;
+        synchronized (pages) {
+            VehiclePage page = pages.get(pageNumber);
+            if (page == null) {
+                return vehicle; // Evicted in the meantime; the next read fetches it fresh
+            }
+            List<Vehicle> vehicles = new ArrayList<>(page.getVehicles());
+            Vehicle replaced = vehicles.set(index - page.getOffset(), vehicle);
+            pages.put(pageNumber, page.withVehicles(vehicles));
+            return replaced;
+        }
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshScheduled) {
+            refreshScheduled = true;
+            Platform.runLater(() -> {
+                refreshScheduled = false;
+                refresh();
+            });
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.carrent.model.TestRentals.rental;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ColumnarRentalStore
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class ColumnarRentalStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    private ColumnarRentalStore store;
+
+    @BeforeEach
+    void setUp() {
+        List<Rental> rentals = new ArrayList<>();
+        rentals.add(rental("R001", "V001", "Jane Doe", DAY, DAY.plusDays(3), 90.00, false));
+        rentals.add(rental("R002", "V002", "John Roe", DAY.plusDays(2), DAY.plusDays(4), 60.50, true));
+        rentals.add(rental("R003", "V001", "Jane Doe", DAY.plusDays(10), DAY.plusDays(12), 60.00, true));
+        store = ColumnarRentalStore.of(rentals);
+    }
+
+    @Test
+    void testTotalsByStatus() {
+        assertEquals(3, store.size());
+        assertEquals(2, store.getActiveCount());
+        assertEquals(9000, store.sumCents(false));
+        assertEquals(12050, store.sumCents(true));
+    }
+
+    @Test
+    void testPerVehicleLoops() {
+        long from = DAY.toEpochDay();
+        long[] days = store.rentedDaysByVehicle(from, from + 11);
+        assertEquals(2, store.getVehicleCount());
+        assertEquals(4, days[store.vehicleCode("V001")]); // 3 days plus 1 of the second rental
+        assertEquals(2, days[store.vehicleCode("V002")]);
+
+        long[] revenue = store.revenueByVehicle();
+        assertEquals(15000, revenue[store.vehicleCode("V001")]);
+        assertEquals("V002", store.vehicleId(store.vehicleCode("V002")));
+        assertEquals(-1, store.vehicleCode("V999"));
+    }
+
+    @Test
+    void testRangeQueries() {
+        long from = DAY.toEpochDay();
+        assertEquals(15050, store.revenueStartingBetween(from, from + 5));
+        assertEquals(2, store.distinctCustomersBetween(from, from + 5));
+        assertEquals(1, store.distinctCustomersBetween(from + 5, from + 20));
+    }
+
+    @Test
+    void testCustomersAreCountedByCustomerId() {
+        long from = DAY.toEpochDay();
+        Rental first = rental("R004", "V003", "Ann Lee", DAY, DAY.plusDays(1), 10.00, true);
+        Rental second = rental("R005", "V004", "ann lee", DAY.plusDays(1), DAY.plusDays(2), 10.00, true);
+        second.setCustomerPhone("(555) 0100");
+        first.setCustomerId(7);
+        second.setCustomerId(7);
+        ColumnarRentalStore linked = ColumnarRentalStore.of(List.of(first, second));
+        assertEquals(1, linked.distinctCustomersBetween(from, from + 5));
+    }
+
+    @Test
+    void testAppendGrowsColumns() {
+        ColumnarRentalStore small = new ColumnarRentalStore(0);
+        for (int i = 0; i < 100; i++) {
+            small.append(rental("R" + i, "V" + i, "Customer " + i, DAY.plusDays(i), DAY.plusDays(i + 1), 10.00,
+                i % 2 == 0));
+        }
+        assertEquals(100, small.size());
+        assertEquals(50, small.getActiveCount());
+        assertEquals(100000, small.sumCents(true) + small.sumCents(false));
+    }
+}
@@ -0,0 +1,169 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Rental;
+import com.carrent.model.Vehicle;
+import com.carrent.repository.RepositoryListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static com.carrent.model.TestRentals.rental;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FleetAnalytics
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class FleetAnalyticsTest {
+
+    private static final YearMonth JUNE = YearMonth.of(2025, 6);
+
+    private final List<RepositoryListener<Rental>> listeners = new ArrayList<>();
+    private final List<Vehicle> fleet = new ArrayList<>();
+    private final CountingPool pool = new CountingPool();
+    private List<Rental> rentals;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            fleet.add(new Vehicle("V" + i, i % 2 == 0 ? "Toyota" : "Honda", "Model " + i, 50.0));
+        }
+        rentals = new ArrayList<>();
+        // More rentals than one partition, so the scan forks and merges
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate start = JUNE.atDay(1 + i % 28);
+            rentals.add(rental("R" + i, "V" + (i % 20), "Jane Doe", start, start.plusDays(2), 20.00));
+        }
+    }
+
+    @Test
+    void testParallelScanSumsEveryPartition() {
+        UtilizationReport report = analytics().monthlyReport(JUNE);
+
+        // 500 two-day rentals of 20.00 per vehicle, all inside June
+        assertEquals(1000, report.getVehicle("V3").getRentedDays());
+        assertEquals(10000.00, report.getVehicle("V3").getRevenue(), 0.001);
+        assertEquals(10, report.getMake("Honda").getVehicleCount());
+        assertEquals(10000, report.getMake("Honda").getRentedDays());
+        assertEquals(20000, report.getFleet().getRentedDays());
+        assertEquals(20 * 30, report.getFleet().getAvailableDays());
+    }
+
+    @Test
+    void testPeriodIsScannedOnce() {
+        FleetAnalytics analytics = analytics();
+        analytics.monthlyReport(JUNE);
+        analytics.weeklyReport(JUNE.atDay(3));
+        assertEquals(2, pool.scans);
+
+        UtilizationReport again = analytics.monthlyReport(JUNE);
+        analytics.weeklyReport(JUNE.atDay(5)); // Same Monday to Sunday week
+        assertEquals(2, pool.scans);
+        assertEquals(20000, again.getFleet().getRentedDays());
+
+        analytics.clearCache();
+        analytics.monthlyReport(JUNE);
+        assertEquals(3, pool.scans);
+    }
+
+    @Test
+    void testEventsUpdateCachedPeriodLikeAFreshScan() {
+        FleetAnalytics analytics = analytics();
+        analytics.monthlyReport(JUNE);
+        analytics.weeklyReport(JUNE.atDay(28));
+
+        Rental added = rental("R-new", "V7", "Jane Doe", JUNE.atDay(29), JUNE.plusMonths(1).atDay(3), 100.00);
+        rentals.add(added);
+        listeners.forEach(listener -> listener.onAdded(added));
+
+        Rental changed = rentals.get(42);
+        changed.setEndDate(changed.getStartDate().plusDays(5), false);
+        changed.setTotalCost(75.00);
+        listeners.forEach(listener -> listener.onUpdated(changed));
+
+        Rental removed = rentals.remove(9);
+        listeners.forEach(listener -> listener.onRemoved(removed));
+
+        assertSameFigures(fresh().monthlyReport(JUNE), analytics.monthlyReport(JUNE));
+        assertSameFigures(fresh().weeklyReport(JUNE.atDay(28)), analytics.weeklyReport(JUNE.atDay(28)));
+        assertEquals(2, pool.scans); // Only the fresh analytics scanned
+    }
+
+    @Test
+    void testChangeDuringScanIsNotLost() {
+        FleetAnalytics analytics = analytics();
+        Rental added = rental("R-new", "V7", "Jane Doe", JUNE.atDay(10), JUNE.atDay(20), 300.00);
+        pool.beforeScan = () -> {
+            // The records were copied before this rental arrived
+            rentals.add(added);
+            listeners.forEach(listener -> listener.onAdded(added));
+        };
+        UtilizationReport report = analytics.monthlyReport(JUNE);
+        pool.beforeScan = null;
+
+        assertSameFigures(fresh().monthlyReport(JUNE), report);
+        assertSameFigures(report, analytics.monthlyReport(JUNE)); // Cached with the change
+    }
+
+    @Test
+    void testRemovalBeforeLoadIsNotCounted() {
+        // The removal event arrives between subscribing and reading the rentals
+        FleetAnalytics analytics = FleetAnalytics.create(() -> rentals, listener -> listener.onRemoved(rentals.get(0)),
+            () -> fleet, ForkJoinPool.commonPool());
+        UtilizationReport report = analytics.monthlyReport(JUNE);
+
+        assertEquals(998, report.getVehicle("V0").getRentedDays());
+        assertEquals(9980.00, report.getVehicle("V0").getRevenue(), 0.001);
+        assertEquals(1000, report.getVehicle("V1").getRentedDays());
+    }
+
+    @Test
+    void testRejectsEmptyPeriod() {
+        FleetAnalytics analytics = analytics();
+        assertThrows(IllegalArgumentException.class, () -> analytics.report(JUNE.atDay(5), JUNE.atDay(5)));
+    }
+
+    private FleetAnalytics analytics() {
+        return FleetAnalytics.create(() -> rentals, listeners::add, () -> fleet, pool);
+    }
+
+    private FleetAnalytics fresh() {
+        return FleetAnalytics.create(() -> rentals, listener -> { }, () -> fleet, ForkJoinPool.commonPool());
+    }
+
+    private static void assertSameFigures(UtilizationReport expected, UtilizationReport actual) {
+        assertEquals(expected.getVehicles().size(), actual.getVehicles().size());
+        for (UtilizationStats stats : expected.getVehicles()) {
+            UtilizationStats other = actual.getVehicle(stats.getKey());
+            assertEquals(stats.getRentedDays(), other.getRentedDays(), stats.getKey());
+            assertEquals(stats.getRevenue(), other.getRevenue(), 0.001, stats.getKey());
+        }
+        assertEquals(expected.getFleet().getRentedDays(), actual.getFleet().getRentedDays());
+        assertEquals(expected.getFleet().getRevenue(), actual.getFleet().getRevenue(), 0.001);
+    }
+
+    /**
+     * Pool that counts the scans and can run an action just before one starts
+     */
+    private static final class CountingPool extends ForkJoinPool {
+        int scans;
+        Runnable beforeScan;
+
+        @Override
+        public <T> T invoke(ForkJoinTask<T> task) {
+            scans++;
+            if (beforeScan != null) {
+                beforeScan.run();
+            }
+            return super.invoke(task);
+        }
+    }
+}
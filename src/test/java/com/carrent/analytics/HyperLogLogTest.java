@@ -0,0 +1,50 @@
+package com.carrent.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HyperLogLog
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class HyperLogLogTest {
+
+    @Test
+    void testSmallSetsAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+        for (int i = 0; i < 3; i++) {
+            sketch.add("Jane Doe|555-0100");
+            sketch.add("John Roe|555-0101");
+        }
+        assertEquals(2, sketch.estimate());
+    }
+
+    @Test
+    void testLargeSetWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add("Customer " + i + "|555-" + i);
+        }
+        assertEquals(100_000, sketch.estimate(), 100_000 * 0.05);
+    }
+
+    @Test
+    void testMergeEstimatesUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            first.add("Customer " + i);
+            second.add("Customer " + (i + 10_000));
+        }
+        HyperLogLog union = first.copy();
+        union.merge(second);
+        assertEquals(30_000, union.estimate(), 30_000 * 0.05);
+        assertEquals(20_000, first.estimate(), 20_000 * 0.05); // Copy left the original untouched
+
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+    }
+}
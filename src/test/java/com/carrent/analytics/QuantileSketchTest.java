@@ -0,0 +1,55 @@
+package com.carrent.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QuantileSketch
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class QuantileSketchTest {
+
+    @Test
+    void testQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            sketch.add(i);
+        }
+        assertEquals(1000, sketch.getCount());
+        assertEquals(500, sketch.quantile(0.5), 500 * 0.02);
+        assertEquals(950, sketch.quantile(0.95), 950 * 0.02);
+        assertEquals(990, sketch.quantile(0.99), 990 * 0.02);
+        assertEquals(1, sketch.quantile(0), 0.02);
+    }
+
+    @Test
+    void testMergeAndRemove() {
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        for (int i = 1; i <= 100; i++) {
+            low.add(i);
+            high.add(i * 1000.0);
+        }
+        low.add(0);
+        low.merge(high);
+        assertEquals(201, low.getCount());
+        assertEquals(0, low.quantile(0));
+        assertEquals(100_000, low.quantile(1), 100_000 * 0.01);
+
+        for (int i = 1; i <= 100; i++) {
+            low.remove(i * 1000.0);
+        }
+        assertEquals(100, low.quantile(1), 1);
+    }
+
+    @Test
+    void testEmptyAndInvalidValues() {
+        QuantileSketch sketch = new QuantileSketch();
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+    }
+}
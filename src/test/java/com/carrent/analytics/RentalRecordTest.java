@@ -0,0 +1,49 @@
+package com.carrent.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static com.carrent.model.TestRentals.rental;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RentalRecord period arithmetic
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalRecordTest {
+
+    private static final LocalDate START = LocalDate.now().plusDays(10);
+
+    @Test
+    void testOverlapWithPeriod() {
+        RentalRecord record = RentalRecord.of(rental("R001", "V001", "Jane Doe", START, START.plusDays(4), 100.0));
+        long start = START.toEpochDay();
+
+        assertEquals(4, record.overlap(start - 10, start + 10));
+        assertEquals(2, record.overlap(start + 2, start + 10));
+        assertEquals(1, record.overlap(start - 3, start + 1));
+        assertEquals(0, record.overlap(start + 4, start + 10)); // End date is the return day
+    }
+
+    @Test
+    void testRevenueIsProRated() {
+        RentalRecord record = RentalRecord.of(rental("R001", "V001", "Jane Doe", START, START.plusDays(4), 100.0));
+        long start = START.toEpochDay();
+
+        assertEquals(10000, record.centsIn(start - 1, start + 4));
+        assertEquals(5000, record.centsIn(start + 2, start + 7));
+        assertEquals(0, record.centsIn(start + 5, start + 7));
+    }
+
+    @Test
+    void testSameDayRentalOccupiesOneDay() {
+        RentalRecord record = RentalRecord.of(rental("R001", "V001", "Jane Doe", START, START, 45.0));
+        long start = START.toEpochDay();
+
+        assertEquals(1, record.overlap(start, start + 7));
+        assertEquals(4500, record.centsIn(start, start + 7));
+    }
+}
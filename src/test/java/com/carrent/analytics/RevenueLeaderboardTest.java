@@ -0,0 +1,115 @@
+package com.carrent.analytics;
+
+import com.carrent.model.Customer;
+import com.carrent.model.Rental;
+import com.carrent.repository.RepositoryListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.carrent.model.TestRentals.rental;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RevenueLeaderboard
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RevenueLeaderboardTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+
+    private final List<RepositoryListener<Rental>> listeners = new ArrayList<>();
+    private List<Rental> rentals;
+    private RevenueLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        rentals = new ArrayList<>();
+        rentals.add(rental("R001", "V001", "Jane", START, START.plusDays(3), 100.00));
+        rentals.add(rental("R002", "V002", "John", START, START.plusDays(3), 80.00));
+        rentals.add(rental("R003", "V001", "John", START, START.plusDays(3), 30.00));
+        rentals.add(rental("R004", "V003", "Ann", START, START.plusDays(3), 50.00));
+        leaderboard = RevenueLeaderboard.create(() -> rentals, listeners::add, id -> null, 2,
+            ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void testColdStartRanksTotals() {
+        assertEquals(List.of("V001", "V002"), keys(leaderboard.topVehicles()));
+        assertEquals(13000, leaderboard.topVehicles().get(0).getCents());
+        assertEquals(List.of("John (555-0100)", "Jane (555-0100)"), keys(leaderboard.topCustomers()));
+    }
+
+    @Test
+    void testAddedRentalEntersLeaderboard() {
+        listeners.get(0).onAdded(rental("R005", "V003", "Ann", START, START.plusDays(3), 100.00));
+        assertEquals(List.of("V003", "V001"), keys(leaderboard.topVehicles()));
+        assertEquals(List.of("Ann (555-0100)", "John (555-0100)"), keys(leaderboard.topCustomers()));
+    }
+
+    @Test
+    void testDroppedTotalLetsOutsiderBackIn() {
+        Rental changed = rentals.get(0);
+        changed.setTotalCost(10.00); // V001 falls to 40.00, behind V003 at 50.00
+        listeners.get(0).onUpdated(changed);
+        assertEquals(List.of("V002", "V003"), keys(leaderboard.topVehicles()));
+
+        listeners.get(0).onRemoved(rentals.get(1));
+        assertEquals(List.of("V003", "V001"), keys(leaderboard.topVehicles()));
+    }
+
+    @Test
+    void testParallelRecomputeMatchesIncrementalState() {
+        for (int i = 0; i < 10_000; i++) {
+            rentals.add(rental("X" + i, "V" + (i % 100), "Customer " + (i % 700), START, START.plusDays(3),
+                1 + i % 17));
+        }
+        RevenueLeaderboard large = RevenueLeaderboard.create(() -> rentals, listeners::add, id -> null, 5,
+            ForkJoinPool.commonPool());
+        List<RevenueRank> before = large.topVehicles();
+        large.recompute();
+        assertEquals(keys(before), keys(large.topVehicles()));
+        assertEquals(5, before.size());
+    }
+
+    @Test
+    void testRemovalBeforeLoadIsNotLoadedBack() {
+        // The removal event arrives between subscribing and reading the rentals
+        RevenueLeaderboard early = RevenueLeaderboard.create(() -> rentals,
+            listener -> listener.onRemoved(rentals.get(0)), id -> null, 2, ForkJoinPool.commonPool());
+        assertEquals(List.of("V002", "V003"), keys(early.topVehicles()));
+        assertEquals(8000, early.topVehicles().get(0).getCents());
+    }
+
+    @Test
+    void testCustomerIsKeyedOnCustomerId() {
+        Customer stored = new Customer(7, "Ann Lee", "555-0123");
+        Rental first = rental("R101", "V004", "Ann Lee", START, START.plusDays(3), 40.00);
+        Rental second = rental("R102", "V004", "ann lee", START, START.plusDays(3), 45.00);
+        first.setCustomerPhone("555-0123");
+        second.setCustomerPhone("(555) 0123"); // Same customer, phone written differently
+        first.setCustomerId(7);
+        second.setCustomerId(7);
+        List<Rental> linked = List.of(first, second, rental("R103", "V005", "Bob", START, START.plusDays(3), 60.00));
+
+        RevenueLeaderboard byId = RevenueLeaderboard.create(() -> linked, listener -> { },
+            id -> id == 7 ? stored : null, 2, ForkJoinPool.commonPool());
+        List<RevenueRank> top = byId.topCustomers();
+        assertEquals(List.of("Ann Lee (555-0123)", "Bob (555-0100)"), keys(top));
+        assertEquals(8500, top.get(0).getCents());
+    }
+
+    private static List<String> keys(List<RevenueRank> ranks) {
+        List<String> keys = new ArrayList<>();
+        for (RevenueRank rank : ranks) {
+            keys.add(rank.getKey());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,36 @@
+package com.carrent.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AuditLogHandler
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class AuditLogHandlerTest {
+
+    @Test
+    void testAmountIsWrittenFromCents() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AuditLogHandler handler = new AuditLogHandler(new PrintStream(out, true));
+        RentalEvent created = new RentalEvent();
+        created.set(RentalEventType.RENTAL_CREATED, "R001", "V001", 12305, false);
+        RentalEvent rateChanged = new RentalEvent();
+        rateChanged.set(RentalEventType.VEHICLE_RATE_CHANGED, null, "V001", -5, true);
+
+        handler.onEvent(created, 1, false);
+        assertEquals("", out.toString()); // Held until the end of the batch
+        handler.onEvent(rateChanged, 2, true);
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].endsWith(" RENTAL_CREATED rental=R001 vehicle=V001 amount=123.05"), lines[0]);
+        assertTrue(lines[1].endsWith(" VEHICLE_RATE_CHANGED vehicle=V001 amount=-0.05"), lines[1]);
+    }
+}
@@ -0,0 +1,193 @@
+package com.carrent.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RentalEventBus
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalEventBusTest {
+
+    private RentalEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new RentalEventBus(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    @Test
+    void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RentalEventBus(6));
+        assertThrows(IllegalArgumentException.class, () -> new RentalEventBus(0));
+    }
+
+    @Test
+    void testEveryConsumerSeesEveryEventInOrder() throws Exception {
+        int eventCount = 100;
+        List<String> first = Collections.synchronizedList(new ArrayList<>());
+        List<String> second = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+
+        bus.addConsumer("first", (event, sequence, endOfBatch) -> {
+            first.add(event.getRentalId());
+            if (first.size() == eventCount) {
+                done.countDown();
+            }
+        });
+        bus.addConsumer("second", (event, sequence, endOfBatch) -> {
+            second.add(event.getRentalId());
+            if (second.size() == eventCount) {
+                done.countDown();
+            }
+        });
+        bus.start();
+
+        for (int i = 0; i < eventCount; i++) {
+            bus.publish(RentalEventType.RENTAL_CREATED, "R" + i, "V001", 1000, false);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < eventCount; i++) {
+            assertEquals("R" + i, first.get(i));
+            assertEquals("R" + i, second.get(i));
+        }
+    }
+
+    @Test
+    void testSlowConsumerAppliesBackpressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        bus.addConsumer("blocked", (event, sequence, endOfBatch) -> release.await());
+        bus.start();
+
+        // The consumer is stuck on the first event, so the ring fills up
+        bus.publish(RentalEventType.VEHICLE_ADDED, null, "V001", 0, true);
+        Thread.sleep(50);
+        int accepted = 0;
+        while (bus.tryPublish(RentalEventType.VEHICLE_ADDED, null, "V001", 0, true)) {
+            accepted++;
+            assertTrue(accepted <= bus.getCapacity(), "Ring accepted more events than its capacity");
+        }
+        assertEquals(bus.getCapacity() - 1, accepted); // Slot of the event being handled is still held
+        assertFalse(bus.tryPublish(RentalEventType.VEHICLE_ADDED, null, "V001", 0, true));
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (bus.getBacklog() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, bus.getBacklog());
+        assertTrue(bus.tryPublish(RentalEventType.VEHICLE_ADDED, null, "V001", 0, true));
+    }
+
+    @Test
+    void testTryPublishCountsDroppedEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        bus.addConsumer("blocked", (event, sequence, endOfBatch) -> release.await());
+        assertFalse(bus.tryPublish(RentalEventType.VEHICLE_ADDED, null, "V001", 0, true));
+        assertEquals(0, bus.getDroppedCount()); // Not started: refused, not dropped
+        bus.start();
+
+        for (int i = 0; i < bus.getCapacity() + 3; i++) {
+            bus.tryPublish(RentalEventType.VEHICLE_ADDED, null, "V001", 0, true);
+        }
+        assertEquals(3, bus.getDroppedCount());
+        release.countDown();
+    }
+
+    @Test
+    void testCloseWhileRingIsFullDoesNotStrandConsumers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        bus.addConsumer("stranded", (event, sequence, endOfBatch) -> {
+            release.await();
+            handled.add(sequence);
+        });
+        bus.start();
+        for (int i = 0; i < bus.getCapacity(); i++) {
+            bus.publish(RentalEventType.VEHICLE_ADDED, null, "V" + i, 0, true);
+        }
+
+        // This publisher waits for a slot that only frees up after the bus is closed
+        Thread publisher = new Thread(() -> bus.publish(RentalEventType.VEHICLE_ADDED, null, "late", 0, true));
+        publisher.start();
+        while (publisher.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        Thread closer = new Thread(bus::close);
+        closer.start();
+        while (bus.isRunning()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        publisher.join(2000);
+        closer.join(2000);
+        assertFalse(publisher.isAlive());
+        assertFalse(closer.isAlive());
+        assertFalse(consumerThreadAlive("carrent-events-stranded"));
+        assertTrue(handled.size() >= bus.getCapacity());
+        for (int i = 0; i < handled.size(); i++) {
+            assertEquals(i, handled.get(i)); // Drained in order, no gap
+        }
+    }
+
+    @Test
+    void testConcurrentPublishersLoseNothing() throws Exception {
+        int publishers = 4;
+        int perPublisher = 500;
+        EventMetricsHandler metrics = new EventMetricsHandler();
+        bus.addConsumer("metrics", metrics);
+        bus.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perPublisher; i++) {
+                    bus.publish(RentalEventType.RENTAL_COMPLETED, "R" + i, "V001", 500, true);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (metrics.getCount(RentalEventType.RENTAL_COMPLETED) < publishers * perPublisher
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(publishers * perPublisher, metrics.getCount(RentalEventType.RENTAL_COMPLETED));
+        assertTrue(metrics.getBatchCount() > 0);
+    }
+
+    @Test
+    void testAddingConsumerAfterStartFails() {
+        bus.start();
+        assertThrows(IllegalStateException.class,
+            () -> bus.addConsumer("late", (event, sequence, endOfBatch) -> { }));
+    }
+
+    private static boolean consumerThreadAlive(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+            .anyMatch(thread -> thread.getName().equals(name) && thread.isAlive());
+    }
+}
@@ -0,0 +1,88 @@
+package com.carrent.export;
+
+import com.carrent.model.Rental;
+import com.carrent.repository.RentalFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.carrent.model.TestRentals.rental;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming rental exporters
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class StreamingRentalExporterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private List<Rental> rentals;
+    private RentalSource source;
+
+    @BeforeEach
+    void setUp() {
+        rentals = new ArrayList<>();
+        rentals.add(rental("R001", "V001", "Doe, Jane", DAY, DAY.plusDays(3), 126.00));
+        rentals.add(rental("R002", "V002", "Zoë \"Z\" Roe", DAY.plusDays(5), DAY.plusDays(8), 45.5));
+        source = (filter, action) -> rentals.stream().filter(filter::matches).forEach(action);
+    }
+
+    @Test
+    void testCsvQuotesAndFormatsFields() throws IOException {
+        Path target = tempDir.resolve("rentals.csv");
+        long rows = new CsvRentalExporter(source).export(target, RentalFilter.all());
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(2, rows);
+        assertEquals("ID,VehicleID,CustomerName,CustomerPhone,StartDate,EndDate,TotalCost,IsActive", lines.get(0));
+        assertEquals("R001,V001,\"Doe, Jane\",555-0100,2025-06-01,2025-06-04,126.00,true", lines.get(1));
+        assertEquals("R002,V002,\"Zoë \"\"Z\"\" Roe\",555-0100,2025-06-06,2025-06-09,45.50,true", lines.get(2));
+    }
+
+    @Test
+    void testJsonLinesEscapesAndAppliesFilter() throws IOException {
+        Path target = tempDir.resolve("rentals.jsonl");
+        RentalFilter filter = RentalFilter.all().startingBetween(DAY.plusDays(1), null);
+        long rows = new JsonLinesRentalExporter(source).export(target, filter);
+
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(1, rows);
+        assertEquals("{\"id\":\"R002\",\"vehicleId\":\"V002\",\"customerName\":\"Zoë \\\"Z\\\" Roe\","
+            + "\"customerPhone\":\"555-0100\",\"startDate\":\"2025-06-06\",\"endDate\":\"2025-06-09\","
+            + "\"totalCost\":45.50,\"active\":true}", lines.get(0));
+    }
+
+    @Test
+    void testExportLargerThanBuffer() throws IOException {
+        rentals.clear();
+        for (int i = 0; i < 5000; i++) {
+            LocalDate start = DAY.plusDays(i % 30);
+            rentals.add(rental("R" + i, "V" + (i % 50), "Customer " + i, start, start.plusDays(3), i + 0.05));
+        }
+        Path target = tempDir.resolve("large.csv");
+        CsvRentalExporter exporter = new CsvRentalExporter(source);
+
+        assertEquals(5000, exporter.export(target, RentalFilter.all()));
+        List<String> lines = Files.readAllLines(target);
+        assertEquals(5001, lines.size());
+        assertTrue(lines.get(5000).startsWith("R4999,V49,Customer 4999,"));
+        assertTrue(lines.get(5000).contains(",4999.05,"));
+
+        // Reusing the exporter truncates the previous output
+        assertEquals(100, exporter.export(target, RentalFilter.all().forVehicle("V7")));
+        assertEquals(101, Files.readAllLines(target).size());
+    }
+}
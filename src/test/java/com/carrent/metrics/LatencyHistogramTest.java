@@ -0,0 +1,54 @@
+package com.carrent.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverEveryValueOnce() {
+        long previousUpper = -1;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            long upper = LatencyHistogram.upperBound(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(previousUpper + 1));
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            previousUpper = upper;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, previousUpper);
+    }
+
+    @Test
+    void testPercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_500, snapshot.getMeanNanos());
+        assertEquals(1_000_000, snapshot.getMaxNanos());
+        assertEquals(500_000, snapshot.getP50Nanos(), 500_000 / 16.0);
+        assertEquals(990_000, snapshot.getP99Nanos(), 990_000 / 16.0);
+        assertTrue(snapshot.getP50Nanos() >= 500_000);
+        assertEquals(1_000_000, snapshot.getP999Nanos(), 1_000_000 / 16.0);
+    }
+
+    @Test
+    void testOutOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.getMaxNanos());
+        assertEquals(0, new LatencyHistogram().snapshot().getP99Nanos());
+    }
+}
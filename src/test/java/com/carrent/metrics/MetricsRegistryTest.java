@@ -0,0 +1,51 @@
+package com.carrent.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsRegistry
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    void testMetricsAreSharedByName() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.counter("a.count"), registry.counter("a.count"));
+        assertSame(registry.histogram("a.time"), registry.histogram("a.time"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter(" "));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("a").add(-1));
+    }
+
+    @Test
+    void testSnapshotAndTextDump() {
+        MetricsRegistry registry = new MetricsRegistry();
+        AtomicLong size = new AtomicLong(3);
+        registry.counter("repo.load.rows").add(42);
+        registry.gauge("repo.size", size::get);
+        registry.gauge("repo.broken", () -> {
+            throw new IllegalStateException("closed");
+        });
+        registry.histogram("repo.findById").record(1_500);
+        registry.histogram("repo.unused");
+        size.set(4);
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertEquals(42L, snapshot.getCounters().get("repo.load.rows"));
+        assertEquals(4L, snapshot.getGauges().get("repo.size"));
+        assertEquals(-1L, snapshot.getGauges().get("repo.broken"));
+        assertEquals(1, snapshot.getHistogram("repo.findById").getCount());
+
+        String text = snapshot.toText();
+        assertTrue(text.contains("counter repo.load.rows 42"), text);
+        assertTrue(text.contains("gauge repo.size 4"), text);
+        assertTrue(text.contains("latency repo.findById count=1 mean=1.5us"), text);
+        assertFalse(text.contains("repo.unused"), text);
+    }
+}
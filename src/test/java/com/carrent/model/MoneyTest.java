@@ -0,0 +1,49 @@
+package com.carrent.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Money
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class MoneyTest {
+
+    @Test
+    void testFormat() {
+        assertEquals("123.45", Money.format(12345));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-1.50", Money.format(-150));
+        assertEquals("x=10.00", Money.appendTo(new StringBuilder("x="), 1000).toString());
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(12345, Money.parse("123.45"));
+        assertEquals(12350, Money.parse(" 123.5 "));
+        assertEquals(10000, Money.parse("100"));
+        assertEquals(-45, Money.parse("-0.45"));
+        assertEquals(200, Money.parse("1.995"));
+        assertEquals(4500, Money.parse("a,45.00,b", 2, 7));
+        assertThrows(NumberFormatException.class, () -> Money.parse("12a"));
+        assertThrows(NumberFormatException.class, () -> Money.parse(" "));
+        assertThrows(NumberFormatException.class, () -> Money.parse("-"));
+    }
+
+    @Test
+    void testSumsAreExact() {
+        Rental rental = new Rental();
+        rental.setTotalCost(0.10);
+        long total = 0;
+        double drifting = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            total += rental.getTotalCostCents();
+            drifting += rental.getTotalCost();
+        }
+        assertEquals(10_000_000, total);
+        assertNotEquals(100_000.0, drifting);
+    }
+}
@@ -0,0 +1,48 @@
+package com.carrent.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RentalSnapshot
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalSnapshotTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 1);
+
+    @Test
+    void testSnapshotCopiesAllFields() {
+        Rental rental = new Rental("R001", "V001", "Jane Doe", "555-0100", START, START.plusDays(3), false);
+        rental.setTotalCostCents(12600);
+        rental.setCustomerId(7);
+        RentalSnapshot snapshot = RentalSnapshot.of(rental);
+        rental.setActive(false);
+
+        assertEquals("V001", snapshot.getVehicleId());
+        assertEquals(7, snapshot.getCustomerId());
+        assertEquals(START.plusDays(3), snapshot.getEndDate());
+        assertEquals(126.00, snapshot.getTotalCost(), 0.001);
+        assertTrue(snapshot.isActive());
+    }
+
+    @Test
+    void testWithMethods() {
+        RentalSnapshot snapshot = new RentalSnapshot("R001", "V001", 1, "Jane Doe", "555-0100",
+            START, START.plusDays(3), 12600, true);
+        assertSame(snapshot, snapshot.withActive(true));
+        assertSame(snapshot, snapshot.withEndDate(START.plusDays(3)));
+
+        RentalSnapshot extended = snapshot.withEndDate(START.plusDays(5)).withTotalCostCents(21000);
+        assertEquals(START.plusDays(5), extended.getEndDate());
+        assertEquals(21000, extended.getTotalCostCents());
+        assertEquals(START.plusDays(3), snapshot.getEndDate());
+        assertFalse(snapshot.withActive(false).isActive());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.withEndDate(START.minusDays(1)));
+    }
+}
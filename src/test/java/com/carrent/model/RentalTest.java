@@ -0,0 +1,51 @@
+package com.carrent.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the packed Rental fields
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 20);
+
+    @Test
+    void testDatesRoundTripThroughEpochDays() {
+        Rental rental = new Rental("R001", "V001", "John Doe", "555-0123", START, START.plusDays(3), false);
+
+        assertEquals(START, rental.getStartDate());
+        assertEquals(START.plusDays(3), rental.getEndDate());
+        assertEquals(START.toEpochDay(), rental.getStartEpochDay());
+        assertEquals(3, rental.getRentalDays());
+        assertEquals("2025-06-20 to 2025-06-23 (3 days)", rental.getRentalPeriodString());
+    }
+
+    @Test
+    void testUnsetDates() {
+        Rental rental = new Rental();
+        assertNull(rental.getStartDate());
+        assertEquals(0, rental.getRentalDays());
+        assertEquals("Dates not set", rental.getRentalPeriodString());
+        assertThrows(IllegalStateException.class, rental::getStartEpochDay);
+    }
+
+    @Test
+    void testActiveFlagAndValidation() {
+        Rental rental = new Rental("R002", "V001", "John Doe", "555-0123", START, START, false);
+        assertTrue(rental.isActive());
+        rental.completeRental();
+        assertFalse(rental.isActive());
+        assertEquals("Completed", rental.getStatusString());
+        assertThrows(IllegalStateException.class, rental::completeRental);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new Rental("R003", "V001", "John Doe", "555-0123", START, START.minusDays(1), false));
+    }
+}
@@ -0,0 +1,53 @@
+package com.carrent.model;
+
+import java.time.LocalDate;
+
+/**
+ * Rentals for tests, built without the new-rental date checks
+ *
+ * Every rental is booked with the phone number 555-0100.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public final class TestRentals {
+
+    private TestRentals() {
+    }
+
+    /**
+     * Build an active rental
+     *
+     * @param id rental ID
+     * @param vehicleId rented vehicle
+     * @param customerName customer's name
+     * @param start start date
+     * @param end end date
+     * @param cost total cost in dollars
+     * @return the rental
+     */
+    public static Rental rental(String id, String vehicleId, String customerName,
+                                LocalDate start, LocalDate end, double cost) {
+        return rental(id, vehicleId, customerName, start, end, cost, true);
+    }
+
+    /**
+     * Build an active or completed rental
+     *
+     * @param id rental ID
+     * @param vehicleId rented vehicle
+     * @param customerName customer's name
+     * @param start start date
+     * @param end end date
+     * @param cost total cost in dollars
+     * @param active false for a completed rental
+     * @return the rental
+     */
+    public static Rental rental(String id, String vehicleId, String customerName,
+                                LocalDate start, LocalDate end, double cost, boolean active) {
+        Rental rental = new Rental(id, vehicleId, customerName, "555-0100", start, end, false);
+        rental.setTotalCost(cost);
+        rental.setActive(active);
+        return rental;
+    }
+}
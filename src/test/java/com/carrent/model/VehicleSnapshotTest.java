@@ -0,0 +1,41 @@
+package com.carrent.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VehicleSnapshot
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class VehicleSnapshotTest {
+
+    @Test
+    void testSnapshotIsDetachedFromVehicle() {
+        Vehicle vehicle = new Motorcycle("M001", "Ducati", "Monster", 75.50, 937, "Naked");
+        VehicleSnapshot snapshot = VehicleSnapshot.of(vehicle, "Motorcycle");
+        vehicle.setAvailable(false);
+        vehicle.setDailyRate(80.00);
+
+        assertEquals("Motorcycle", snapshot.getVehicleType());
+        assertEquals(7550, snapshot.getDailyRateCents());
+        assertTrue(snapshot.isAvailable());
+        assertEquals("Ducati Monster", snapshot.getDisplayName());
+    }
+
+    @Test
+    void testWithMethodsCopyOnlyOnChange() {
+        VehicleSnapshot snapshot = VehicleSnapshot.of(new Vehicle("V001", "Toyota", "Corolla", 29.00), "Vehicle");
+        assertSame(snapshot, snapshot.withAvailable(true));
+        assertSame(snapshot, snapshot.withDailyRateCents(2900));
+
+        VehicleSnapshot rented = snapshot.withAvailable(false);
+        assertFalse(rented.isAvailable());
+        assertTrue(snapshot.isAvailable());
+        assertEquals(snapshot, rented.withAvailable(true));
+        assertEquals(3100, rented.withDailyRateCents(3100).getDailyRateCents());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.withDailyRateCents(-1));
+    }
+}
@@ -0,0 +1,93 @@
+package com.carrent.pricing;
+
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PricingEngine
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class PricingEngineTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final LocalDate TABLE_START = LocalDate.of(2025, 1, 1);
+
+    private final Vehicle car = new Vehicle("V001", "Toyota", "Camry", 50.00);
+    private final Motorcycle sportBike = new Motorcycle("M001", "Yamaha", "R1", 100.00, 1000, "Sport");
+
+    @Test
+    void testFlatEngineMatchesDailyRate() {
+        PricingEngine engine = new PricingEngine(List.of(), List.of(), TABLE_START, 365);
+        assertEquals(15000, engine.quoteCents(car, MONDAY, MONDAY.plusDays(3)));
+        assertEquals(5000, engine.quoteCents(car, MONDAY, MONDAY)); // Minimum one day
+    }
+
+    @Test
+    void testWeekendAndSeasonMultipliers() {
+        PricingEngine engine = new PricingEngine(
+            List.of(PricingRule.weekend(null, 1.5),
+                    PricingRule.season("Spring", PricingEngine.VEHICLE, MonthDay.of(3, 7), MonthDay.of(3, 31), 2.0)),
+            List.of(), TABLE_START, 365);
+
+        // Mon-Thu plain, Fri in season, Sat and Sun weekend and season
+        long cents = engine.quoteCents(car, MONDAY, MONDAY.plusDays(7));
+        assertEquals(5000 * 4 + 10000 + 15000 * 2, cents);
+
+        // The season rule only applies to cars
+        Motorcycle bike = new Motorcycle("M002", "Honda", "CB500", 50.00, 500, "Standard");
+        long insurance = Math.round(bike.calculateInsuranceRate() * 100) * 7;
+        assertEquals(5000 * 5 + 7500 * 2 + insurance, engine.quoteCents(bike, MONDAY, MONDAY.plusDays(7)));
+    }
+
+    @Test
+    void testLongestLengthDiscountApplies() {
+        PricingEngine engine = new PricingEngine(List.of(),
+            List.of(new LengthDiscount(7, 10), new LengthDiscount(28, 25)), TABLE_START, 365);
+        assertEquals(30000, engine.quoteCents(car, MONDAY, MONDAY.plusDays(6)));
+        assertEquals(31500, engine.quoteCents(car, MONDAY, MONDAY.plusDays(7)));
+        assertEquals(105000, engine.quoteCents(car, MONDAY, MONDAY.plusDays(28)));
+    }
+
+    @Test
+    void testMotorcycleInsuranceIsAdded() {
+        PricingEngine engine = PricingEngine.flat();
+        LocalDate start = LocalDate.now().plusDays(1);
+        assertEquals(45.0, sportBike.calculateInsuranceRate(), 0.001);
+        assertEquals((10000 + 4500) * 2, engine.quoteCents(sportBike, start, start.plusDays(2)));
+    }
+
+    @Test
+    void testQuoteAllMatchesSingleQuotes() {
+        PricingEngine engine = new PricingEngine(List.of(PricingRule.weekend(PricingEngine.MOTORCYCLE, 1.3)),
+            List.of(new LengthDiscount(7, 10)), TABLE_START, 365);
+        List<Vehicle> fleet = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            fleet.add(i % 3 == 0
+                ? new Motorcycle("M" + i, "Honda", "CB", 40 + i, 300 + i * 20, i % 2 == 0 ? "Sport" : "Cruiser")
+                : new Vehicle("V" + i, "Toyota", "Camry", 35.5 + i));
+        }
+        long[] cents = engine.quoteAll(FleetRates.of(fleet), MONDAY, MONDAY.plusDays(9));
+        for (int i = 0; i < fleet.size(); i++) {
+            assertEquals(engine.quoteCents(fleet.get(i), MONDAY, MONDAY.plusDays(9)), cents[i]);
+        }
+    }
+
+    @Test
+    void testStaysOutsideTableMatchTableLookups() {
+        PricingEngine small = new PricingEngine(List.of(PricingRule.weekend(null, 1.25)), List.of(), MONDAY, 10);
+        PricingEngine large = new PricingEngine(List.of(PricingRule.weekend(null, 1.25)), List.of(), TABLE_START, 365);
+        LocalDate start = MONDAY.minusDays(9);
+        assertEquals(large.quoteCents(car, start, start.plusDays(30)), small.quoteCents(car, start, start.plusDays(30)));
+        assertThrows(IllegalArgumentException.class, () -> small.quoteCents(car, MONDAY, MONDAY.minusDays(1)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.carrent.pricing;
+
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput benchmark: bulk fleet pricing versus one quote per vehicle
+ *
+ * Not a unit test; run it from the IDE, or after {@code mvn test-compile} with
+ * {@code java -cp target/classes:target/test-classes com.carrent.pricing.QuoteAllBenchmark}.
+ * Optional arguments: fleet size (default 200000) and rounds (default 20).
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class QuoteAllBenchmark {
+
+    public static void main(String[] args) {
+        int fleetSize = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        List<Vehicle> fleet = new ArrayList<>(fleetSize);
+        for (int i = 0; i < fleetSize; i++) {
+            fleet.add(i % 5 == 0
+                ? new Motorcycle("M" + i, "Honda", "CB500", 40 + i % 60, 300 + i % 900, "Standard")
+                : new Vehicle("V" + i, "Toyota", "Camry", 30 + i % 120));
+        }
+        PricingEngine engine = PricingEngine.standard();
+        LocalDate start = LocalDate.now().plusDays(10);
+        LocalDate end = start.plusDays(12);
+
+        FleetRates rates = FleetRates.of(fleet);
+        long checksum = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            checksum += single(engine, fleet, start, end) + engine.quoteAll(rates, start, end)[0];
+        }
+
+        long begin = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            checksum += single(engine, fleet, start, end);
+        }
+        report("One quoteCents per vehicle", fleetSize, rounds, System.nanoTime() - begin);
+
+        begin = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            checksum += engine.quoteAll(rates, start, end)[round % fleetSize];
+        }
+        report("quoteAll over a rate snapshot", fleetSize, rounds, System.nanoTime() - begin);
+
+        begin = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            checksum += engine.quoteAll(FleetRates.of(fleet), start, end)[round % fleetSize];
+        }
+        report("quoteAll including the snapshot", fleetSize, rounds, System.nanoTime() - begin);
+
+        System.out.println("(checksum " + checksum + ")");
+    }
+
+    private static long single(PricingEngine engine, List<Vehicle> fleet, LocalDate start, LocalDate end) {
+        long total = 0;
+        for (Vehicle vehicle : fleet) {
+            total += engine.quoteCents(vehicle, start, end);
+        }
+        return total;
+    }
+
+    private static void report(String label, int fleetSize, int rounds, long nanos) {
+        double quotesPerSecond = (double) fleetSize * rounds / (nanos / 1e9);
+        System.out.printf("%-34s %,14.0f quotes/s%n", label, quotesPerSecond);
+    }
+}
@@ -0,0 +1,56 @@
+package com.carrent.repository;
+
+import com.carrent.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CustomerRepository
+ *
+ * Uses the non-saving register path so the bundled customers file is left alone.
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class CustomerRepositoryTest {
+
+    private CustomerRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CustomerRepository();
+    }
+
+    @Test
+    void testPhoneFormattingDoesNotCreateDuplicates() {
+        int before = repository.count();
+        Customer first = repository.register("Jane Roe", "(555) 019-8765");
+        Customer again = repository.register("jane roe", "555.019.8765");
+
+        assertSame(first, again);
+        assertEquals(before + 1, repository.count());
+        assertEquals("Jane Roe", again.getName());
+        assertSame(first, repository.findById(first.getId()));
+        assertSame(first, repository.findByPhone("5550198765"));
+    }
+
+    @Test
+    void testIdsAreDenseAndNamesIndexed() {
+        Customer a = repository.register("Sam Lee", "555-1000");
+        Customer b = repository.register("Sam Lee", "555-2000");
+
+        assertEquals(a.getId() + 1, b.getId());
+        assertEquals(2, repository.findByName("  SAM LEE ").size());
+        assertNull(repository.findById(0));
+        assertNull(repository.findById(b.getId() + 1));
+    }
+
+    @Test
+    void testInvalidCustomersAreRejected() {
+        assertNull(repository.register("", "555-3000"));
+        assertNull(repository.register("No Phone", "n/a"));
+        assertEquals("5550123", CustomerRepository.normalizePhone(" 555-0123 "));
+    }
+}
@@ -0,0 +1,110 @@
+package com.carrent.repository;
+
+import com.carrent.model.Rental;
+import com.carrent.model.RentalSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.carrent.model.TestRentals.rental;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RentalRepository commands and snapshots, run against a scratch data directory
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalRepositoryTest {
+
+    // Started last week, so the new-booking rule would reject any date change
+    private static final LocalDate START = LocalDate.now().minusDays(7);
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void testChangeEndDateOfAStartedRental() {
+        RentalRepository repository = new RentalRepository(dataDirectory);
+        assertTrue(repository.save(rental("R001", "V001", "Jane Doe", START, START.plusDays(3), 120.00)));
+        RentalSnapshot before = repository.snapshotById("R001");
+
+        assertTrue(repository.changeEndDate("R001", START.plusDays(10), 40000));
+        RentalSnapshot after = repository.snapshotById("R001");
+        assertEquals(START.plusDays(10), after.getEndDate());
+        assertEquals(40000, after.getTotalCostCents());
+        assertEquals(START.plusDays(3), before.getEndDate());
+
+        Rental reloaded = new RentalRepository(dataDirectory).findById("R001");
+        assertEquals(START.plusDays(10), reloaded.getEndDate());
+        assertEquals(40000, reloaded.getTotalCostCents());
+        assertFalse(repository.changeEndDate("R999", START.plusDays(10), 40000));
+    }
+
+    @Test
+    void testRejectedEndDateLeavesRentalUnchanged() {
+        RentalRepository repository = new RentalRepository(dataDirectory);
+        assertTrue(repository.save(rental("R001", "V001", "Jane Doe", START, START.plusDays(3), 120.00)));
+        RentalSnapshot before = repository.snapshotById("R001");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.changeEndDate("R001", START.minusDays(1), 40000));
+        assertThrows(IllegalArgumentException.class,
+            () -> repository.changeEndDate("R001", START.plusDays(10), -1));
+        assertSame(before, repository.snapshotById("R001"));
+        assertEquals(START.plusDays(3), repository.findById("R001").getEndDate());
+        assertEquals(12000, repository.findById("R001").getTotalCostCents());
+    }
+
+    @Test
+    void testSnapshotsFollowEveryChange() {
+        RentalRepository repository = new RentalRepository(dataDirectory);
+        assertTrue(repository.save(rental("R001", "V001", "Jane Doe", START, START.plusDays(3), 120.00)));
+        assertTrue(repository.save(rental("R002", "V001", "Jane Doe", START, START.plusDays(3), 120.00)));
+        List<RentalSnapshot> all = repository.snapshotAll();
+        assertSame(all, repository.snapshotAll());
+
+        assertTrue(repository.setActive("R002", false));
+        List<RentalSnapshot> changed = repository.snapshotAll();
+        assertNotSame(all, changed);
+        assertSame(all.get(0), changed.get(0));
+        assertFalse(changed.get(1).isActive());
+        assertFalse(repository.snapshotById("R002").isActive());
+
+        assertTrue(repository.deleteById("R001"));
+        assertNull(repository.snapshotById("R001"));
+        assertEquals(1, repository.snapshotAll().size());
+    }
+
+    @Test
+    void testForEachWalksChunksAndAllowsWrites() {
+        RentalRepository repository = new RentalRepository(dataDirectory);
+        // More than one chunk, saved out of start date order
+        for (int i = 0; i < 700; i++) {
+            Rental rental = new Rental(String.format("R%03d", i), "V001", "Jane Doe", "555-0100",
+                START.plusDays(699 - i), START.plusDays(700 - i), false);
+            assertTrue(repository.save(rental));
+        }
+
+        List<LocalDate> starts = new ArrayList<>();
+        repository.forEach(RentalFilter.all(), rental -> {
+            starts.add(rental.getStartDate());
+            // The lock is not held while visiting, so the action may write
+            repository.setActive(rental.getId(), false);
+        });
+        assertEquals(700, starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            assertEquals(START.plusDays(i), starts.get(i));
+        }
+        assertTrue(repository.findActiveRentals().isEmpty());
+
+        List<String> range = new ArrayList<>();
+        repository.forEach(RentalFilter.all().startingBetween(START.plusDays(10), START.plusDays(12)),
+            rental -> range.add(rental.getId()));
+        assertEquals(List.of("R689", "R688", "R687"), range);
+    }
+}
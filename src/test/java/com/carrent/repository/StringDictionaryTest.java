@@ -0,0 +1,38 @@
+package com.carrent.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StringDictionary
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class StringDictionaryTest {
+
+    @Test
+    void testEqualValuesShareOneInstance() {
+        StringDictionary dictionary = new StringDictionary();
+        String first = dictionary.canonical(new String("Toyota"));
+        String second = dictionary.canonical(new String("Toyota"));
+
+        assertSame(first, second);
+        assertNotSame(first, dictionary.canonical(new String("Honda")));
+        assertNull(dictionary.canonical(null));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void testReportShowsSavings() {
+        StringDictionary dictionary = new StringDictionary();
+        for (int i = 0; i < 10_000; i++) {
+            dictionary.canonical("V" + (i % 10));
+        }
+        String report = dictionary.report("Test");
+        assertTrue(report.contains("10000 string fields, 10 distinct"), report);
+        assertTrue(report.contains("~0 KB after"), report);
+        assertEquals(48, StringDictionary.estimateSize("V1"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.carrent.repository;
+
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VehicleCodecRegistry
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class VehicleCodecRegistryTest {
+
+    private final VehicleCodecRegistry registry = VehicleCodecRegistry.standard();
+
+    @Test
+    void testMotorcycleFieldsRoundTrip() {
+        Motorcycle original = new Motorcycle("M001", "Honda", "Gold Wing", 80.00, 1833, "Touring", true, 2, false);
+        VehicleCodec codec = registry.forVehicle(original);
+        assertSame(VehicleCodecRegistry.MOTORCYCLE, codec);
+
+        StringBuilder line = new StringBuilder(codec.getTag());
+        codec.appendFields(line, original);
+        assertEquals("Motorcycle,1833,Touring,true,2,false", line.toString());
+
+        String[] parts = line.toString().split(",", -1);
+        Vehicle decoded = registry.forTag(parts[0]).create("M001", "Honda", "Gold Wing", parts, 1, value -> value);
+        Motorcycle motorcycle = assertInstanceOf(Motorcycle.class, decoded);
+        assertEquals(1833, motorcycle.getEngineSize());
+        assertEquals("Touring", motorcycle.getMotorcycleType());
+        assertTrue(motorcycle.hasLuggage());
+        assertEquals(2, motorcycle.getPassengerCapacity());
+        assertFalse(motorcycle.hasSidecar());
+    }
+
+    @Test
+    void testLookupByTagAndClass() {
+        assertSame(VehicleCodecRegistry.VEHICLE, registry.forTag("Vehicle"));
+        assertNull(registry.forTag("Truck"));
+        assertSame(VehicleCodecRegistry.VEHICLE, registry.forVehicle(new Vehicle("V1", "Ford", "Focus", 30.00)));
+
+        // Unregistered subclasses fall back to the nearest registered superclass
+        Vehicle custom = new Motorcycle("M2", "Vespa", "GTS", 40.00, 300, "Scooter") { };
+        assertSame(VehicleCodecRegistry.MOTORCYCLE, registry.forVehicle(custom));
+        assertSame(VehicleCodecRegistry.VEHICLE, new VehicleCodecRegistry().forVehicle(custom));
+        assertEquals("Motorcycle", VehicleCodecRegistry.typeOf(custom));
+        assertEquals("Vehicle", VehicleCodecRegistry.typeOf(new Vehicle("V1", "Ford", "Focus", 30.00)));
+    }
+
+    @Test
+    void testMalformedRowsAreRejected() {
+        String[] parts = {"Motorcycle", "big", "Sport", "false", "1", "false"};
+        assertThrows(IllegalArgumentException.class,
+            () -> VehicleCodecRegistry.MOTORCYCLE.create("M3", "Ducati", "Monster", parts, 1, value -> value));
+        assertThrows(IllegalArgumentException.class,
+            () -> VehicleCodecRegistry.MOTORCYCLE.create("M3", "Ducati", "Monster", new String[] {"Motorcycle"}, 1,
+                value -> value));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(null));
+    }
+
+    @Test
+    void testMissingVehicleCodecNamesTheType() {
+        // Taking over the "Vehicle" tag drops the plain vehicle codec
+        VehicleCodecRegistry custom = new VehicleCodecRegistry().register(new VehicleCodec() {
+            @Override
+            public String getTag() {
+                return "Vehicle";
+            }
+
+            @Override
+            public Class<? extends Vehicle> getType() {
+                return Motorcycle.class;
+            }
+
+            @Override
+            public void appendFields(StringBuilder line, Vehicle vehicle) {
+                VehicleCodecRegistry.MOTORCYCLE.appendFields(line, vehicle);
+            }
+
+            @Override
+            public Vehicle create(String id, String make, String model, String[] parts, int offset,
+                                  UnaryOperator<String> strings) {
+                return VehicleCodecRegistry.MOTORCYCLE.create(id, make, model, parts, offset, strings);
+            }
+        });
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> custom.forVehicle(new Vehicle("V1", "Ford", "Focus", 30.00)));
+        assertTrue(e.getMessage().contains(Vehicle.class.getName()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.carrent.repository;
+
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+import com.carrent.model.VehicleSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VehicleRepository, run against a scratch data directory
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class VehicleRepositoryTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void testSubtypeFieldsSurviveSaveAndReload() {
+        VehicleRepository repository = new VehicleRepository(dataDirectory);
+        assertEquals(0, repository.count());
+        assertTrue(repository.save(new Vehicle("V001", "Toyota", "Corolla", 29.00)));
+        assertTrue(repository.save(new Motorcycle("M001", "Honda", "Gold Wing", 80.00, 1833, "Touring", true, 2, false)));
+
+        VehicleRepository reloaded = new VehicleRepository(dataDirectory);
+        assertEquals(2, reloaded.count());
+        Motorcycle motorcycle = assertInstanceOf(Motorcycle.class, reloaded.findById("M001"));
+        assertEquals(1833, motorcycle.getEngineSize());
+        assertEquals("Touring", motorcycle.getMotorcycleType());
+        assertEquals(8000, motorcycle.getDailyRateCents());
+        assertFalse(reloaded.findById("V001") instanceof Motorcycle);
+    }
+
+    @Test
+    void testCommandsChangeOnlyTheirOwnField() {
+        VehicleRepository repository = new VehicleRepository(dataDirectory);
+        assertTrue(repository.save(new Vehicle("V001", "Toyota", "Corolla", 29.00)));
+        VehicleSnapshot before = repository.snapshotById("V001");
+
+        // An edit made between a caller's read and its command must survive the command
+        Vehicle edited = new Vehicle("V001", "Toyota", "Corolla", 35.00);
+        assertTrue(repository.update(edited));
+        assertTrue(repository.setAvailable("V001", false));
+        assertEquals(3500, repository.findById("V001").getDailyRateCents());
+
+        assertTrue(repository.setDailyRateCents("V001", 3100));
+        assertFalse(repository.findById("V001").isAvailable());
+        VehicleSnapshot after = repository.snapshotById("V001");
+        assertEquals(3100, after.getDailyRateCents());
+        assertFalse(after.isAvailable());
+        assertTrue(before.isAvailable());
+        assertEquals(List.of(after), repository.snapshotAll());
+
+        assertFalse(repository.setAvailable("V999", false));
+        assertThrows(IllegalArgumentException.class, () -> repository.setDailyRateCents("V001", -1));
+    }
+
+    @Test
+    void testConcurrentSavesWriteWholeFiles() throws Exception {
+        VehicleRepository repository = new VehicleRepository(dataDirectory);
+        for (int i = 0; i < 200; i++) {
+            repository.save(new Vehicle(String.format("V%03d", i), "Make", "Model", 30.00));
+        }
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<?>[] saves = new CompletableFuture<?>[16];
+            for (int i = 0; i < saves.length; i++) {
+                saves[i] = CompletableFuture.runAsync(repository::saveVehiclesToFile, threads);
+            }
+            CompletableFuture.allOf(saves).join();
+        }
+
+        List<String> lines = Files.readAllLines(dataDirectory.resolve("data/vehicles.csv"));
+        assertEquals(201, lines.size());
+        assertEquals(200, new VehicleRepository(dataDirectory).count());
+    }
+}
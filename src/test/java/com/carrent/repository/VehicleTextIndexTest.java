@@ -0,0 +1,86 @@
+package com.carrent.repository;
+
+import com.carrent.model.Motorcycle;
+import com.carrent.model.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VehicleTextIndex
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class VehicleTextIndexTest {
+
+    private VehicleTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleTextIndex();
+        index.put(new Vehicle("V001", "Honda", "Civic", 40.0));
+        index.put(new Vehicle("V002", "Toyota", "Camry", 45.0));
+        index.put(new Motorcycle("M001", "Harley-Davidson", "HD Street", 80.0, 1200, "Cruiser"));
+    }
+
+    @Test
+    void testMatchesAnyFieldIgnoringCase() {
+        assertEquals(Set.of("V001"), ids(index.search("civ")));
+        assertEquals(Set.of("V002"), ids(index.search("TOYOTA")));
+        assertEquals(Set.of("V001", "V002"), ids(index.search("v00")));
+        assertEquals(Set.of("M001"), ids(index.search("1200cc")));
+    }
+
+    @Test
+    void testEveryTermMustMatch() {
+        assertEquals(Set.of("M001"), ids(index.search("HD 12")));
+        assertTrue(index.search("hd camry").isEmpty());
+        assertEquals(3, index.search("  ").size());
+    }
+
+    @Test
+    void testRefiningAQueryNarrowsTheResult() {
+        assertEquals(Set.of("V001", "V002"), ids(index.search("v0")));
+        assertEquals(Set.of("V002"), ids(index.search("v002")));
+        assertEquals(Set.of("V001", "V002"), ids(index.search("v0"))); // Widening runs a fresh lookup
+    }
+
+    @Test
+    void testUpdatesAndRemovalsAreReflected() {
+        index.search("civ");
+        Vehicle renamed = new Vehicle("V001", "Honda", "Accord", 40.0);
+        index.put(renamed);
+        assertTrue(index.search("civic").isEmpty());
+        assertEquals(Set.of("V001"), ids(index.search("accord")));
+
+        index.remove("V002");
+        assertTrue(index.search("camry").isEmpty());
+    }
+
+    @Test
+    void testRemovedSlotsAreReused() {
+        for (int i = 0; i < 1000; i++) {
+            index.put(new Vehicle("T" + i, "Kia", "Rio " + i, 30.0));
+            index.remove("T" + i);
+        }
+        assertEquals(4, index.slotCount());
+        assertTrue(index.search("rio").isEmpty());
+
+        index.remove("V002");
+        index.put(new Vehicle("V009", "Mazda", "CX-5", 50.0));
+        assertEquals(4, index.slotCount());
+        assertEquals(Set.of("V009"), ids(index.search("mazda")));
+        assertTrue(index.search("camry").isEmpty());
+        assertEquals(Set.of("V001", "V009", "M001"), ids(index.search("  ")));
+    }
+
+    private static Set<String> ids(List<Vehicle> vehicles) {
+        return vehicles.stream().map(Vehicle::getId).collect(Collectors.toSet());
+    }
+}
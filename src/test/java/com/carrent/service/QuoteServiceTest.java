@@ -0,0 +1,68 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import com.carrent.pricing.PricingEngine;
+import com.carrent.repository.RentalRepository;
+import com.carrent.repository.RevenueRollupRepository;
+import com.carrent.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QuoteService, run against a scratch data directory
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class QuoteServiceTest {
+
+    private static final LocalDate START = LocalDate.now().plusDays(1);
+    private static final LocalDate END = START.plusDays(3);
+
+    @TempDir
+    Path dataDirectory;
+
+    private VehicleService vehicleService;
+    private QuoteService quoteService;
+
+    @BeforeEach
+    void setUp() {
+        vehicleService = new VehicleService(new VehicleRepository(dataDirectory), Runnable::run);
+        vehicleService.addVehicle(new Vehicle("V001", "Toyota", "Corolla", 40.00));
+        vehicleService.addVehicle(new Vehicle("V002", "Honda", "Civic", 30.00));
+        vehicleService.addVehicle(new Vehicle("V003", "Ford", "Focus", 35.00));
+        RentalService rentalService = new RentalService(new RentalRepository(dataDirectory), vehicleService,
+            Runnable::run, new RevenueRollupRepository(dataDirectory));
+        rentalService.setPricingEngine(PricingEngine.flat());
+        quoteService = new QuoteService(rentalService, vehicleService);
+    }
+
+    @Test
+    void testRepeatedQuoteIsServedFromCache() {
+        assertEquals(120.00, quoteService.quote("V001", START, END), 0.001);
+        assertEquals(120.00, quoteService.quote("V001", START, END), 0.001);
+        assertEquals(120.00, quoteService.quoteAsync("V001", START, END).join(), 0.001);
+
+        assertEquals(1, quoteService.getMissCount());
+        assertEquals(2, quoteService.getHitCount());
+    }
+
+    @Test
+    void testRateChangeInvalidatesCachedQuotes() {
+        quoteService.quote("V001", START, END);
+        long version = vehicleService.getRateVersion();
+
+        assertTrue(vehicleService.updateDailyRate("V001", 50.00));
+        assertTrue(vehicleService.getRateVersion() > version);
+        assertEquals(150.00, quoteService.quote("V001", START, END), 0.001);
+
+        assertEquals(2, quoteService.getMissCount());
+        assertEquals(0, quoteService.getHitCount());
+    }
+}
@@ -0,0 +1,81 @@
+package com.carrent.service;
+
+import com.carrent.model.Rental;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.carrent.model.TestRentals.rental;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RentalAggregates
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalAggregatesTest {
+
+    private static final LocalDate START = LocalDate.now().plusDays(1);
+
+    private List<Rental> rentals;
+    private RentalAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        rentals = new ArrayList<>();
+        rentals.add(rental("R001", "V001", "Jane Doe", START, START.plusDays(2), 90.10, true));
+        rentals.add(rental("R002", "V001", "Jane Doe", START, START.plusDays(2), 45.20, false));
+        aggregates = new RentalAggregates(() -> new ArrayList<>(rentals));
+        aggregates.seed();
+    }
+
+    @Test
+    void testSeedCountsExistingRentals() {
+        assertEquals(1, aggregates.getActiveCount());
+        assertEquals(90.10, aggregates.getPotentialRevenue(), 0.001);
+        assertEquals(45.20, aggregates.getCompletedRevenue(), 0.001);
+    }
+
+    @Test
+    void testTransitionsMoveRevenueBetweenTotals() {
+        Rental added = rental("R003", "V001", "Jane Doe", START, START.plusDays(2), 30.00, true);
+        rentals.add(added);
+        aggregates.onAdded(added);
+        assertEquals(2, aggregates.getActiveCount());
+
+        // Completion mutates the rental in place before the update event
+        Rental completed = rentals.get(0);
+        completed.setActive(false);
+        aggregates.onUpdated(completed);
+        assertEquals(1, aggregates.getActiveCount());
+        assertEquals(30.00, aggregates.getPotentialRevenue(), 0.001);
+        assertEquals(135.30, aggregates.getCompletedRevenue(), 0.001);
+
+        rentals.remove(added);
+        aggregates.onRemoved(added);
+        assertEquals(0, aggregates.getActiveCount());
+        assertEquals(0.0, aggregates.getPotentialRevenue(), 0.001);
+        assertTrue(aggregates.reconcile());
+    }
+
+    @Test
+    void testRepeatedEventsAreNotDoubleCounted() {
+        aggregates.onAdded(rentals.get(0));
+        aggregates.onUpdated(rentals.get(0));
+        assertEquals(1, aggregates.getActiveCount());
+        assertTrue(aggregates.reconcile());
+    }
+
+    @Test
+    void testReconcileCorrectsMissedChanges() {
+        rentals.get(0).setActive(false); // Changed without an event
+        assertFalse(aggregates.reconcile());
+        assertEquals(0, aggregates.getActiveCount());
+        assertEquals(135.30, aggregates.getCompletedRevenue(), 0.001);
+        assertTrue(aggregates.reconcile());
+    }
+}
@@ -0,0 +1,91 @@
+package com.carrent.service;
+
+import com.carrent.model.Rental;
+import com.carrent.model.Vehicle;
+import com.carrent.pricing.PricingEngine;
+import com.carrent.repository.RentalRepository;
+import com.carrent.repository.RevenueRollupRepository;
+import com.carrent.repository.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RentalService, run against a scratch data directory
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RentalServiceTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    @TempDir
+    Path dataDirectory;
+
+    private RequestExecutor executor;
+    private final List<Thread> workers = new CopyOnWriteArrayList<>();
+    private VehicleService vehicleService;
+    private RentalService rentalService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new RequestExecutor(RequestExecutor.Mode.VIRTUAL, 0);
+        Executor recording = task -> executor.execute(() -> {
+            workers.add(Thread.currentThread());
+            task.run();
+        });
+        vehicleService = new VehicleService(new VehicleRepository(dataDirectory), recording);
+        vehicleService.addVehicle(new Vehicle("V001", "Toyota", "Corolla", 40.00));
+        rentalService = new RentalService(new RentalRepository(dataDirectory), vehicleService, recording,
+            new RevenueRollupRepository(dataDirectory));
+        rentalService.setPricingEngine(PricingEngine.flat());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void testAsyncBookingAndReturnCompleteOnTheExecutor() {
+        Rental rental = rentalService.createRentalAsync("V001", "Jane Doe", "555-0100",
+            TOMORROW, TOMORROW.plusDays(2)).join();
+        assertNotNull(rental);
+        assertEquals(80.00, rental.getTotalCost(), 0.001);
+        assertFalse(vehicleService.isVehicleAvailable("V001"));
+        assertEquals(1, rentalService.getActiveRentalsAsync().join().size());
+
+        assertTrue(rentalService.completeRentalAsync(rental.getId()).join());
+        assertTrue(vehicleService.isVehicleAvailable("V001"));
+        assertFalse(rentalService.completeRentalAsync(rental.getId()).join());
+        assertEquals(40.00, rentalService.calculateRentalCostAsync("V001", TOMORROW, TOMORROW.plusDays(1)).join(), 0.001);
+
+        assertEquals(5, workers.size());
+        assertTrue(workers.stream().allMatch(Thread::isVirtual));
+    }
+
+    @Test
+    void testNameSearchUsesTheNameOnEachRental() {
+        vehicleService.addVehicle(new Vehicle("V002", "Honda", "Civic", 45.00));
+        Rental john = rentalService.createRental("V001", "John Doe", "555-0100", TOMORROW, TOMORROW.plusDays(2));
+        // Same phone, written differently, under another name
+        Rental jane = rentalService.createRental("V002", "Jane Smith", "(555) 0100", TOMORROW, TOMORROW.plusDays(1));
+        assertNotNull(john);
+        assertNotNull(jane);
+
+        assertEquals(List.of(jane), rentalService.findRentalsByCustomer("jane smith"));
+        assertEquals(List.of(john), rentalService.findRentalsByCustomer(" John Doe "));
+        assertEquals(List.of(john, jane), rentalService.findRentalsByCustomerPhone("555.0100"));
+        assertTrue(rentalService.findRentalsByCustomer("Nobody").isEmpty());
+    }
+}
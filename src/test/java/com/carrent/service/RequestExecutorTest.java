@@ -0,0 +1,59 @@
+package com.carrent.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestExecutor
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class RequestExecutorTest {
+
+    @Test
+    void testVirtualModeRunsEachRequestOnAVirtualThread() {
+        try (RequestExecutor executor = new RequestExecutor(RequestExecutor.Mode.VIRTUAL, 0)) {
+            Thread first = executor.call(Thread::currentThread);
+            Thread second = executor.call(Thread::currentThread);
+            assertTrue(first.isVirtual());
+            assertNotSame(first, second);
+            assertEquals(0, executor.getPoolSize());
+        }
+    }
+
+    @Test
+    void testPlatformModeUsesNamedDaemonPool() {
+        try (RequestExecutor executor = new RequestExecutor(RequestExecutor.Mode.PLATFORM, 2)) {
+            Thread worker = executor.call(Thread::currentThread);
+            assertFalse(worker.isVirtual());
+            assertTrue(worker.isDaemon());
+            assertTrue(worker.getName().startsWith("carrent-request-"), worker.getName());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RequestExecutor(RequestExecutor.Mode.PLATFORM, 0));
+    }
+
+    @Test
+    void testCallRethrowsRequestFailures() {
+        try (RequestExecutor executor = new RequestExecutor(RequestExecutor.Mode.VIRTUAL, 0)) {
+            IllegalStateException failure = assertThrows(IllegalStateException.class, () -> executor.call(() -> {
+                throw new IllegalStateException("disk full");
+            }));
+            assertEquals("disk full", failure.getMessage());
+        }
+    }
+
+    @Test
+    void testModeIsReadFromSystemProperties() {
+        System.setProperty(RequestExecutor.MODE_PROPERTY, "platform");
+        System.setProperty(RequestExecutor.POOL_SIZE_PROPERTY, "3");
+        try (RequestExecutor executor = RequestExecutor.fromSystemProperties()) {
+            assertEquals(RequestExecutor.Mode.PLATFORM, executor.getMode());
+            assertEquals(3, executor.getPoolSize());
+        } finally {
+            System.clearProperty(RequestExecutor.MODE_PROPERTY);
+            System.clearProperty(RequestExecutor.POOL_SIZE_PROPERTY);
+        }
+    }
+}
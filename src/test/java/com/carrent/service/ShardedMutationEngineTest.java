@@ -0,0 +1,128 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import com.carrent.repository.RepositoryListener;
+import com.carrent.repository.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardedMutationEngine and the services routed through it
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class ShardedMutationEngineTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    private ShardedMutationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ShardedMutationEngine(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void testMutationsForOneVehicleRunInSubmissionOrderOnOneThread() {
+        List<Integer> applied = new ArrayList<>(); // Unsynchronized: only the owning shard touches it
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int sequence = i;
+            results.add(engine.submit("V001", () -> {
+                threads.add(Thread.currentThread());
+                return applied.add(sequence);
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, applied.get(i));
+        }
+        assertEquals(1, threads.stream().distinct().count());
+    }
+
+    @Test
+    void testOwnershipFollowsTheVehicleShard() {
+        assertFalse(engine.isShardThread());
+        assertFalse(engine.isOwnerThread("V001"));
+        assertTrue(engine.submit("V001", () -> engine.isOwnerThread("V001")).join());
+        assertTrue(engine.submit("V001", engine::isShardThread).join());
+
+        String other = vehicleOnAnotherShard("V001");
+        assertFalse(engine.submit("V001", () -> engine.isOwnerThread(other)).join());
+    }
+
+    @Test
+    void testExecuteRunsInlineOnOwnerAndRefusesCrossShardWaits() {
+        assertEquals("inline", engine.submit("V001",
+            () -> engine.execute("V001", () -> "inline")).join());
+
+        String other = vehicleOnAnotherShard("V001");
+        CompletionException error = assertThrows(CompletionException.class,
+            () -> engine.submit("V001", () -> engine.execute(other, () -> "blocked")).join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+
+    @Test
+    void testShardedVehicleServiceMutatesOnOwningShard() {
+        VehicleService service = new VehicleService(new VehicleRepository(dataDirectory), Runnable::run);
+        service.addVehicle(new Vehicle("V001", "Toyota", "Corolla", 40.00));
+        List<Thread> writers = new CopyOnWriteArrayList<>();
+        service.addVehicleListener(new RepositoryListener<>() {
+            @Override
+            public void onUpdated(Vehicle vehicle) {
+                writers.add(Thread.currentThread());
+            }
+            
+            @Override
+            public void onRemoved(Vehicle vehicle) {
+                writers.add(Thread.currentThread());
+            }
+        });
+        service.setMutationEngine(engine);
+
+        assertTrue(service.rentVehicle("V001"));
+        assertFalse(service.rentVehicle("V001"));
+        assertFalse(service.deleteVehicle("V001"));
+        assertTrue(service.updateDailyRate("V001", 45.00));
+        assertTrue(service.returnVehicle("V001"));
+        assertFalse(service.rentVehicle(null));
+
+        Thread owner = engine.submit("V001", Thread::currentThread).join();
+        assertEquals(List.of(owner, owner, owner), writers);
+        assertTrue(service.isVehicleAvailable("V001"));
+        assertEquals(4500, service.findVehicleById("V001").getDailyRateCents());
+
+        assertTrue(service.deleteVehicle("V001"));
+        assertEquals(List.of(owner, owner, owner, owner), writers);
+        assertNull(service.findVehicleById("V001"));
+    }
+
+    private String vehicleOnAnotherShard(String vehicleId) {
+        for (int i = 2; ; i++) {
+            String candidate = "V" + i;
+            if (engine.shardFor(candidate) != engine.shardFor(vehicleId)) {
+                return candidate;
+            }
+        }
+    }
+}
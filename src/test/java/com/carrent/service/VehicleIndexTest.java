@@ -0,0 +1,126 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VehicleIndex
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class VehicleIndexTest {
+
+    private List<Vehicle> fleet;
+    private VehicleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        fleet = new ArrayList<>();
+        fleet.add(new Vehicle("V003", "Honda", "Civic", 40.0));
+        fleet.add(new Vehicle("V001", "Toyota", "Camry", 45.0));
+        fleet.add(new Vehicle("V002", "Ford", "Focus", 35.0));
+        index = new VehicleIndex(() -> new ArrayList<>(fleet), text -> new ArrayList<>(fleet));
+    }
+
+    @Test
+    void testPagesFollowSortOrder() {
+        VehiclePage page = index.page(VehicleQuery.all().sortedBy(VehicleSortKey.DAILY_RATE, true), 0, 2);
+        assertEquals(3, page.getTotalCount());
+        assertEquals(List.of("V002", "V003"), ids(page));
+
+        page = index.page(VehicleQuery.all().sortedBy(VehicleSortKey.DAILY_RATE, false), 2, 2);
+        assertEquals(List.of("V002"), ids(page));
+    }
+
+    @Test
+    void testChangesKeepIndexSorted() {
+        VehicleQuery byRate = VehicleQuery.all().sortedBy(VehicleSortKey.DAILY_RATE, true);
+        index.page(byRate, 0, 10);
+
+        Vehicle focus = fleet.get(2);
+        focus.setDailyRate(50.0);
+        index.onUpdated(focus);
+        Vehicle added = new Vehicle("V004", "Kia", "Rio", 30.0);
+        index.onAdded(added);
+        index.onRemoved(fleet.get(0));
+
+        assertEquals(List.of("V004", "V001", "V002"), ids(index.page(byRate, 0, 10)));
+    }
+
+    @Test
+    void testFilterIsAppliedBeforePaging() {
+        fleet.get(1).rent();
+        VehicleQuery available = VehicleQuery.all().availableOnly(true);
+        assertEquals(2, index.count(available));
+        assertEquals(List.of("V002", "V003"), ids(index.page(available, 0, 10)));
+
+        long version = index.version();
+        fleet.get(1).returnVehicle();
+        index.onUpdated(fleet.get(1));
+        assertTrue(index.version() > version);
+        assertEquals(3, index.count(available));
+    }
+
+    @Test
+    void testPatchedFilterResultMatchesFreshIndex() {
+        VehicleQuery query = VehicleQuery.all().availableOnly(true).sortedBy(VehicleSortKey.DAILY_RATE, false);
+        index.page(query, 0, 10);
+
+        fleet.get(0).rent();
+        index.onUpdated(fleet.get(0));
+        Vehicle added = new Vehicle("V004", "Kia", "Rio", 42.0);
+        fleet.add(added);
+        index.onAdded(added);
+        fleet.get(2).setDailyRate(60.0);
+        index.onUpdated(fleet.get(2));
+        Vehicle removed = fleet.remove(1);
+        index.onRemoved(removed);
+        fleet.get(0).returnVehicle();
+        index.onUpdated(fleet.get(0));
+
+        VehicleIndex fresh = new VehicleIndex(() -> new ArrayList<>(fleet), text -> new ArrayList<>(fleet));
+        assertEquals(ids(fresh.page(query, 0, 10)), ids(index.page(query, 0, 10)));
+        assertEquals(List.of("V002", "V004", "V003"), ids(index.page(query, 0, 10)));
+    }
+
+    @Test
+    void testPositionOfAddedAndRemovedVehicles() {
+        VehicleQuery descending = VehicleQuery.all().sortedBy(VehicleSortKey.DAILY_RATE, false);
+        VehicleQuery available = VehicleQuery.all().availableOnly(true).sortedBy(VehicleSortKey.DAILY_RATE, true);
+        fleet.get(1).rent();
+        index.page(descending, 0, 10);
+        index.page(available, 0, 10);
+
+        Vehicle added = new Vehicle("V004", "Kia", "Rio", 38.0);
+        index.onAdded(added);
+        assertEquals(2, index.position(descending, added));
+        assertEquals(1, index.position(available, added));
+
+        // A removed vehicle is placed where it used to be
+        Vehicle civic = fleet.get(0);
+        assertEquals(1, index.position(descending, civic));
+        index.onRemoved(civic);
+        assertEquals(1, index.position(descending, civic));
+        assertEquals(2, index.position(available, civic));
+    }
+
+    @Test
+    void testNegativeOffsetRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.page(VehicleQuery.all(), -1, 10));
+    }
+
+    private static List<String> ids(VehiclePage page) {
+        List<String> ids = new ArrayList<>();
+        for (Vehicle vehicle : page.getVehicles()) {
+            ids.add(vehicle.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,45 @@
+package com.carrent.service;
+
+import com.carrent.model.Vehicle;
+import com.carrent.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VehicleService, run against a scratch data directory
+ *
+ * @author Car Rental Team
+ * @version 1.0
+ */
+public class VehicleServiceTest {
+
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void testAsyncOperationsRunOnVirtualThreads() {
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        try (RequestExecutor executor = new RequestExecutor(RequestExecutor.Mode.VIRTUAL, 0)) {
+            Executor recording = task -> executor.execute(() -> {
+                workers.add(Thread.currentThread());
+                task.run();
+            });
+            VehicleService service = new VehicleService(new VehicleRepository(dataDirectory), recording);
+
+            assertTrue(service.addVehicleAsync(new Vehicle("V001", "Toyota", "Corolla", 29.00)).join());
+            assertTrue(service.updateDailyRateAsync("V001", 31.50).join());
+            assertFalse(service.deleteVehicleAsync("V999").join());
+        }
+
+        assertEquals(3, workers.size());
+        assertTrue(workers.stream().allMatch(Thread::isVirtual));
+        assertEquals(3150, new VehicleRepository(dataDirectory).findById("V001").getDailyRateCents());
+    }
+}